@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.context.notification;
+
+import static org.mule.runtime.core.api.context.notification.ServerNotificationManager.BATCHED_DISPATCH_BUFFER_SIZE_PROPERTY;
+import static org.mule.runtime.core.api.context.notification.ServerNotificationManager.BATCHED_DISPATCH_PROPERTY;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.notification.AbstractServerNotification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.util.LazyValue;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BatchedNotificationDispatchTestCase extends AbstractMuleTestCase {
+
+  private static final int NOTIFICATIONS = 10;
+
+  @Rule
+  public SystemProperty batchedDispatch = new SystemProperty(BATCHED_DISPATCH_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty bufferSize = new SystemProperty(BATCHED_DISPATCH_BUFFER_SIZE_PROPERTY, "2");
+
+  private SimpleUnitTestSupportSchedulerService schedulerService;
+  private ServerNotificationManager manager;
+
+  @Before
+  public void before() throws InitialisationException {
+    schedulerService = new SimpleUnitTestSupportSchedulerService();
+    manager = new ServerNotificationManager(new LazyValue<>(schedulerService), new LazyValue<>("serverId"));
+    manager.initialise();
+    manager.addInterfaceToType(RecordingListener.class, Event1.class);
+  }
+
+  @After
+  public void after() throws Exception {
+    manager.dispose();
+    schedulerService.stop();
+  }
+
+  @Test
+  public void notificationsDeliveredInOrder() {
+    RecordingListener listener = new RecordingListener(null);
+    manager.addListener(listener);
+
+    manager.fireNotification(new Event1("1"));
+    manager.fireNotification(new Event1("2"));
+
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(listener.getReceived(), contains("1", "2"));
+      return true;
+    }));
+    assertThat(manager.getDroppedNotificationsCount(), is(0L));
+  }
+
+  @Test
+  public void notificationsDroppedWhenBufferFull() throws Exception {
+    Latch latch = new Latch();
+    RecordingListener listener = new RecordingListener(latch);
+    manager.addListener(listener);
+
+    for (int i = 0; i < NOTIFICATIONS; i++) {
+      manager.fireNotification(new Event1(Integer.toString(i)));
+    }
+    // At most the notification being delivered and those fitting in the buffer can be kept
+    assertThat(manager.getDroppedNotificationsCount(), greaterThanOrEqualTo((long) NOTIFICATIONS - 4));
+
+    latch.release();
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(listener.getReceived().size() + manager.getDroppedNotificationsCount(), is((long) NOTIFICATIONS));
+      return true;
+    }));
+  }
+
+  public static class RecordingListener implements NotificationListener<AbstractServerNotification> {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final Latch latch;
+
+    public RecordingListener(Latch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void onNotification(AbstractServerNotification notification) {
+      if (latch != null) {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      received.add(notification.getResourceIdentifier());
+    }
+
+    public List<String> getReceived() {
+      return received;
+    }
+  }
+}
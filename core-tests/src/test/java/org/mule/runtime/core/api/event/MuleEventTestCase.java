@@ -8,6 +8,7 @@ package org.mule.runtime.core.api.event;
 
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
@@ -32,9 +33,13 @@ import org.mule.runtime.core.api.security.DefaultMuleCredentials;
 import org.mule.runtime.core.api.transformer.AbstractTransformer;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
 import org.mule.runtime.core.internal.security.DefaultSecurityContextFactory;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 import org.mule.runtime.core.privileged.transformer.TransformersRegistry;
 import org.mule.runtime.core.privileged.transformer.simple.ByteArrayToObject;
 import org.mule.runtime.core.privileged.transformer.simple.SerializableToByteArray;
@@ -42,7 +47,11 @@ import org.mule.runtime.tracer.api.context.SpanContextAware;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -148,6 +157,42 @@ public class MuleEventTestCase extends AbstractMuleContextTestCase {
     assertArrayEquals((byte[]) testEvent.getMessage().getPayload().getValue(), payload.toString().getBytes());
   }
 
+  @Test
+  public void deserializeVariablesOfPreviousVersions() throws Exception {
+    CoreEvent event = withPreviousVersionVariables(getEventBuilder().message(of("")).addVariable("Foo", "bar").build());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(event);
+    }
+    // Not using the object serializer, so readObject alone has to convert the variables
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertVariablesConverted((CoreEvent) in.readObject());
+    }
+  }
+
+  @Test
+  public void postInitializeVariablesOfPreviousVersions() throws Exception {
+    CoreEvent event = withPreviousVersionVariables(getEventBuilder().message(of("")).addVariable("Foo", "bar").build());
+
+    // Serializers that don't use readObject, such as kryo, restore the fields as they are and then post initialize the event
+    DeserializationPostInitialisable.Implementation.init(event, muleContext);
+    assertVariablesConverted(event);
+  }
+
+  private CoreEvent withPreviousVersionVariables(CoreEvent event) throws Exception {
+    // Previous versions kept the variables in a CaseInsensitiveHashMap
+    Field variables = InternalEventImplementation.class.getDeclaredField("variables");
+    variables.setAccessible(true);
+    variables.set(event, new CaseInsensitiveHashMap<>(event.getVariables()));
+    return event;
+  }
+
+  private void assertVariablesConverted(CoreEvent event) {
+    assertThat(event.getVariables(), is(instanceOf(PersistentCaseInsensitiveMap.class)));
+    assertThat(event.getVariables().get("FOO").getValue(), is("bar"));
+  }
+
   private void createAndRegisterTransformersEndpointBuilderService() throws Exception {
     TransformersRegistry transformersRegistry =
         ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(TransformersRegistry.class);
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ConcurrentPoolingConnectionManagementStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final int MAX_ACTIVE = 2;
+  private static final String ownerConfigName = "SomeConfigName";
+
+  private ConnectionProvider<Object> connectionProvider;
+
+  private PoolingProfile poolingProfile =
+      new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+  private ConcurrentPoolingConnectionManagementStrategy<Object> strategy;
+  private PoolingListener<Object> poolingListener;
+
+  @Rule
+  public MockitoRule mockitorule = MockitoJUnit.rule();
+
+  @Before
+  public void before() throws Exception {
+    poolingListener = mock(PoolingListener.class);
+    muleContext.start();
+    ConnectionProvider<Object> connectionProvider = mock(ConnectionProvider.class);
+    when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
+    when(connectionProvider.validate(anyObject())).thenReturn(ConnectionValidationResult.success());
+    this.connectionProvider = spy(new DefaultConnectionProviderWrapper<>(connectionProvider, muleContext));
+  }
+
+  @Test
+  public void getConnection() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+
+    assertThat(connection1.getConnection(), is(not(sameInstance(connection2.getConnection()))));
+    verify(connectionProvider, times(2)).connect();
+
+    verify(poolingListener).onBorrow(connection1.getConnection());
+    verify(poolingListener).onBorrow(connection2.getConnection());
+  }
+
+  @Test
+  public void releasedConnectionIsReused() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+    connectionHandler.release();
+
+    assertThat(strategy.getConnectionHandler().getConnection(), is(sameInstance(connection)));
+    verify(connectionProvider).connect();
+    verify(poolingListener).onReturn(connection);
+  }
+
+  @Test
+  public void poolingListenerFailsOnBorrow() throws Exception {
+    initStrategy();
+    final RuntimeException exception = new RuntimeException();
+
+    doThrow(exception).when(poolingListener).onBorrow(any(Lifecycle.class));
+
+    try {
+      strategy.getConnectionHandler();
+      fail("was expecting poolingListener to fail");
+    } catch (ConnectionException e) {
+      assertThat(e.getCause(), is(sameInstance(exception)));
+      verify(connectionProvider).disconnect(any(Lifecycle.class));
+    }
+  }
+
+  @Test
+  public void exhaustion() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    connectionHandler.release();
+    strategy.getConnectionHandler();
+  }
+
+  @Test
+  public void grow() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_GROW, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    strategy.getConnectionHandler();
+    verify(connectionProvider, times(2)).connect();
+  }
+
+  @Test
+  public void waitTimeout() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, 100, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      assertThat(strategy.getPool().getWaitCount(), is(1L));
+      assertThat(strategy.getPool().getWaitTimeoutCount(), is(1L));
+    }
+  }
+
+  @Test
+  public void returnedConnectionHandedToWaitingThread() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, -1, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<Object> waiting = executor.submit(() -> strategy.getConnectionHandler().getConnection());
+      while (strategy.getPool().getNumWaiters() == 0) {
+        Thread.sleep(5);
+      }
+
+      connectionHandler.release();
+      assertThat(waiting.get(5, SECONDS), is(sameInstance(connection)));
+      verify(connectionProvider).connect();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void maxIdle() throws Exception {
+    poolingProfile = new PoolingProfile(3, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+    connection1.release();
+    connection2.release();
+
+    verify(connectionProvider).disconnect(any());
+    assertThat(strategy.getPool().getNumIdle(), is(1));
+  }
+
+  @Test
+  public void waitingThreadFailsWhenPoolClosed() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, -1, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<Object> waiting = executor.submit(() -> strategy.getConnectionHandler().getConnection());
+      while (strategy.getPool().getNumWaiters() == 0) {
+        Thread.sleep(5);
+      }
+
+      strategy.close();
+      try {
+        waiting.get(5, SECONDS);
+        fail("Was expecting the waiting thread to fail");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), is(instanceOf(ConnectionException.class)));
+      }
+
+      connectionHandler.release();
+      verify(connectionProvider).disconnect(any());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentReleasesKeepMaxIdle() throws Exception {
+    final int threads = 8;
+    final int maxIdle = 2;
+    poolingProfile = new PoolingProfile(threads, maxIdle, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    List<ConnectionHandler<Object>> connectionHandlers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      connectionHandlers.add(strategy.getConnectionHandler());
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (ConnectionHandler<Object> connectionHandler : connectionHandlers) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          connectionHandler.release();
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(5, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(strategy.getPool().getNumIdle(), is(maxIdle));
+    verify(connectionProvider, times(threads - maxIdle)).disconnect(any());
+  }
+
+  @Test
+  public void release() throws Exception {
+    initStrategy();
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+
+    connection1.release();
+    connection2.release();
+
+    strategy.close();
+
+    verify(connectionProvider, times(2)).disconnect(any(Object.class));
+  }
+
+  @Test
+  public void initializationPolicyInitialiseAll() throws Exception {
+    poolingProfile = new PoolingProfile(5, 3, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_ALL);
+    initStrategy();
+
+    verify(connectionProvider, times(3)).connect();
+    assertThat(strategy.getPool().getNumIdle(), is(3));
+    assertThat(strategy.getPool().getNumActive(), is(0));
+  }
+
+  @Test
+  public void concurrentBorrows() throws Exception {
+    final int threads = 8;
+    final int iterations = 1000;
+    initStrategy();
+
+    AtomicInteger inUse = new AtomicInteger();
+    AtomicInteger maxInUse = new AtomicInteger();
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < iterations; j++) {
+            ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            inUse.decrementAndGet();
+            connectionHandler.release();
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxInUse.get(), is(lessThanOrEqualTo(MAX_ACTIVE)));
+    assertThat(strategy.getPool().getNumActive(), is(0));
+    assertThat(strategy.getPool().getBorrowLatency().getTotalCount(), is((long) threads * iterations));
+  }
+
+  private void initStrategy() {
+    strategy = new ConcurrentPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                   muleContext, ownerConfigName);
+  }
+}
@@ -47,6 +47,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
@@ -324,4 +325,46 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
 
     assertThat(session.evaluate("#[myVar]").getValue(), equalTo(object));
   }
+
+  @Test
+  @Description("Verifies that expressions evaluated as strings are compiled only once.")
+  public void compiledExpressionsAreReused() throws MuleException {
+    DefaultExpressionManager defaultExpressionManager = (DefaultExpressionManager) expressionManager;
+    long misses = defaultExpressionManager.getCompiledExpressionsCacheMisses();
+    long hits = defaultExpressionManager.getCompiledExpressionsCacheHits();
+
+    CoreEvent.Builder eventBuilder = CoreEvent.builder(testEvent());
+    for (int i = 0; i < 3; i++) {
+      eventBuilder.addVariable(MY_VAR, "value" + i);
+      assertThat(expressionManager.evaluate("#[vars.myVar ++ '!']", eventBuilder.build()).getValue(), is("value" + i + "!"));
+    }
+
+    assertThat(defaultExpressionManager.getCompiledExpressionsCacheMisses(), is(misses + 1));
+    assertThat(defaultExpressionManager.getCompiledExpressionsCacheHits(), is(hits + 2));
+  }
+
+  @Test
+  @Description("Verifies that the same expression is compiled again when the available bindings change.")
+  public void compiledExpressionsPerBindingShape() throws MuleException {
+    DefaultExpressionManager defaultExpressionManager = (DefaultExpressionManager) expressionManager;
+    long misses = defaultExpressionManager.getCompiledExpressionsCacheMisses();
+
+    BindingContext context = builder().addBinding(MY_VAR, new TypedValue<>("value", STRING)).build();
+    BindingContext otherContext = builder().addBinding("otherVar", new TypedValue<>("other", STRING)).build();
+
+    assertThat(expressionManager.evaluate("#[myVar]", context).getValue(), is("value"));
+    assertThat(expressionManager.evaluate("#[myVar]", testEvent(), context).getValue(), is("value"));
+    assertThat(expressionManager.evaluate("#[otherVar]", otherContext).getValue(), is("other"));
+    assertThat(expressionManager.evaluate("#[myVar]", builder().addBinding(MY_VAR, new TypedValue<>("again", STRING)).build())
+        .getValue(), is("again"));
+
+    assertThat(defaultExpressionManager.getCompiledExpressionsCacheMisses(), is(misses + 3));
+  }
+
+  @Test
+  @Description("Verifies that expressions that fail to compile keep failing on evaluation.")
+  public void invalidExpressionNotCompiled() {
+    expectedException.expect(ExpressionRuntimeException.class);
+    expressionManager.evaluate("#[2*'2]");
+  }
 }
@@ -10,6 +10,7 @@ import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mule.runtime.core.internal.event.EventQuickCopy.quickCopy;
 
 import io.qameta.allure.Issue;
@@ -40,4 +41,50 @@ public class DefaultEventBuilderTestCase extends AbstractMuleTestCase {
     assertThat(event.getInternalParameters().size(), is(1));
     assertThat(event.getInternalParameters().keySet(), hasItem(INTERNAL_PARAMETER_KEY));
   }
+
+  @Test
+  public void addedVariableNotVisibleInOriginalEvent() throws MuleException {
+    InternalEvent original = new DefaultEventBuilder((InternalEvent) newEvent()).addVariable("Foo", "bar").build();
+
+    InternalEvent event = new DefaultEventBuilder(original).addVariable("doo", "dar").addVariable("FOO", "baz").build();
+
+    assertThat(original.getVariables().size(), is(1));
+    assertThat(original.getVariables().get("foo").getValue(), is("bar"));
+    assertThat(event.getVariables().size(), is(2));
+    assertThat(event.getVariables().get("foo").getValue(), is("baz"));
+    assertThat(event.getVariables().keySet(), hasItem("Foo"));
+  }
+
+  @Test
+  public void removedVariableNotRemovedFromOriginalEvent() throws MuleException {
+    InternalEvent original = new DefaultEventBuilder((InternalEvent) newEvent()).addVariable("foo", "bar").build();
+
+    InternalEvent event = new DefaultEventBuilder(original).removeVariable("FOO").build();
+
+    assertThat(original.getVariables().get("foo").getValue(), is("bar"));
+    assertThat(event.getVariables().isEmpty(), is(true));
+  }
+
+  @Test
+  public void unmodifiedVariablesShared() throws MuleException {
+    InternalEvent original = new DefaultEventBuilder((InternalEvent) newEvent()).addVariable("foo", "bar").build();
+
+    InternalEvent event = new DefaultEventBuilder(original).correlationId(CORRELATION_ID).build();
+
+    assertThat(event.getVariables(), is(sameInstance(original.getVariables())));
+  }
+
+  @Test
+  public void variablesTypedFromAnotherEvent() throws MuleException {
+    InternalEvent source = new DefaultEventBuilder((InternalEvent) newEvent()).addVariable("foo", "bar").build();
+
+    InternalEvent event = new DefaultEventBuilder((InternalEvent) newEvent())
+        .variablesTyped(source.getVariables())
+        .addVariable("doo", "dar")
+        .build();
+
+    assertThat(source.getVariables().size(), is(1));
+    assertThat(event.getVariables().get("FOO").getValue(), is("bar"));
+    assertThat(event.getVariables().get("DOO").getValue(), is("dar"));
+  }
 }
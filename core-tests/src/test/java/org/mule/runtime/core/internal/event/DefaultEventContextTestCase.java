@@ -455,6 +455,44 @@ public class DefaultEventContextTestCase extends AbstractMuleContextTestCase {
     }
   }
 
+  @Test
+  @Description("Parent EventContext completes exactly once when many child contexts complete concurrently with its response.")
+  public void concurrentChildren() throws Exception {
+    final int childrenCount = 64;
+    List<BaseEventContext> children = new ArrayList<>(childrenCount);
+    for (int i = 0; i < childrenCount; ++i) {
+      children.add(child(parent, empty()));
+    }
+
+    AtomicInteger parentCompletions = new AtomicInteger();
+    parent.onComplete((response, throwable) -> parentCompletions.incrementAndGet());
+
+    CoreEvent event = testEvent();
+    Scheduler testScheduler = muleContext.getSchedulerService().ioScheduler();
+    Latch childrenLatch = new Latch();
+    AtomicInteger pendingChildren = new AtomicInteger(childrenCount);
+
+    try {
+      for (BaseEventContext child : children) {
+        testScheduler.submit(() -> {
+          child.success(event);
+          if (pendingChildren.decrementAndGet() == 0) {
+            childrenLatch.countDown();
+          }
+          return null;
+        });
+      }
+
+      parent.success(event);
+      childrenLatch.await();
+
+      assertParent(is(event), is(nullValue()), true, true);
+      assertThat(parentCompletions.get(), is(1));
+    } finally {
+      testScheduler.stop();
+    }
+  }
+
   @Test
   @Description("Parent EventContext only completes once response publisher completes with a value and all child and grandchild contexts are complete.")
   public void multipleLevelsGrandchildFirst() throws Exception {
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.lock;
 import static java.lang.Thread.State.TIMED_WAITING;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.Matchers.notNullValue;
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -149,6 +151,36 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void entriesForDistinctLockIdsAreReleased() throws Exception {
+    final int lockIds = 1000;
+    ExecutorService pool = newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(pool.submit(() -> {
+          for (int j = 0; j < ITERATIONS_PER_THREAD * 10; j++) {
+            String lockId = "lock-" + (j % lockIds);
+            if (j % 2 == 0) {
+              instanceLockGroup.lock(lockId);
+            } else {
+              assertThat(instanceLockGroup.tryLock(lockId, 5, SECONDS), is(true));
+            }
+            instanceLockGroup.unlock(lockId);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(instanceLockGroup.size(), is(0));
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
@@ -6,13 +6,25 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -150,4 +162,64 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void executionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (long i = 1; i <= 1000; i++) {
+      stats.addExecutionTime(i);
+    }
+
+    assertThat(stats.getExecutionTimePercentile(50), is(both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(516L))));
+    assertThat(stats.getExecutionTimePercentile(99), is(both(greaterThanOrEqualTo(990L)).and(lessThanOrEqualTo(1000L))));
+    assertThat(stats.getExecutionTimePercentile(99.9), is(both(greaterThanOrEqualTo(999L)).and(lessThanOrEqualTo(1000L))));
+    assertThat(stats.getExecutionTimePercentile(100), equalTo(1000L));
+
+    stats.clear();
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(0L));
+  }
+
+  @Test
+  public void branchEventPercentilesUseCompleteTime() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.addExecutionBranchTime(true, 10L, 10L);
+    stats.addExecutionBranchTime(false, 20L, 30L);
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(0L));
+    stats.addCompleteExecutionTime(30L);
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(30L));
+  }
+
+  @Test
+  public void concurrentExecutionTimes() throws Exception {
+    ComponentStatistics stats = new ComponentStatistics();
+    int threads = 8;
+    int eventsPerThread = 10000;
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int j = 1; j <= eventsPerThread; j++) {
+            stats.addExecutionTime(j % 100 + 1);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long events = (long) threads * eventsPerThread;
+    assertThat(stats.getExecutedEvents(), equalTo(events));
+    assertThat(stats.getTotalExecutionTime(), equalTo(threads * 100L * 5050L));
+    assertThat(stats.getMinExecutionTime(), equalTo(1L));
+    assertThat(stats.getMaxExecutionTime(), equalTo(100L));
+    assertThat(stats.getExecutionTimeHistogram().getTotalCount(), equalTo(events));
+  }
 }
@@ -224,6 +224,55 @@ public class DefaultMuleMessageBuilderTestCase extends AbstractMuleTestCase {
     assertThat(copy.getOutboundPropertyNames(), hasItem(PROPERTY_KEY));
   }
 
+  @Test
+  public void writeCopyDoesNotModifyOriginal() {
+    InternalMessage message = new DefaultMessageBuilder().value(TEST_PAYLOAD)
+        .addOutboundProperty(PROPERTY_KEY, PROPERTY_VALUE)
+        .addOutboundAttachment(PROPERTY_KEY, new DataHandler(TEST_PAYLOAD, TEXT.toRfcString()))
+        .build();
+
+    InternalMessage copy = new DefaultMessageBuilder(message)
+        .removeOutboundProperty(PROPERTY_KEY)
+        .addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE)
+        .removeOutboundAttachment(PROPERTY_KEY)
+        .build();
+
+    assertThat(message.getOutboundPropertyNames(), hasSize(1));
+    assertThat(message.getInboundPropertyNames(), hasSize(0));
+    assertThat(message.getOutboundAttachmentNames(), hasSize(1));
+    assertThat(copy.getOutboundPropertyNames(), hasSize(0));
+    assertThat(copy.getInboundProperty(PROPERTY_KEY), equalTo(PROPERTY_VALUE));
+    assertThat(copy.getOutboundAttachmentNames(), hasSize(0));
+  }
+
+  @Test
+  public void writeBuilderAfterBuildDoesNotModifyBuiltMessage() {
+    DefaultMessageBuilder builder = new DefaultMessageBuilder();
+    builder.value(TEST_PAYLOAD).addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE);
+    InternalMessage message = builder.build();
+
+    builder.addInboundProperty("otherKey", PROPERTY_VALUE);
+    builder.addInboundAttachment(PROPERTY_KEY, new DataHandler(TEST_PAYLOAD, TEXT.toRfcString()));
+    InternalMessage other = builder.build();
+
+    assertThat(message.getInboundPropertyNames(), hasSize(1));
+    assertThat(message.getInboundAttachmentNames(), hasSize(0));
+    assertThat(other.getInboundPropertyNames(), hasSize(2));
+    assertThat(other.getInboundAttachmentNames(), hasSize(1));
+  }
+
+  @Test
+  public void legacyPropertiesCaseInsensitiveOnCopy() {
+    InternalMessage message = new DefaultMessageBuilder().value(TEST_PAYLOAD)
+        .addInboundProperty(PROPERTY_KEY, PROPERTY_VALUE)
+        .build();
+
+    InternalMessage copy = new DefaultMessageBuilder(message).addInboundProperty("otherKey", PROPERTY_VALUE).build();
+
+    assertThat(copy.getInboundProperty(PROPERTY_KEY.toUpperCase()), equalTo(PROPERTY_VALUE));
+    assertThat(copy.getInboundProperty("OTHERKEY"), equalTo(PROPERTY_VALUE));
+  }
+
   @Test
   public void inboundProperty() {
     InternalMessage message =
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SERIALIZATION;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SerializationStory.MESSAGE_SERIALIZATION;
+
+import static java.util.Optional.empty;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SERIALIZATION)
+@Story(MESSAGE_SERIALIZATION)
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  @Before
+  public void setUp() {
+    currentMuleContext.set(muleContext);
+  }
+
+  @After
+  public void teardown() {
+    currentMuleContext.set(null);
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactSerializationProtocol protocol = new CompactSerializationProtocol();
+    protocol.setMuleContext(muleContext);
+    serializationProtocol = protocol;
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void duplicateTypeId() {
+    new CompactSerializationProtocol().registerCodec(CompactSerializationProtocol.MIN_REGISTERED_TYPE_ID, Date.class,
+                                                     new DateCodec());
+  }
+
+  @Test
+  public void customCodec() throws Exception {
+    CompactSerializationProtocol protocol = new CompactSerializationProtocol();
+    protocol.setMuleContext(muleContext);
+    protocol.registerCodec(CompactSerializationProtocol.MAX_REGISTERED_TYPE_ID, Date.class, new DateCodec());
+
+    Date date = new Date();
+    assertThat(protocol.deserialize(protocol.serialize(date)), equalTo(date));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    TypedValue<String> typedValue = new TypedValue<>("{}", DataType.builder().type(String.class).mediaType(APPLICATION_JSON)
+        .build(), OptionalLong.of(2));
+
+    TypedValue<String> deserialized = roundtrip(typedValue);
+    assertThat(deserialized.getValue(), equalTo("{}"));
+    assertThat(deserialized.getDataType(), equalTo(typedValue.getDataType()));
+    assertThat(deserialized.getByteLength().getAsLong(), is(2L));
+  }
+
+  @Test
+  public void collectionAndMapDataTypes() throws Exception {
+    DataType collectionType = DataType.builder().collectionType(List.class).itemType(String.class)
+        .itemMediaType(APPLICATION_JSON).build();
+    DataType mapType = DataType.builder().mapType(Map.class).keyType(String.class).valueType(Integer.class).build();
+
+    assertThat(roundtrip(collectionType), equalTo(collectionType));
+    assertThat(roundtrip(mapType), equalTo(mapType));
+  }
+
+  @Test
+  public void caseInsensitiveMap() throws Exception {
+    CaseInsensitiveHashMap<String, Object> map = new CaseInsensitiveHashMap<>();
+    map.put("Key", "value");
+    map.put("number", 1);
+    map.put("list", new ArrayList<>());
+
+    CaseInsensitiveHashMap<String, Object> deserialized = roundtrip(map);
+    assertThat(deserialized, equalTo(map));
+    assertThat(deserialized.get("KEY"), equalTo("value"));
+
+    CaseInsensitiveHashMap<String, Object> immutable = roundtrip(map.toImmutableCaseInsensitiveMap());
+    assertThat(immutable, equalTo(map));
+    assertThat(immutable.toImmutableCaseInsensitiveMap(), is(immutable));
+  }
+
+  @Test
+  public void persistentCaseInsensitiveMap() throws Exception {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty()
+        .plus("Key", "value")
+        .plus("number", 1);
+
+    PersistentCaseInsensitiveMap<Object> deserialized = roundtrip(map);
+    assertThat(deserialized, equalTo(map));
+    assertThat(deserialized.get("KEY"), equalTo("value"));
+    assertThat(deserialized.keySet(), containsInAnyOrder("Key", "number"));
+  }
+
+  @Test
+  public void message() throws Exception {
+    InternalMessage message = InternalMessage.builder().value(TEST_MESSAGE).mediaType(APPLICATION_JSON)
+        .attributesValue(new HashMap<>()).addInboundProperty("in", "value").addOutboundProperty("Out", 1).build();
+
+    InternalMessage deserialized = roundtrip(message);
+    assertThat(deserialized.getPayload().getValue(), equalTo(TEST_MESSAGE));
+    assertThat(deserialized.getPayload().getDataType(), equalTo(message.getPayload().getDataType()));
+    assertThat(deserialized.getAttributes().getValue(), equalTo(new HashMap<>()));
+    assertThat(deserialized.getInboundProperty("in"), equalTo("value"));
+    assertThat(deserialized.getOutboundProperty("out"), equalTo(1));
+  }
+
+  @Test
+  public void messageIsSmallerThanJavaSerialized() throws Exception {
+    InternalMessage message = InternalMessage.builder().value(TEST_MESSAGE).addOutboundProperty("foo", "bar").build();
+
+    byte[] javaSerialized = muleContext.getObjectSerializer().getExternalProtocol().serialize(message);
+    assertThat(serializationProtocol.serialize(message).length, lessThan(javaSerialized.length / 2));
+  }
+
+  @Test
+  public void eventContext() throws Exception {
+    DefaultEventContext context = new DefaultEventContext("id", "server", from("flow"), "correlationId", empty());
+
+    DefaultEventContext deserialized = roundtrip(context);
+    assertThat(deserialized.getId(), equalTo("id"));
+    assertThat(deserialized.getServerId(), equalTo("server"));
+    assertThat(deserialized.getCorrelationId(), equalTo("correlationId"));
+    assertThat(deserialized.isCorrelationIdFromSource(), is(true));
+    assertThat(deserialized.getReceivedTime(), equalTo(context.getReceivedTime()));
+    assertThat(deserialized.getOriginatingLocation().getLocation(), equalTo("flow"));
+    assertThat(deserialized.getProcessingTime().isPresent(), is(false));
+  }
+
+  @Test
+  public void eventContextWithoutCorrelationId() throws Exception {
+    DefaultEventContext deserialized = roundtrip(new DefaultEventContext("id", "server", from("flow"), null, empty()));
+    assertThat(deserialized.getCorrelationId(), equalTo("id"));
+    assertThat(deserialized.isCorrelationIdFromSource(), is(false));
+  }
+
+  @Test
+  public void javaSerializedFallback() throws Exception {
+    byte[] bytes = muleContext.getObjectSerializer().getExternalProtocol().serialize(TEST_MESSAGE);
+    assertThat(serializationProtocol.deserialize(bytes), equalTo(TEST_MESSAGE));
+
+    Object nullValue = serializationProtocol.deserialize(muleContext.getObjectSerializer().getExternalProtocol().serialize(null));
+    assertThat(nullValue, is(nullValue()));
+  }
+
+  @Test
+  public void unknownTypeNestedInCoreType() throws Exception {
+    CaseInsensitiveHashMap<String, Object> map = new CaseInsensitiveHashMap<>();
+    map.put("date", new Date(0));
+
+    assertThat(roundtrip(map).get("date"), instanceOf(Date.class));
+  }
+
+  private <T> T roundtrip(T value) {
+    return serializationProtocol.deserialize(serializationProtocol.serialize(value));
+  }
+
+  private static class DateCodec implements CompactTypeCodec<Date> {
+
+    @Override
+    public void write(Date value, CompactObjectOutput out) throws IOException {
+      out.writeLong(value.getTime());
+    }
+
+    @Override
+    public Date read(CompactObjectInput in) throws IOException {
+      return new Date(in.readLong());
+    }
+  }
+}
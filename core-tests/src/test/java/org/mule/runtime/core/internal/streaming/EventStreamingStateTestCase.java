@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.streaming.IdentifiableCursorProviderDecorator.of;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.STREAM_MANAGEMENT;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(STREAMING)
+@Story(STREAM_MANAGEMENT)
+public class EventStreamingStateTestCase extends AbstractMuleTestCase {
+
+  private final MutableStreamingStatistics statistics = mock(MutableStreamingStatistics.class);
+  private final EventStreamingState state = new EventStreamingState();
+
+  @Test
+  public void sameProviderReturnedForSameId() {
+    StreamingGhostBuster ghostBuster = new StreamingGhostBuster(1);
+    IdentifiableCursorProvider<CursorStream> identifiable = of(mock(CursorStreamProvider.class));
+
+    ManagedCursorProvider managed = state.addProvider(new ManagedCursorStreamProvider(identifiable, statistics), ghostBuster);
+    ManagedCursorProvider other = state.addProvider(new ManagedCursorStreamProvider(identifiable, statistics), ghostBuster);
+
+    assertThat(other, is(sameInstance(managed)));
+  }
+
+  @Test
+  public void trackedProvidersReleasedOnDispose() {
+    assertProvidersReleasedOnDispose(new StreamingGhostBuster(1), 2);
+  }
+
+  @Test
+  public void untrackedProvidersReleasedOnDispose() {
+    assertProvidersReleasedOnDispose(new StreamingGhostBuster(0), 2);
+  }
+
+  @Test
+  public void manyProvidersReleasedOnDispose() {
+    assertProvidersReleasedOnDispose(new StreamingGhostBuster(2), 20);
+  }
+
+  private void assertProvidersReleasedOnDispose(StreamingGhostBuster ghostBuster, int providersCount) {
+    List<CursorStreamProvider> providers = new ArrayList<>();
+    List<IdentifiableCursorProvider<CursorStream>> identifiables = new ArrayList<>();
+    // Keep the managed providers reachable so that tracked ones are not collected before dispose
+    List<ManagedCursorProvider> managedProviders = new ArrayList<>();
+    for (int i = 0; i < providersCount; i++) {
+      CursorStreamProvider provider = mock(CursorStreamProvider.class);
+      IdentifiableCursorProvider<CursorStream> identifiable = of(provider);
+      providers.add(provider);
+      identifiables.add(identifiable);
+      managedProviders.add(state.addProvider(new ManagedCursorStreamProvider(identifiable, statistics), ghostBuster));
+    }
+
+    for (int i = 0; i < providersCount; i++) {
+      assertThat(state.addProvider(new ManagedCursorStreamProvider(identifiables.get(i), statistics), ghostBuster),
+                 is(sameInstance(managedProviders.get(i))));
+      verify(providers.get(i), never()).releaseResources();
+    }
+
+    state.dispose();
+    providers.forEach(provider -> verify(provider).releaseResources());
+  }
+}
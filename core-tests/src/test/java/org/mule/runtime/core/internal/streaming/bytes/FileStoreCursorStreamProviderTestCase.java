@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.toIntExact;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamProvider;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  private static final int SEGMENT_SIZE = 100 * 1024;
+
+  private final int bufferSize;
+
+  public FileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+    this.bufferSize = bufferSize;
+  }
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, InputStream dataStream) {
+    return new FileStoreCursorStreamProvider(dataStream, new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE)),
+                                             bufferManager, from("log"), false);
+  }
+
+  @Test
+  public void readThroughSeveralSegments() throws Exception {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE));
+    FileStoreStreamBuffer buffer =
+        new FileStoreStreamBuffer(new ByteArrayInputStream(data.getBytes()), config, bufferManager, SEGMENT_SIZE);
+
+    try {
+      StringBuilder accumulator = new StringBuilder();
+      long position = 0;
+      ByteBuffer read;
+      while ((read = buffer.get(position, bufferSize)) != null) {
+        position += read.remaining();
+        accumulator.append(toString(read));
+      }
+
+      assertEquals(accumulator.toString(), data);
+
+      final long middle = data.length() / 2;
+      read = buffer.get(middle, 10);
+      final int length = read.remaining();
+      assertEquals(toString(read), data.substring(toIntExact(middle), toIntExact(middle + length)));
+      assertThat(buffer.get(data.length(), 10), is(nullValue()));
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  public void readBufferOutlivesClose() throws Exception {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE));
+    FileStoreStreamBuffer buffer =
+        new FileStoreStreamBuffer(new ByteArrayInputStream(data.getBytes()), config, bufferManager, SEGMENT_SIZE);
+
+    final int position = data.length() - 10;
+    ByteBuffer read = buffer.get(position, 10);
+    buffer.close();
+
+    // a cursor may still hold the last buffer it read once the segment files are deleted
+    assertEquals(toString(read), data.substring(position, position + read.remaining()));
+  }
+}
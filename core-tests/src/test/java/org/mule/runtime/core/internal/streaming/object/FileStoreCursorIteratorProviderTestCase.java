@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int MAX_IN_MEMORY_INSTANCES = 100;
+
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = new FileStoreCursorIteratorProvider(toStreamingIterator(data),
+                                                         new FileStoreCursorIteratorConfig(MAX_IN_MEMORY_INSTANCES),
+                                                         muleContext.getObjectSerializer(), from("log"), false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+  }
+
+  @Test
+  @Description("Fully consume a stream which doesn't fit in memory")
+  public void readFullyWithInSingleCursor() throws Exception {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("Consume the stream, go back to positions which were spilled to disk and consume again")
+  public void randomSeekOnSpilledItems() throws Exception {
+    withCursor(cursor -> {
+      checkEquals(data, cursor);
+
+      seekAndAssert(cursor, 0, 10);
+      seekAndAssert(cursor, DATA_SIZE / 2, DATA_SIZE / 4);
+      seekAndAssert(cursor, MAX_IN_MEMORY_INSTANCES - 5, 10);
+    });
+  }
+
+  @Test
+  @Description("Two cursors alternate reads on different spilled buckets")
+  public void twoCursorsReadingDifferentSpilledBuckets() throws Exception {
+    withCursor(cursor1 -> withCursor(cursor2 -> {
+      seekAndAssert(cursor1, DATA_SIZE - 10, 10);
+      for (int i = 0; i < 5; i++) {
+        seekAndAssert(cursor1, i * MAX_IN_MEMORY_INSTANCES, 1);
+        seekAndAssert(cursor2, DATA_SIZE - (i + 1) * MAX_IN_MEMORY_INSTANCES, 1);
+      }
+    }));
+  }
+
+  @Test
+  @Description("Get the last item directly")
+  public void getLastItem() throws Exception {
+    withCursor(cursor -> {
+      cursor.seek(DATA_SIZE - 1);
+      assertThat(cursor.next(), is(data.get(DATA_SIZE - 1)));
+      assertThat(cursor.hasNext(), is(false));
+    });
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) throws Exception {
+    cursor.seek(position);
+    List<Object> read = read(cursor, size);
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws IOException {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
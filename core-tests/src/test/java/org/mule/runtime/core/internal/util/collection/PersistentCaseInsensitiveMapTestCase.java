@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void caseInsensitive() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar").plus("doo", "dar");
+
+    assertThat(map.get("foo"), is("bar"));
+    assertThat(map.get("DOO"), is("dar"));
+    assertThat(map.containsKey("Foo"), is(true));
+    assertThat(map.keySet(), containsInAnyOrder("FOO", "doo"));
+  }
+
+  @Test
+  public void replaceKeepsOriginalKeyCase() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar").plus("foo", "baz");
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get("foo"), is("baz"));
+    assertThat(map.keySet(), containsInAnyOrder("FOO"));
+  }
+
+  @Test
+  public void originalNotModified() {
+    PersistentCaseInsensitiveMap<Object> original = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar");
+
+    PersistentCaseInsensitiveMap<Object> added = original.plus("doo", "dar");
+    PersistentCaseInsensitiveMap<Object> removed = original.minus("foo");
+
+    assertThat(original.size(), is(1));
+    assertThat(original.get("doo"), is(nullValue()));
+    assertThat(original.get("foo"), is("bar"));
+    assertThat(added.size(), is(2));
+    assertThat(removed.isEmpty(), is(true));
+  }
+
+  @Test
+  public void unchangedReturnsSameInstance() {
+    String value = "bar";
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", value);
+
+    assertThat(map.plus("foo", value), is(sameInstance(map)));
+    assertThat(map.minus("doo"), is(sameInstance(map)));
+  }
+
+  @Test
+  public void manyEntries() {
+    Map<String, Integer> expected = new HashMap<>();
+    PersistentCaseInsensitiveMap<Integer> map = PersistentCaseInsensitiveMap.empty();
+    for (int i = 0; i < 2000; i++) {
+      expected.put("key" + i, i);
+      map = map.plus("Key" + i, i);
+    }
+    for (int i = 0; i < 2000; i += 3) {
+      expected.remove("key" + i);
+      map = map.minus("KEY" + i);
+    }
+
+    assertThat(map.size(), is(expected.size()));
+    for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey()), is(entry.getValue()));
+    }
+    assertThat(map.entrySet().stream().count(), is((long) expected.size()));
+  }
+
+  @Test
+  public void collidingKeys() {
+    // both keys have the same case-insensitive hash
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("a{", 1).plus("b\\", 2);
+
+    assertThat(map.get("A{"), is(1));
+    assertThat(map.get("B\\"), is(2));
+    assertThat(map.minus("a{").get("b\\"), is(2));
+    assertThat(map.minus("a{").get("a{"), is(nullValue()));
+  }
+
+  @Test
+  public void copyOf() {
+    Map<String, Object> source = new HashMap<>();
+    source.put("FOO", "bar");
+    source.put("doo", "dar");
+
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.copyOf(source);
+    assertThat(map.get("foo"), is("bar"));
+    assertThat(map, equalTo(source));
+    assertThat(PersistentCaseInsensitiveMap.copyOf(map), is(sameInstance(map)));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    PersistentCaseInsensitiveMap.empty().plus("FOO", "bar").put("doo", "dar");
+  }
+
+  @Test
+  public void serialize() {
+    PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty().plus("FOO", "bar").plus("doo", "dar");
+
+    PersistentCaseInsensitiveMap<Object> deserialized = SerializationUtils.deserialize(SerializationUtils.serialize(map));
+    assertThat(deserialized, equalTo(map));
+    assertThat(deserialized.get("foo"), is("bar"));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal.queue;
+
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_MAX_LATENCY_PROPERTY;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_PROPERTY;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitStatistics;
+import org.mule.runtime.core.internal.util.queue.DefaultQueueStore;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Multimap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalTxQueueTransactionJournalGroupCommitTestCase extends AbstractMuleContextTestCase {
+
+  private static final String QUEUE_NAME = "queueName";
+  private static final int WRITERS = 8;
+  private static final int ENTRIES_PER_WRITER = 50;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty groupCommit = new SystemProperty(GROUP_COMMIT_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty maxLatency = new SystemProperty(GROUP_COMMIT_MAX_LATENCY_PROPERTY, "10");
+
+  private final DefaultQueueStore mockQueueInfo = mock(DefaultQueueStore.class, RETURNS_DEEP_STUBS.get());
+
+  @Before
+  public void setUp() {
+    currentMuleContext.set(muleContext);
+    when(mockQueueInfo.getName()).thenReturn(QUEUE_NAME);
+  }
+
+  @After
+  public void teardown() {
+    currentMuleContext.set(null);
+  }
+
+  @Test
+  public void logAddAndRetrieve() throws Exception {
+    LocalTxQueueTransactionJournal transactionJournal = createJournal();
+    transactionJournal.logAdd(1, mockQueueInfo, "value");
+    assertThat(transactionJournal.getGroupCommitStatistics().getFlushedEntries(), is(1L));
+    transactionJournal.close();
+
+    transactionJournal = createJournal();
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = transactionJournal.getAllLogEntries();
+    assertThat(allEntries.size(), is(1));
+    assertThat(allEntries.get(1).iterator().next().getValue(), is("value"));
+  }
+
+  @Test
+  public void commitRemovesEntries() throws Exception {
+    LocalTxQueueTransactionJournal transactionJournal = createJournal();
+    transactionJournal.logAdd(1, mockQueueInfo, "value");
+    transactionJournal.logCommit(1);
+    transactionJournal.close();
+
+    transactionJournal = createJournal();
+    assertThat(transactionJournal.getAllLogEntries().size(), is(0));
+  }
+
+  @Test
+  public void concurrentWritersAreBatched() throws Exception {
+    final LocalTxQueueTransactionJournal transactionJournal = createJournal();
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = newFixedThreadPool(WRITERS);
+    try {
+      List<Future<?>> writers = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        final int txId = i;
+        writers.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < ENTRIES_PER_WRITER; j++) {
+            transactionJournal.logAdd(txId, mockQueueInfo, "value" + j);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (Future<?> writer : writers) {
+        writer.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    JournalGroupCommitStatistics statistics = transactionJournal.getGroupCommitStatistics();
+    assertThat(statistics.getFlushedEntries(), is((long) WRITERS * ENTRIES_PER_WRITER));
+    assertThat(statistics.getMaxBatchSize(), greaterThan(1L));
+    transactionJournal.close();
+
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = createJournal().getAllLogEntries();
+    assertThat(allEntries.size(), is(WRITERS * ENTRIES_PER_WRITER));
+    for (int i = 0; i < WRITERS; i++) {
+      assertThat(allEntries.get(i).size(), is(ENTRIES_PER_WRITER));
+    }
+  }
+
+  private LocalTxQueueTransactionJournal createJournal() {
+    return new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.queue.SegmentedMappedFileQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedMappedFileQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int SEGMENT_SIZE = 256;
+  private static final long TIMEOUT = 5000;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE));
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void nameWithInvalidCharacters() throws IOException {
+    String[] testNames = new String[] {"test-test", "test:/test", "test?test", "test:\\test", "test:/test", "test&test",
+        "test|test", "seda.queue(post:\\Customer:ApiTest-config.1)",
+        "this$is%a#really/big\\name@that?has<a>lot*of+invalid^characters!this$is%a#really/big\\name@that?has<a>lot*of+invalid^chars!"};
+
+    for (String testName : testNames) {
+      new SegmentedMappedFileQueueStoreDelegate(testName, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0)
+          .dispose();
+    }
+  }
+
+  @Test
+  public void itemsAreConsumedInOrderAcrossSegments() throws Exception {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 100; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+
+    assertThat(queueStore.getSize(), is(100));
+    for (int i = 0; i < 100; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+    assertThat(queueStore.removeFirst(), is(nullValue()));
+    assertThat(segmentFiles().length, is(1));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoverPendingItemsAfterRestart() throws Exception {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 50; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+    for (int i = 0; i < 20; i++) {
+      queueStore.removeFirst();
+    }
+    queueStore.untake(createTestDataForIndex(19));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.getSize(), is(31));
+    for (int i = 19; i < 50; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 10; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+
+    queueStore.remove(createTestDataForIndex(5));
+    assertThat(queueStore.contains(createTestDataForIndex(5)), is(false));
+    assertThat(queueStore.contains(createTestDataForIndex(6)), is(true));
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.allElements(), contains(createTestDataForIndex(0), createTestDataForIndex(1),
+                                                  createTestDataForIndex(2), createTestDataForIndex(3),
+                                                  createTestDataForIndex(4), createTestDataForIndex(6),
+                                                  createTestDataForIndex(7), createTestDataForIndex(8),
+                                                  createTestDataForIndex(9)));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void itemBiggerThanSegment() throws Exception {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    String big = new String(new char[SEGMENT_SIZE * 2]).replace('\0', 'x');
+    queueStore.add("small");
+    queueStore.add(big);
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    assertThat(queueStore.removeFirst(), is("small"));
+    assertThat(queueStore.removeFirst(), is(big));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.add("item");
+    assertThat(segmentFiles().length, is(1));
+
+    queueStore.dispose();
+    assertThat(new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments").exists(), is(false));
+  }
+
+  @Test
+  public void changesForcedWhenOperationReturns() throws Exception {
+    SegmentedMappedFileQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow(createTestDataForIndex(0));
+    assertThat(queueStore.hasUnsyncedChanges(), is(false));
+
+    queueStore.poll(0);
+    assertThat(queueStore.hasUnsyncedChanges(), is(false));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void concurrentWritersShareOneForce() throws Exception {
+    final CountDownLatch firstForceStarted = new CountDownLatch(1);
+    final CountDownLatch firstForceReleased = new CountDownLatch(1);
+    final AtomicInteger forces = new AtomicInteger();
+    SegmentedMappedFileQueueStoreDelegate queueStore =
+        new SegmentedMappedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                                  mockMuleContext, 0) {
+
+          @Override
+          void force(List<MappedByteBuffer> buffers) {
+            if (forces.incrementAndGet() == 1) {
+              firstForceStarted.countDown();
+              try {
+                firstForceReleased.await();
+              } catch (InterruptedException e) {
+                currentThread().interrupt();
+              }
+            }
+            super.force(buffers);
+          }
+        };
+
+    List<Thread> writers = new ArrayList<>();
+    writers.add(startWriter(queueStore, 0));
+    assertThat(firstForceStarted.await(TIMEOUT, MILLISECONDS), is(true));
+    for (int i = 1; i <= 10; i++) {
+      writers.add(startWriter(queueStore, i));
+    }
+
+    // the force in progress doesn't hold the monitor, so neither the other writers nor the readers are blocked by it
+    new PollingProber().check(new JUnitLambdaProbe(() -> queueStore.getSize() == writers.size()));
+    assertThat(queueStore.contains(createTestDataForIndex(5)), is(true));
+    assertThat(queueStore.hasUnsyncedChanges(), is(true));
+
+    firstForceReleased.countDown();
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    assertThat(forces.get(), is(2));
+    assertThat(queueStore.hasUnsyncedChanges(), is(false));
+    queueStore.dispose();
+  }
+
+  private Thread startWriter(SegmentedMappedFileQueueStoreDelegate queueStore, int index) {
+    Thread writer = new Thread(() -> queueStore.putNow(createTestDataForIndex(index)));
+    writer.start();
+    return writer;
+  }
+
+  private File[] segmentFiles() {
+    return new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments").listFiles();
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private SegmentedMappedFileQueueStoreDelegate createTestQueueStore() {
+    return new SegmentedMappedFileQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                                     mockMuleContext, 0);
+  }
+}
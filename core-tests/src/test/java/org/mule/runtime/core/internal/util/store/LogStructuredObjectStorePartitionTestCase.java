@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int SEGMENT_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private final MuleContext muleContext = mockMuleContext();
+
+  private LogStructuredObjectStorePartition<Serializable> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    MuleConfiguration muleConfiguration = mock(MuleConfiguration.class);
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), SEGMENT_SIZE);
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store("key", "value");
+    assertThat(partition.contains("key"), is(true));
+    assertThat(partition.retrieve("key"), is("value"));
+
+    assertThat(partition.remove("key"), is("value"));
+    assertThat(partition.contains("key"), is(false));
+    assertThat(partition.allKeys(), is(empty()));
+  }
+
+  @Test(expected = ObjectDoesNotExistException.class)
+  public void retrieveRemovedKey() throws Exception {
+    partition.store("key", "value");
+    partition.remove("key");
+    partition.retrieve("key");
+  }
+
+  @Test
+  public void restoreAfterRestart() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    partition.store("key3", "value3");
+    partition.remove("key2");
+
+    LogStructuredObjectStorePartition<Serializable> restored = restore();
+    assertThat(restored.allKeys(), contains("key1", "key3"));
+    assertThat(restored.retrieve("key1"), is("value1"));
+    assertThat(restored.retrieve("key3"), is("value3"));
+
+    restored.store("key2", "newValue2");
+    assertThat(restore().retrieve("key2"), is("newValue2"));
+  }
+
+  @Test
+  public void restoreAfterCompaction() throws Exception {
+    final String value = new String(new char[100]).replace('\0', 'x');
+    for (int i = 0; i < 100; i++) {
+      partition.store("key" + i, value + i);
+      if (i % 10 != 0) {
+        partition.remove("key" + i);
+      }
+    }
+
+    assertThat(segmentFiles().length < 10, is(true));
+
+    LogStructuredObjectStorePartition<Serializable> restored = restore();
+    assertThat(restored.allKeys().size(), is(10));
+    for (int i = 0; i < 100; i += 10) {
+      assertThat(restored.retrieve("key" + i), is(value + i));
+    }
+  }
+
+  @Test
+  public void discardIncompleteRecord() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+
+    File segment = segmentFiles()[0];
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    LogStructuredObjectStorePartition<Serializable> restored = restore();
+    assertThat(restored.allKeys(), contains("key1"));
+    restored.store("key2", "value2");
+    assertThat(restore().retrieve("key2"), is("value2"));
+  }
+
+  @Test
+  public void expireByMaxEntries() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(UNBOUNDED, 3);
+    assertThat(partition.allKeys(), contains("key7", "key8", "key9"));
+    assertThat(restore().allKeys(), contains("key7", "key8", "key9"));
+  }
+
+  @Test
+  public void expireByTtl() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    // the gap is well above the TTL, and the TTL well above the time to store and expire the last entry
+    Thread.sleep(200);
+    partition.store("key3", "value3");
+
+    partition.expire(100, UNBOUNDED);
+    assertThat(partition.allKeys(), contains("key3"));
+  }
+
+  @Test
+  public void migrateFromFilePerEntryFormat() throws Exception {
+    PersistentObjectStorePartition<Serializable> legacy =
+        new PersistentObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    legacy.open();
+    legacy.store("key1", "value1");
+    legacy.store("key2", "value2");
+
+    LogStructuredObjectStorePartition<Serializable> migrated = restore();
+    assertThat(migrated.allKeys().size(), is(2));
+    assertThat(migrated.retrieve("key1"), is("value1"));
+    assertThat(migrated.retrieve("key2"), is("value2"));
+    assertThat(migrated.getPartitionName(), is("test"));
+    assertThat(objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".obj")).length, is(0));
+    assertThat(objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".obj.migrated")).length, is(2));
+    assertThat(restore().allKeys().size(), is(2));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store("key", "value");
+    partition.clear();
+
+    assertThat(partition.contains("key"), is(false));
+    assertThat(restore().allKeys(), is(empty()));
+    assertThat(new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(), is(true));
+  }
+
+  @Test
+  public void disposeKeepsEntries() throws Exception {
+    partition.store("key1", "value1");
+    partition.dispose();
+
+    assertThat(segmentFiles().length, is(1));
+    assertThat(restore().retrieve("key1"), is("value1"));
+    assertThat(partition.retrieve("key1"), is("value1"));
+  }
+
+  private LogStructuredObjectStorePartition<Serializable> restore() throws Exception {
+    LogStructuredObjectStorePartition<Serializable> restored =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    restored.open();
+    return restored;
+  }
+
+  private File[] segmentFiles() {
+    return objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+  }
+}
@@ -6,6 +6,12 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.context.notification.NotificationDispatchBuffer.OverflowPolicy.DROP;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
@@ -58,6 +64,8 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.context.notification.Configuration;
+import org.mule.runtime.core.internal.context.notification.NotificationDispatchBuffer;
+import org.mule.runtime.core.internal.context.notification.NotificationDispatchBuffer.OverflowPolicy;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotification;
@@ -66,8 +74,10 @@ import org.mule.runtime.core.privileged.context.notification.OptimisedNotificati
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import org.slf4j.Logger;
@@ -97,12 +107,59 @@ import org.slf4j.Logger;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are delivered by submitting a task for each listener to the notifications schedulers. When the
+ * {@link #BATCHED_DISPATCH_PROPERTY} system property is set, they are enqueued instead in a bounded buffer for each listener,
+ * which is drained in batches. Notifications that don't fit in the buffer of their listener are dropped or delivered by the
+ * firing thread, according to the {@link #BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY} system property.
  */
 @NoExtend
 public class ServerNotificationManager implements ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  /**
+   * Enables the delivery of asynchronous notifications through a bounded buffer for each listener.
+   *
+   * @since 4.6.0
+   */
+  public static final String BATCHED_DISPATCH_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch";
+
+  /**
+   * The maximum amount of notifications pending to be delivered to each listener when {@link #BATCHED_DISPATCH_PROPERTY} is set.
+   *
+   * @since 4.6.0
+   */
+  public static final String BATCHED_DISPATCH_BUFFER_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.bufferSize";
+
+  /**
+   * The maximum amount of notifications delivered to a listener on each scheduled task when {@link #BATCHED_DISPATCH_PROPERTY} is
+   * set.
+   *
+   * @since 4.6.0
+   */
+  public static final String BATCHED_DISPATCH_BATCH_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.batchSize";
+
+  /**
+   * What to do with the notifications for a listener whose buffer is full, one of {@code DROP} (the default) or
+   * {@code CALLER_RUNS}.
+   *
+   * @since 4.6.0
+   */
+  public static final String BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.overflowPolicy";
+
+  private final boolean batchedDispatch = getBoolean(BATCHED_DISPATCH_PROPERTY);
+  private final int batchedDispatchBufferSize = getInteger(BATCHED_DISPATCH_BUFFER_SIZE_PROPERTY, 1024);
+  private final int batchedDispatchBatchSize = getInteger(BATCHED_DISPATCH_BATCH_SIZE_PROPERTY, 64);
+  private final OverflowPolicy batchedDispatchOverflowPolicy =
+      OverflowPolicy.valueOf(getProperty(BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY, DROP.name()));
+  private final Map<NotificationListener, NotificationDispatchBuffer> dispatchBuffers = new ConcurrentHashMap<>();
+  private final LongAdder droppedNotifications = new LongAdder();
+
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private final AtomicInteger activeFires = new AtomicInteger();
@@ -167,6 +224,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    dispatchBuffers.remove(listener);
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -206,6 +264,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (batchedDispatch) {
+        notifyListeners(notification, (listener, nfn) -> dispatchBufferFor(listener).dispatch(nfn));
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -222,10 +282,33 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     }
   }
 
+  private NotificationDispatchBuffer dispatchBufferFor(NotificationListener listener) {
+    NotificationDispatchBuffer buffer = dispatchBuffers.get(listener);
+    if (buffer == null) {
+      buffer = dispatchBuffers
+          .computeIfAbsent(listener, l -> new NotificationDispatchBuffer(l,
+                                                                         l.isBlocking() ? notificationsIoScheduler
+                                                                             : notificationsLiteScheduler,
+                                                                         batchedDispatchBufferSize, batchedDispatchBatchSize,
+                                                                         batchedDispatchOverflowPolicy,
+                                                                         droppedNotifications));
+    }
+    return buffer;
+  }
+
   protected void notifyListeners(Notification notification, NotifierCallback notifier) {
     configuration.getPolicy().dispatch(notification, notifier);
   }
 
+  /**
+   * @return the amount of asynchronous notifications that were not delivered because the buffer of their listener was full.
+   * @see #BATCHED_DISPATCH_PROPERTY
+   * @since 4.6.0
+   */
+  public long getDroppedNotificationsCount() {
+    return droppedNotifications.sum();
+  }
+
   @Override
   public boolean isNotificationEnabled(Class<? extends Notification> type) {
     boolean enabled = false;
@@ -254,6 +337,9 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
     }
 
+    dispatchBuffers.values().forEach(NotificationDispatchBuffer::clear);
+    dispatchBuffers.clear();
+
     if (notificationsLiteScheduler != null) {
       notificationsLiteScheduler.stop();
       notificationsLiteScheduler = null;
@@ -9,11 +9,18 @@ package org.mule.runtime.core.api.management.stats;
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.core.api.util.StringUtils;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not thread-safe -
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. Measurements are accumulated
+ * without locking, so this class can be populated concurrently by many threads, but each statistic is updated independently -
  * occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
  */
 @NoExtend
@@ -26,14 +33,16 @@ public class ComponentStatistics implements Statistics {
    */
   private static final long serialVersionUID = -2086999226732861674L;
 
-  private long minExecutionTime = 0;
-  private long maxExecutionTime = 0;
-  private long averageExecutionTime = 0;
-  private long executedEvent = 0;
-  private long totalExecTime = 0;
-  private boolean enabled = false;
+  private final LongAccumulator minExecutionTimeAccumulator =
+      new LongAccumulator((LongBinaryOperator & Serializable) Math::min, Long.MAX_VALUE);
+  private final LongAccumulator maxExecutionTimeAccumulator =
+      new LongAccumulator((LongBinaryOperator & Serializable) Math::max, 0);
+  private final LongAdder executedEvents = new LongAdder();
+  private final LongAdder totalExecutionTime = new LongAdder();
+  private final LatencyHistogram executionTimeHistogram = new LatencyHistogram();
+  private volatile boolean enabled = false;
   private long intervalTime = 0;
-  private long currentIntervalStartTime = 0;
+  private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
   private boolean statIntervalTimeEnabled = false;
 
   /**
@@ -65,11 +74,11 @@ public class ComponentStatistics implements Statistics {
    * If called while a branch is being executed, then statistics may be slightly erroneous.
    */
   public void clear() {
-    minExecutionTime = 0;
-    maxExecutionTime = 0;
-    executedEvent = 0;
-    totalExecTime = 0;
-    averageExecutionTime = 0;
+    minExecutionTimeAccumulator.reset();
+    maxExecutionTimeAccumulator.reset();
+    executedEvents.reset();
+    totalExecutionTime.reset();
+    executionTimeHistogram.reset();
   }
 
   /**
@@ -102,7 +111,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been started.
    */
   public long getMaxExecutionTime() {
-    return maxExecutionTime;
+    return maxExecutionTimeAccumulator.get();
   }
 
   /**
@@ -111,7 +120,8 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been completed.
    */
   public long getMinExecutionTime() {
-    return minExecutionTime;
+    final long minExecutionTime = minExecutionTimeAccumulator.get();
+    return minExecutionTime == Long.MAX_VALUE ? 0 : minExecutionTime;
   }
 
   /**
@@ -121,7 +131,7 @@ public class ComponentStatistics implements Statistics {
    * @return The total cumulative execution time, in milliseconds.
    */
   public long getTotalExecutionTime() {
-    return totalExecTime;
+    return totalExecutionTime.sum();
   }
 
   /**
@@ -133,7 +143,7 @@ public class ComponentStatistics implements Statistics {
    * @return The number of events executed since last cleared.
    */
   public long getExecutedEvents() {
-    return executedEvent;
+    return executedEvents.sum();
   }
 
   /**
@@ -143,34 +153,20 @@ public class ComponentStatistics implements Statistics {
    * @param branch the time to execute this branch
    * @param total  the total time (so far) for processing this event
    */
-  public synchronized void addExecutionBranchTime(boolean first, long branch, long total) {
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
     // TODO MULE-9151 - ComponentStatistics should really create distinct Event
     // objects that can be used to aggregate statistics and then atomically
     // log them at completion time.
 
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+    checkIntervalElapsed();
 
     if (first) {
-      executedEvent++;
+      executedEvents.increment();
     }
 
-    if (executedEvent > 0) {
-      totalExecTime += ProcessingTime.getEffectiveTime(branch);
-      long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-      if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime) {
-        maxExecutionTime = effectiveTotal;
-      }
-      averageExecutionTime = totalExecTime / executedEvent;
+    if (first || executedEvents.sum() > 0) {
+      totalExecutionTime.add(ProcessingTime.getEffectiveTime(branch));
+      maxExecutionTimeAccumulator.accumulate(ProcessingTime.getEffectiveTime(total));
     }
   }
 
@@ -181,12 +177,11 @@ public class ComponentStatistics implements Statistics {
    * 
    * @param time the total time required to process this event
    */
-  public synchronized void addCompleteExecutionTime(long time) {
-    if (executedEvent > 0) {
+  public void addCompleteExecutionTime(long time) {
+    if (executedEvents.sum() > 0) {
       long effectiveTime = ProcessingTime.getEffectiveTime(time);
-      if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-        minExecutionTime = effectiveTime;
-      }
+      minExecutionTimeAccumulator.accumulate(effectiveTime);
+      executionTimeHistogram.recordValue(effectiveTime);
     }
   }
 
@@ -197,31 +192,35 @@ public class ComponentStatistics implements Statistics {
    *
    * @param time The total event time to be logged/recorded.
    */
-  public synchronized void addExecutionTime(long time) {
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+  public void addExecutionTime(long time) {
+    checkIntervalElapsed();
 
-    executedEvent++;
+    executedEvents.increment();
 
     long effectiveTime = ProcessingTime.getEffectiveTime(time);
-    totalExecTime += effectiveTime;
+    totalExecutionTime.add(effectiveTime);
+    minExecutionTimeAccumulator.accumulate(effectiveTime);
+    maxExecutionTimeAccumulator.accumulate(effectiveTime);
+    executionTimeHistogram.recordValue(effectiveTime);
+  }
 
-    if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-      minExecutionTime = time;
+  private void checkIntervalElapsed() {
+    if (!statIntervalTimeEnabled) {
+      return;
     }
-    if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime) {
-      maxExecutionTime = time;
+
+    long currentTime = System.currentTimeMillis();
+    long intervalStartTime = currentIntervalStartTime.get();
+    if (intervalStartTime == 0) {
+      currentIntervalStartTime.compareAndSet(0, currentTime);
+      intervalStartTime = currentIntervalStartTime.get();
+    }
+
+    // only the thread that moves the interval forward clears the statistics
+    if ((currentTime - intervalStartTime) > intervalTime
+        && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime)) {
+      clear();
     }
-    averageExecutionTime = totalExecTime / executedEvent;
   }
 
   /**
@@ -230,7 +229,30 @@ public class ComponentStatistics implements Statistics {
    * @return the total event time accumulated to this point, divided by the total number of events recorded.
    */
   public long getAverageExecutionTime() {
-    return averageExecutionTime;
+    final long executed = executedEvents.sum();
+    return executed == 0 ? 0 : totalExecutionTime.sum() / executed;
+  }
+
+  /**
+   * Estimates the total execution time below which the given {@code percentile} of the events executed since last cleared fall.
+   * <p/>
+   * When branch times are recorded, only events whose {@link #addCompleteExecutionTime(long) complete time} was reported are
+   * taken into account.
+   *
+   * @param percentile the percentile to estimate, between 0 and 100
+   * @return the estimated execution time, or zero if no events have been completed.
+   * @since 4.6.0
+   */
+  public long getExecutionTimePercentile(double percentile) {
+    return executionTimeHistogram.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * @return the histogram of the total execution times of the events executed since last cleared.
+   * @since 4.6.0
+   */
+  public LatencyHistogram getExecutionTimeHistogram() {
+    return executionTimeHistogram;
   }
 
 }
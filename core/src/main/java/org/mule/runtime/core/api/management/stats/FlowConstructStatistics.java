@@ -74,6 +74,45 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalProcessingTime();
 
+  /**
+   * Estimates the time below which the processing time of the given {@code percentile} of the processed events fall.
+   *
+   * @param percentile the percentile to estimate, between 0 and 100
+   * @return the estimated processing time, or zero if no events have been processed
+   *
+   * @since 4.6.0
+   */
+  default long getProcessingTimePercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * @return the median processing time of the processed events
+   *
+   * @since 4.6.0
+   */
+  default long getProcessingTimeP50() {
+    return getProcessingTimePercentile(50);
+  }
+
+  /**
+   * @return the time under which 99% of the processed events have been processed
+   *
+   * @since 4.6.0
+   */
+  default long getProcessingTimeP99() {
+    return getProcessingTimePercentile(99);
+  }
+
+  /**
+   * @return the time under which 99.9% of the processed events have been processed
+   *
+   * @since 4.6.0
+   */
+  default long getProcessingTimeP999() {
+    return getProcessingTimePercentile(99.9);
+  }
+
   /**
    * @return the number of execution errors at a given time
    */
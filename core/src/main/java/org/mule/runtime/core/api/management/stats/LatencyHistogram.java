@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import org.mule.api.annotation.NoExtend;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A fixed size histogram of non negative values, typically latencies in milliseconds, which allows to estimate percentiles of the
+ * recorded values.
+ * <p>
+ * Just like in an HDR histogram, the values are grouped in buckets whose width grows exponentially, so that every value can be
+ * tracked with a bounded relative error. Values lower than 32 are tracked exactly and each power of two range above that is split
+ * in 32 linear sub-buckets, which keeps the error of the reported percentiles under 3.2%. Values greater than
+ * {@link #getHighestTrackableValue()} are counted in the last bucket.
+ * <p>
+ * Recording a value is lock-free and never allocates, so this histogram can be populated concurrently by many threads.
+ * Percentiles read while values are being recorded are approximate.
+ *
+ * @since 4.6.0
+ */
+@NoExtend
+public class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = -1578926310924566337L;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int HIGHEST_EXPONENT = 36;
+  private static final int BUCKETS_COUNT = (HIGHEST_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAccumulator maxValue = new LongAccumulator((LongBinaryOperator & Serializable) Math::max, 0);
+
+  /**
+   * Records the given {@code value}. Negative values are recorded as zero.
+   *
+   * @param value the value to record
+   */
+  public void recordValue(long value) {
+    final long trackedValue = value < 0 ? 0 : value;
+    counts.incrementAndGet(bucketIndex(trackedValue));
+    totalCount.increment();
+    maxValue.accumulate(trackedValue);
+  }
+
+  /**
+   * Adds all the values recorded in the {@code other} histogram to this one.
+   *
+   * @param other the histogram to add
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      final long count = other.counts.get(i);
+      if (count > 0) {
+        counts.addAndGet(i, count);
+        totalCount.add(count);
+      }
+    }
+    maxValue.accumulate(other.getMaxValue());
+  }
+
+  /**
+   * @return the amount of values recorded since this histogram was created or last reset.
+   */
+  public long getTotalCount() {
+    return totalCount.sum();
+  }
+
+  /**
+   * @return the greatest value recorded since this histogram was created or last reset, or zero if none was recorded.
+   */
+  public long getMaxValue() {
+    return maxValue.get();
+  }
+
+  /**
+   * @return the greatest value which can be recorded within the guaranteed precision.
+   */
+  public long getHighestTrackableValue() {
+    return (1L << (HIGHEST_EXPONENT + 1)) - 1;
+  }
+
+  /**
+   * Estimates the value below which the given {@code percentile} of the recorded values fall.
+   *
+   * @param percentile the percentile to estimate, between 0 and 100
+   * @return the estimated value, or zero if no values were recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = 0;
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      total += counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final long target = max(1, (long) ceil(min(percentile, 100.0) / 100.0 * total));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      accumulated += counts.get(i);
+      if (accumulated >= target) {
+        return min(highestEquivalentValue(i), getMaxValue());
+      }
+    }
+
+    return getMaxValue();
+  }
+
+  /**
+   * Discards all the recorded values.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS_COUNT; i++) {
+      counts.set(i, 0);
+    }
+    totalCount.reset();
+    maxValue.reset();
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    final int exponent = 63 - numberOfLeadingZeros(value);
+    if (exponent > HIGHEST_EXPONENT) {
+      return BUCKETS_COUNT - 1;
+    }
+
+    final int shift = exponent - SUB_BUCKET_BITS;
+    final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    final int shift = index / SUB_BUCKET_COUNT - 1;
+    final long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((mantissa + 1) << shift) - 1;
+  }
+}
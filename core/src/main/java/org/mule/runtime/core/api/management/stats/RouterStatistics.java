@@ -8,11 +8,15 @@ package org.mule.runtime.core.api.management.stats;
 
 import org.mule.api.annotation.NoExtend;
 
+import static java.util.Collections.unmodifiableMap;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <code>RouterStatistics</code> TODO
@@ -37,6 +41,7 @@ public class RouterStatistics implements Statistics {
   private long totalRouted;
   private long totalReceived;
   private Map routed;
+  private final Map<String, LongAdder> routeHits = new ConcurrentHashMap<>();
   private int type;
 
   public synchronized void clear() {
@@ -45,6 +50,7 @@ public class RouterStatistics implements Statistics {
     totalReceived = 0;
     caughtInCatchAll = 0;
     routed.clear();
+    routeHits.clear();
   }
 
   /**
@@ -168,6 +174,40 @@ public class RouterStatistics implements Statistics {
     }
   }
 
+  /**
+   * Increments the number of messages that took a route, identified by its name.
+   *
+   * @param route the name of the route
+   * @since 4.6.0
+   */
+  public void incrementRouteHit(String route) {
+    LongAdder hits = routeHits.get(route);
+    if (hits == null) {
+      hits = routeHits.computeIfAbsent(route, r -> new LongAdder());
+    }
+    hits.increment();
+  }
+
+  /**
+   * @param route the name of the route
+   * @return the number of messages that took the given route.
+   * @since 4.6.0
+   */
+  public long getRouteHits(String route) {
+    LongAdder hits = routeHits.get(route);
+    return hits == null ? 0 : hits.sum();
+  }
+
+  /**
+   * @return the number of messages that took each route, by the name of the route.
+   * @since 4.6.0
+   */
+  public Map<String, Long> getRouteHits() {
+    Map<String, Long> hits = new HashMap<>();
+    routeHits.forEach((route, count) -> hits.put(route, count.sum()));
+    return unmodifiableMap(hits);
+  }
+
   public boolean isInbound() {
     return type == TYPE_INBOUND;
   }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.streaming.bytes;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.core.internal.streaming.bytes.BufferedCursorStream;
+import org.mule.runtime.core.internal.streaming.bytes.FileStoreStreamBuffer;
+
+import java.io.InputStream;
+
+/**
+ * An implementation of {@link AbstractCursorStreamProvider} which yields cursors that keep a bounded amount of data in memory and
+ * spill the rest to disk
+ *
+ * @since 4.6.0
+ */
+public final class FileStoreCursorStreamProvider extends AbstractCursorStreamProvider {
+
+  private final FileStoreStreamBuffer buffer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param wrappedStream            the stream to buffer from
+   * @param config                   the config of the generated buffer
+   * @param bufferManager            the {@link ByteBufferManager} that will be used to allocate all buffers
+   * @param originatingLocation      indicates where the cursor was created
+   * @param trackCursorProviderClose if the provider should save the stack trace from where it was closed
+   */
+  public FileStoreCursorStreamProvider(InputStream wrappedStream,
+                                       FileStoreCursorStreamConfig config,
+                                       ByteBufferManager bufferManager,
+                                       ComponentLocation originatingLocation,
+                                       boolean trackCursorProviderClose) {
+    super(wrappedStream, originatingLocation, trackCursorProviderClose);
+    buffer = new FileStoreStreamBuffer(wrappedStream, config, bufferManager);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected CursorStream doOpenCursor() {
+    return new BufferedCursorStream(buffer, this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void releaseResources() {
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+}
@@ -6,21 +6,28 @@
  */
 package org.mule.runtime.core.api.streaming.bytes;
 
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.SEGMENTED_IN_MEMORY_BUFFER;
+
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.core.internal.streaming.bytes.AbstractInputStreamBuffer;
 import org.mule.runtime.core.internal.streaming.bytes.BufferedCursorStream;
 import org.mule.runtime.core.internal.streaming.bytes.InMemoryStreamBuffer;
+import org.mule.runtime.core.internal.streaming.bytes.SegmentedInMemoryStreamBuffer;
 
 import java.io.InputStream;
 
 /**
  * An implementation of {@link AbstractCursorStreamProvider} which yields cursors that only use memory for buffering
+ * <p>
+ * By default, an {@link InMemoryStreamBuffer} is used. If the {@code mule.streaming.inMemory.segmented} system property is set, a
+ * {@link SegmentedInMemoryStreamBuffer} is used instead.
  *
  * @since 4.0
  */
 public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProvider {
 
-  private final InMemoryStreamBuffer buffer;
+  private final AbstractInputStreamBuffer buffer;
 
   /**
    * Creates a new instance
@@ -39,7 +46,9 @@ public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProv
                                       ComponentLocation originatingLocation,
                                       boolean trackCursorProviderClose) {
     super(wrappedStream, originatingLocation, trackCursorProviderClose);
-    buffer = new InMemoryStreamBuffer(wrappedStream, config, bufferManager);
+    buffer = SEGMENTED_IN_MEMORY_BUFFER
+        ? new SegmentedInMemoryStreamBuffer(wrappedStream, config, bufferManager)
+        : new InMemoryStreamBuffer(wrappedStream, config, bufferManager);
   }
 
   /**
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * A pool of connections tuned for short and frequent borrows, used by {@link ConcurrentPoolingConnectionManagementStrategy}.
+ * <p>
+ * Borrowing a connection first looks for an idle one among those previously returned by the same thread, then scans the shared
+ * list of connections claiming an idle one with a compare-and-set, and then creates a new one if the limits allow it. None of
+ * those paths take a lock. Only when the pool is exhausted with the {@link PoolingProfile#WHEN_EXHAUSTED_WAIT} action does the
+ * borrowing thread wait, in which case returned connections are handed off directly to the waiting threads.
+ * <p>
+ * Idle connections are evicted when a connection is returned and at least {@link PoolingProfile#getEvictionCheckIntervalMillis()}
+ * elapsed since the last check, instead of from a dedicated thread.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.6.0
+ */
+final class ConcurrentConnectionPool<C> {
+
+  private static final Logger LOGGER = getLogger(ConcurrentConnectionPool.class);
+
+  private static final int MAX_THREAD_LOCAL_CONNECTIONS = 16;
+  private static final long WAIT_SLICE_NANOS = MILLISECONDS.toNanos(10);
+
+  private static final int IDLE = 0;
+  private static final int IN_USE = 1;
+  private static final int REMOVED = 2;
+
+  /**
+   * A connection held by the pool along with its state.
+   *
+   * @param <C> the generic type of the pooled connection
+   */
+  static final class PooledConnection<C> {
+
+    private final C connection;
+    private final AtomicInteger state;
+    private volatile long lastReturnedNanos = nanoTime();
+
+    private PooledConnection(C connection, int state) {
+      this.connection = connection;
+      this.state = new AtomicInteger(state);
+    }
+
+    C getConnection() {
+      return connection;
+    }
+  }
+
+  private final ConnectionProvider<C> connectionProvider;
+  private final int exhaustedAction;
+  private final int maxTotal;
+  private final int maxIdle;
+  private final long maxWaitNanos;
+  private final long minEvictableIdleNanos;
+  private final long evictionIntervalNanos;
+
+  private final CopyOnWriteArrayList<PooledConnection<C>> connections = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<List<WeakReference<PooledConnection<C>>>> threadConnections =
+      ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_CONNECTIONS));
+  private final SynchronousQueue<PooledConnection<C>> handoffQueue = new SynchronousQueue<>(true);
+
+  private final AtomicInteger totalCount = new AtomicInteger();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger waitingCount = new AtomicInteger();
+  private final AtomicLong lastEvictionNanos = new AtomicLong(nanoTime());
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  private final LatencyHistogram borrowLatency = new LatencyHistogram();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder waitTimeoutCount = new LongAdder();
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to create and destroy the connections
+   * @param poolingProfile     the {@link PoolingProfile} with the limits of the pool
+   */
+  ConcurrentConnectionPool(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile) {
+    this.connectionProvider = connectionProvider;
+    this.exhaustedAction = poolingProfile.getExhaustedAction();
+    this.maxTotal = exhaustedAction == WHEN_EXHAUSTED_GROW ? -1 : poolingProfile.getMaxActive();
+    this.maxIdle = poolingProfile.getMaxIdle();
+    this.maxWaitNanos = poolingProfile.getMaxWait() < 0 ? -1 : MILLISECONDS.toNanos(poolingProfile.getMaxWait());
+    this.minEvictableIdleNanos = MILLISECONDS.toNanos(poolingProfile.getMinEvictionMillis());
+    this.evictionIntervalNanos = MILLISECONDS.toNanos(poolingProfile.getEvictionCheckIntervalMillis());
+  }
+
+  /**
+   * Borrows a connection, creating it if needed.
+   *
+   * @return the borrowed connection
+   * @throws NoSuchElementException if the pool is exhausted
+   * @throws ConnectionException    if the pool was closed while waiting for a connection
+   * @throws Exception              if a new connection could not be created
+   */
+  PooledConnection<C> borrow() throws Exception {
+    if (closed.get()) {
+      throw new IllegalStateException("Pool not open");
+    }
+
+    final long start = nanoTime();
+    try {
+      PooledConnection<C> pooled = claimThreadConnection();
+      if (pooled == null) {
+        pooled = claimSharedConnection();
+      }
+      if (pooled == null) {
+        pooled = createConnection();
+      }
+      if (pooled == null) {
+        pooled = awaitConnection();
+      }
+      return pooled;
+    } finally {
+      borrowLatency.recordValue(NANOSECONDS.toMicros(nanoTime() - start));
+    }
+  }
+
+  private PooledConnection<C> claimThreadConnection() {
+    final List<WeakReference<PooledConnection<C>>> local = threadConnections.get();
+    for (int i = local.size() - 1; i >= 0; i--) {
+      final PooledConnection<C> pooled = local.remove(i).get();
+      if (pooled != null && claim(pooled)) {
+        return pooled;
+      }
+    }
+    return null;
+  }
+
+  private PooledConnection<C> claimSharedConnection() {
+    for (PooledConnection<C> pooled : connections) {
+      if (claim(pooled)) {
+        return pooled;
+      }
+    }
+    return null;
+  }
+
+  private boolean claim(PooledConnection<C> pooled) {
+    if (pooled.state.compareAndSet(IDLE, IN_USE)) {
+      idleCount.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private PooledConnection<C> createConnection() throws Exception {
+    if (!reserve()) {
+      return null;
+    }
+
+    try {
+      final PooledConnection<C> pooled = new PooledConnection<>(connectionProvider.connect(), IN_USE);
+      LOGGER.debug("Created connection {}", pooled.connection.toString());
+      connections.add(pooled);
+      return pooled;
+    } catch (Exception e) {
+      totalCount.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private boolean reserve() {
+    int total;
+    do {
+      total = totalCount.get();
+      if (maxTotal >= 0 && total >= maxTotal) {
+        return false;
+      }
+    } while (!totalCount.compareAndSet(total, total + 1));
+    return true;
+  }
+
+  private boolean reserveIdle() {
+    int idle;
+    do {
+      idle = idleCount.get();
+      if (maxIdle >= 0 && idle >= maxIdle) {
+        return false;
+      }
+    } while (!idleCount.compareAndSet(idle, idle + 1));
+    return true;
+  }
+
+  private PooledConnection<C> awaitConnection() throws Exception {
+    if (exhaustedAction != WHEN_EXHAUSTED_WAIT) {
+      throw new NoSuchElementException("Pool exhausted");
+    }
+
+    waitCount.increment();
+    waitingCount.incrementAndGet();
+    try {
+      final long deadline = nanoTime() + maxWaitNanos;
+      while (true) {
+        if (closed.get()) {
+          throw new ConnectionException("Connection pool was closed while waiting for a connection");
+        }
+
+        // Connections may have been returned or destroyed right before this thread started waiting
+        PooledConnection<C> pooled = claimSharedConnection();
+        if (pooled == null) {
+          pooled = createConnection();
+        }
+        if (pooled != null) {
+          return pooled;
+        }
+
+        final long remaining = maxWaitNanos < 0 ? WAIT_SLICE_NANOS : deadline - nanoTime();
+        if (remaining <= 0) {
+          waitTimeoutCount.increment();
+          throw new NoSuchElementException("Timeout waiting for idle connection");
+        }
+
+        pooled = handoffQueue.poll(min(remaining, WAIT_SLICE_NANOS), NANOSECONDS);
+        if (pooled != null && claim(pooled)) {
+          if (closed.get()) {
+            // The connection was handed off before the pool was closed
+            invalidate(pooled);
+            continue;
+          }
+          return pooled;
+        }
+      }
+    } finally {
+      waitingCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the given connection to the pool, so that it can be borrowed again.
+   *
+   * @param pooled a connection previously obtained through {@link #borrow()}
+   */
+  void release(PooledConnection<C> pooled) {
+    if (closed.get() || !reserveIdle()) {
+      invalidate(pooled);
+      return;
+    }
+
+    pooled.lastReturnedNanos = nanoTime();
+    pooled.state.set(IDLE);
+    if (closed.get() && claim(pooled)) {
+      // The pool was closed after the check above, and may not have seen this connection as idle
+      invalidate(pooled);
+      return;
+    }
+
+    for (int i = 0; waitingCount.get() > 0; i++) {
+      if (pooled.state.get() != IDLE || handoffQueue.offer(pooled)) {
+        return;
+      } else if ((i & 0xff) == 0xff) {
+        parkNanos(MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+
+    final List<WeakReference<PooledConnection<C>>> local = threadConnections.get();
+    if (local.size() < MAX_THREAD_LOCAL_CONNECTIONS) {
+      local.add(new WeakReference<>(pooled));
+    }
+
+    evictIfNeeded();
+  }
+
+  /**
+   * Removes the given connection from the pool and disconnects it.
+   *
+   * @param pooled a connection previously obtained through {@link #borrow()}
+   */
+  void invalidate(PooledConnection<C> pooled) {
+    if (pooled.state.getAndSet(REMOVED) != REMOVED) {
+      destroy(pooled);
+    }
+  }
+
+  /**
+   * Creates a new idle connection, if the limits of the pool allow it.
+   *
+   * @throws Exception if the connection could not be created
+   */
+  void addIdleConnection() throws Exception {
+    final PooledConnection<C> pooled = createConnection();
+    if (pooled == null) {
+      return;
+    }
+
+    if (!reserveIdle()) {
+      invalidate(pooled);
+      return;
+    }
+    pooled.lastReturnedNanos = nanoTime();
+    pooled.state.set(IDLE);
+  }
+
+  private void evictIfNeeded() {
+    if (evictionIntervalNanos <= 0 || minEvictableIdleNanos <= 0) {
+      return;
+    }
+
+    final long now = nanoTime();
+    final long lastEviction = lastEvictionNanos.get();
+    if (now - lastEviction < evictionIntervalNanos || !lastEvictionNanos.compareAndSet(lastEviction, now)) {
+      return;
+    }
+
+    for (PooledConnection<C> pooled : connections) {
+      if (now - pooled.lastReturnedNanos > minEvictableIdleNanos && claim(pooled)) {
+        LOGGER.debug("Evicting idle connection {}", pooled.connection.toString());
+        invalidate(pooled);
+      }
+    }
+  }
+
+  private void destroy(PooledConnection<C> pooled) {
+    connections.remove(pooled);
+    totalCount.decrementAndGet();
+    try {
+      LOGGER.debug("Disconnecting connection {}", pooled.connection.toString());
+      connectionProvider.disconnect(pooled.connection);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was thrown trying to disconnect connection of type " + pooled.connection.getClass().getName(), e);
+    }
+  }
+
+  /**
+   * Closes the pool, disconnecting the idle connections. Connections in use are disconnected when released.
+   */
+  void close() {
+    if (closed.compareAndSet(false, true)) {
+      for (PooledConnection<C> pooled : connections) {
+        if (claim(pooled)) {
+          invalidate(pooled);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the maximum amount of connections this pool may hold, or a negative value if unlimited.
+   */
+  int getMaxTotal() {
+    return maxTotal;
+  }
+
+  /**
+   * @return the maximum amount of idle connections this pool may hold, or a negative value if unlimited.
+   */
+  int getMaxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * @return the amount of connections currently borrowed.
+   */
+  int getNumActive() {
+    return totalCount.get() - idleCount.get();
+  }
+
+  /**
+   * @return the amount of connections currently idle in the pool.
+   */
+  int getNumIdle() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return the amount of threads currently waiting for a connection to be returned.
+   */
+  int getNumWaiters() {
+    return waitingCount.get();
+  }
+
+  /**
+   * @return the amount of borrows that had to wait for a connection to be returned.
+   */
+  long getWaitCount() {
+    return waitCount.sum();
+  }
+
+  /**
+   * @return the amount of borrows that failed after waiting {@link PoolingProfile#getMaxWait()}.
+   */
+  long getWaitTimeoutCount() {
+    return waitTimeoutCount.sum();
+  }
+
+  /**
+   * @return the histogram of the time it took to borrow connections, in microseconds.
+   */
+  LatencyHistogram getBorrowLatency() {
+    return borrowLatency;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.internal.connection.ConcurrentConnectionPool.PooledConnection;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link ConnectionHandlerAdapter} which wraps a {@code Connection} obtained from a
+ * {@link ConcurrentConnectionPool}.
+ *
+ * @param <C> the generic type of the connection to be returned
+ * @since 4.6.0
+ */
+final class ConcurrentPoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPoolingConnectionHandler.class);
+
+  private PooledConnection<C> pooled;
+  private final ConcurrentConnectionPool<C> pool;
+  private final String poolId;
+  private final PoolingListener poolingListener;
+  private final ConnectionProvider connectionProvider;
+  private final AtomicBoolean released = new AtomicBoolean(false);
+
+  /**
+   * Creates a new instance
+   *
+   * @param pooled the pooled connection to be wrapped
+   * @param pool   the pool from which the {@code pooled} connection was obtained and to which it has to be returned
+   */
+  ConcurrentPoolingConnectionHandler(PooledConnection<C> pooled, ConcurrentConnectionPool<C> pool, String poolId,
+                                     PoolingListener poolingListener, ConnectionProvider connectionProvider) {
+    this.pooled = pooled;
+    this.pool = pool;
+    this.poolId = poolId;
+    this.poolingListener = poolingListener;
+    this.connectionProvider = connectionProvider;
+  }
+
+  /**
+   * @return the wrapped connection
+   */
+  @Override
+  public C getConnection() throws ConnectionException {
+    checkState(pooled != null, "Connection has been either released or invalidated");
+    return pooled.getConnection();
+  }
+
+  /**
+   * Returns the wrapped connection to the {@link #pool}
+   */
+  @Override
+  public void release() {
+    if (pooled == null || released.getAndSet(true)) {
+      return;
+    }
+
+    boolean returnAttempted = false;
+    try {
+      LOGGER.debug("Returning back connection {} to pool {}", pooled.getConnection().toString(), poolId);
+      poolingListener.onReturn(pooled.getConnection());
+
+      pool.release(pooled);
+      logPoolStatus(LOGGER, pool, poolId);
+      returnAttempted = true;
+    } catch (Exception e) {
+      LOGGER.warn("Could not return connection to the pool. Connection will be terminated", e);
+    } finally {
+      try {
+        if (!returnAttempted) {
+          invalidate();
+        }
+      } finally {
+        pooled = null;
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void invalidate() {
+    try {
+      LOGGER.debug("Invalidating connection {} from pool {}", pooled.getConnection().toString(), poolId);
+      pool.invalidate(pooled);
+      logPoolStatus(LOGGER, pool, poolId);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was thrown trying to invalidate connection of type "
+          + pooled.getConnection().getClass().getName(), e);
+    } finally {
+      pooled = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ConnectionProvider getConnectionProvider() {
+    return connectionProvider;
+  }
+
+  /**
+   * Does nothing for this implementation. Connections are only closed when the pool is.
+   */
+  @Override
+  public void close() throws MuleException {
+
+  }
+}
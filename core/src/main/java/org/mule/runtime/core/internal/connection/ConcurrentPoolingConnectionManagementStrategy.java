@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.getInitialConnections;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.connection.ConcurrentConnectionPool.PooledConnection;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link ConcurrentConnectionPool}.
+ * <p>
+ * Honors the same {@link PoolingProfile} settings as {@link PoolingConnectionManagementStrategy}, but borrowing and returning
+ * connections don't take locks unless the pool is exhausted.
+ *
+ * @param <C> the generic type of the connections to be managed
+ * @since 4.6.0
+ */
+final class ConcurrentPoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentPoolingConnectionManagementStrategy.class);
+
+  private final PoolingProfile poolingProfile;
+  private final ConcurrentConnectionPool<C> pool;
+  private final String poolId;
+  private final PoolingListener<C> poolingListener;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
+   * @param poolingProfile     the {@link PoolingProfile} which configures the {@link #pool}
+   * @param poolingListener    a {@link PoolingListener}
+   * @param muleContext        the application's {@link MuleContext}
+   */
+  ConcurrentPoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
+                                                PoolingListener<C> poolingListener, MuleContext muleContext,
+                                                String ownerConfigName) {
+    super(connectionProvider, muleContext);
+    this.poolingProfile = poolingProfile;
+    this.poolingListener = poolingListener;
+    this.poolId = ownerConfigName.concat("-").concat(UUID.randomUUID().toString());
+    this.pool = createPool(ownerConfigName);
+  }
+
+  /**
+   * Returns a {@link ConnectionHandler} which wraps a connection obtained from the {@link #pool}
+   *
+   * @return a {@link ConnectionHandler}
+   * @throws ConnectionException if the connection could not be obtained
+   */
+  @Override
+  public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
+    try {
+      return new ConcurrentPoolingConnectionHandler<>(borrowConnection(), pool, poolId, poolingListener, connectionProvider);
+    } catch (ConnectionException e) {
+      throw e;
+    } catch (NoSuchElementException e) {
+      throw new ConnectionException("Connection pool is exhausted", e);
+    } catch (Exception e) {
+      throw new ConnectionException("An exception was found trying to obtain a connection: " + e.getMessage(), e);
+    }
+  }
+
+  private PooledConnection<C> borrowConnection() throws Exception {
+    PooledConnection<C> pooled = pool.borrow();
+    LOGGER.debug("Acquiring connection {} from the pool {}", pooled.getConnection().toString(), poolId);
+    logPoolStatus(LOGGER, pool, poolId);
+    try {
+      poolingListener.onBorrow(pooled.getConnection());
+    } catch (Exception e) {
+      pool.invalidate(pooled);
+      throw e;
+    }
+
+    return pooled;
+  }
+
+  /**
+   * Closes the pool, causing the idle connections to be closed as well. Connections in use are closed when released.
+   */
+  @Override
+  public void close() throws MuleException {
+    logPoolStatus(LOGGER, pool, poolId);
+    LOGGER.debug("Closing pool {}", poolId);
+    pool.close();
+  }
+
+  private ConcurrentConnectionPool<C> createPool(String ownerConfigName) {
+    ConcurrentConnectionPool<C> concurrentPool = new ConcurrentConnectionPool<>(connectionProvider, poolingProfile);
+    LOGGER.debug("Creating pool with ID {} for config {}", poolId, ownerConfigName);
+
+    int initialConnections = getInitialConnections(poolingProfile);
+    LOGGER.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
+    for (int t = 0; t < initialConnections; t++) {
+      try {
+        concurrentPool.addIdleConnection();
+      } catch (Exception e) {
+        LOGGER.warn("Failed to create a connection while applying the pool initialization policy.", e);
+      }
+    }
+    logPoolStatus(LOGGER, concurrentPool, poolId);
+
+    return concurrentPool;
+  }
+
+  public PoolingProfile getPoolingProfile() {
+    return poolingProfile;
+  }
+
+  /**
+   * @return the pool backing this strategy, which exposes the borrow latency and wait metrics
+   */
+  ConcurrentConnectionPool<C> getPool() {
+    return pool;
+  }
+}
@@ -9,8 +9,11 @@ package org.mule.runtime.core.internal.connection;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.CACHED;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.NONE;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.connection.util.ConnectionProviderUtils.unwrapProviderWrapper;
 
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.CachedConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -26,8 +29,17 @@ import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
  */
 final class ConnectionManagementStrategyFactory {
 
+  /**
+   * When set, pooled connections are managed through a {@link ConcurrentPoolingConnectionManagementStrategy} instead of a
+   * {@link PoolingConnectionManagementStrategy}.
+   *
+   * @since 4.6.0
+   */
+  static final String CONCURRENT_CONNECTION_POOL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "connection.pool.concurrent";
+
   private final PoolingProfile defaultPoolingProfile;
   private final MuleContext muleContext;
+  private final boolean concurrentPool = getBoolean(CONCURRENT_CONNECTION_POOL_PROPERTY);
 
   /**
    * Creates a new instance
@@ -77,11 +89,17 @@ final class ConnectionManagementStrategyFactory {
       ownerConfigName = ((ConnectionProviderWrapper<C>) connectionProvider).getOwnerConfigName().orElse("");
     }
 
-    return poolingProfile.isDisabled() ? withoutManagement(connectionProvider)
-        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
-                                                    (PoolingListener<C>) unwrapProviderWrapper(connectionProvider,
-                                                                                               PoolingConnectionProvider.class),
-                                                    muleContext, ownerConfigName);
+    if (poolingProfile.isDisabled()) {
+      return withoutManagement(connectionProvider);
+    }
+
+    PoolingListener<C> poolingListener =
+        (PoolingListener<C>) unwrapProviderWrapper(connectionProvider, PoolingConnectionProvider.class);
+    return concurrentPool
+        ? new ConcurrentPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                              ownerConfigName)
+        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                    ownerConfigName);
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
@@ -6,8 +6,14 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
+
 import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.min;
 
+import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
@@ -102,4 +108,39 @@ public final class ConnectionUtils {
                  poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle);
     }
   }
+
+  static <C> void logPoolStatus(Logger logger, ConcurrentConnectionPool<C> pool, String poolId) {
+    if (logger.isDebugEnabled()) {
+      String maxActive = pool.getMaxTotal() < 0 ? "unlimited" : String.valueOf(pool.getMaxTotal());
+      String maxIdle = pool.getMaxIdle() < 0 ? "unlimited" : String.valueOf(pool.getMaxIdle());
+      logger
+          .debug("Status for pool {}: {} connections are active out of {} max active limit, {} connections are idle out of {} max idle limit, {} threads waiting",
+                 poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle, pool.getNumWaiters());
+    }
+  }
+
+  /**
+   * @param poolingProfile the {@link PoolingProfile} of a connection pool
+   * @return the amount of connections to create when the pool is initialized, according to the
+   *         {@link PoolingProfile#getInitialisationPolicy() initialisation policy}
+   */
+  static int getInitialConnections(PoolingProfile poolingProfile) {
+    switch (poolingProfile.getInitialisationPolicy()) {
+      case INITIALISE_NONE:
+        return 0;
+      case INITIALISE_ONE:
+        return 1;
+      case INITIALISE_ALL:
+        if (poolingProfile.getMaxActive() < 0) {
+          return poolingProfile.getMaxIdle();
+        } else if (poolingProfile.getMaxIdle() < 0) {
+          return poolingProfile.getMaxActive();
+        } else {
+          return min(poolingProfile.getMaxActive(), poolingProfile.getMaxIdle());
+        }
+      default:
+        throw new IllegalStateException("Unexpected value for pooling profile initialization policy: "
+            + poolingProfile.getInitialisationPolicy());
+    }
+  }
 }
@@ -7,12 +7,9 @@
 package org.mule.runtime.core.internal.connection;
 
 import static java.lang.Integer.MAX_VALUE;
-import static java.lang.Integer.min;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
-import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
 import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.getInitialConnections;
 import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
 
 import org.mule.runtime.api.config.PoolingProfile;
@@ -151,27 +148,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   protected void applyInitialisationPolicy(GenericObjectPool pool) {
-    int initialConnections;
-    switch (poolingProfile.getInitialisationPolicy()) {
-      case INITIALISE_NONE:
-        initialConnections = 0;
-        break;
-      case INITIALISE_ONE:
-        initialConnections = 1;
-        break;
-      case INITIALISE_ALL:
-        if (poolingProfile.getMaxActive() < 0) {
-          initialConnections = poolingProfile.getMaxIdle();
-        } else if (poolingProfile.getMaxIdle() < 0) {
-          initialConnections = poolingProfile.getMaxActive();
-        } else {
-          initialConnections = min(poolingProfile.getMaxActive(), poolingProfile.getMaxIdle());
-        }
-        break;
-      default:
-        throw new IllegalStateException("Unexpected value for pooling profile initialization policy: "
-            + poolingProfile.getInitialisationPolicy());
-    }
+    int initialConnections = getInitialConnections(poolingProfile);
 
     LOGGER.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
     for (int t = 0; t < initialConnections; t++) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Bounded ring buffer of the asynchronous notifications for a single {@link NotificationListener}.
+ * <p>
+ * Instead of submitting a task for each notification, a single drain task is submitted to the {@link Scheduler} when the buffer
+ * becomes non empty. That task delivers the buffered notifications in batches, in the same order they were dispatched, and
+ * resubmits itself after each batch while there are notifications left so that it doesn't hog the scheduler threads.
+ * <p>
+ * When the buffer is full, the notification is handled according to the {@link OverflowPolicy}.
+ *
+ * @since 4.6.0
+ */
+public final class NotificationDispatchBuffer {
+
+  private static final Logger LOGGER = getLogger(NotificationDispatchBuffer.class);
+
+  /**
+   * What to do with a notification dispatched while the buffer of its listener is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The notification is discarded and counted as dropped.
+     */
+    DROP,
+
+    /**
+     * The notification is delivered to the listener by the thread that fired it, slowing down the producer.
+     */
+    CALLER_RUNS
+  }
+
+  private final NotificationListener listener;
+  private final Scheduler scheduler;
+  private final ArrayBlockingQueue<Notification> buffer;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final LongAdder totalDropped;
+
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * @param listener       the listener to deliver the notifications to
+   * @param scheduler      the scheduler where the notifications are delivered
+   * @param capacity       the maximum amount of notifications pending to be delivered
+   * @param batchSize      the maximum amount of notifications to deliver on each drain task
+   * @param overflowPolicy what to do with the notifications when the buffer is full
+   * @param totalDropped   counter of the notifications dropped by all the buffers of the same manager
+   */
+  public NotificationDispatchBuffer(NotificationListener listener, Scheduler scheduler, int capacity, int batchSize,
+                                    OverflowPolicy overflowPolicy, LongAdder totalDropped) {
+    this.listener = listener;
+    this.scheduler = scheduler;
+    this.buffer = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.overflowPolicy = overflowPolicy;
+    this.totalDropped = totalDropped;
+  }
+
+  /**
+   * Enqueues the given {@code notification} to be delivered asynchronously to the listener.
+   *
+   * @param notification the notification to deliver
+   */
+  public void dispatch(Notification notification) {
+    if (buffer.offer(notification)) {
+      scheduleDrain();
+    } else if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+      listener.onNotification(notification);
+    } else {
+      dropped.increment();
+      totalDropped.increment();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Notification buffer for listener {} is full, dropping notification {}", listener, notification);
+      }
+    }
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.submit(this::drain);
+      } catch (RejectedExecutionException e) {
+        // The buffered notifications will be delivered by the drain task scheduled for the next notification
+        drainScheduled.set(false);
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Could not schedule the delivery of notifications to listener {}: {}", listener, e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void drain() {
+    final List<Notification> batch = new ArrayList<>(batchSize);
+    try {
+      buffer.drainTo(batch, batchSize);
+      for (Notification notification : batch) {
+        try {
+          listener.onNotification(notification);
+        } catch (Throwable e) {
+          LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener,
+                      notification, e);
+        }
+      }
+    } finally {
+      drainScheduled.set(false);
+      // Notifications enqueued while this batch was being delivered may not have scheduled a drain of their own
+      if (!buffer.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+
+  /**
+   * @return the amount of notifications waiting to be delivered.
+   */
+  public int getPendingCount() {
+    return buffer.size();
+  }
+
+  /**
+   * @return the amount of notifications for the listener of this buffer that were dropped because it was full.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Discards the notifications pending to be delivered.
+   */
+  public void clear() {
+    buffer.clear();
+  }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -36,7 +37,8 @@ public class Policy {
   // map from event to set of senders
   private Map<Class<? extends Notification>, Collection<Sender>> eventToSenders =
       new HashMap<>();
-  private Map<Class<? extends Notification>, Collection<Sender>> concreteEventToSenders =
+  // lookup table from the concrete notification classes to their senders, built the first time each class is dispatched
+  private ConcurrentMap<Class<? extends Notification>, Sender[]> concreteEventToSenders =
       new ConcurrentHashMap<>();
 
   // these are cumulative - set values should never change, they are just a cache of known info
@@ -96,47 +98,40 @@ public class Policy {
 
   public void dispatch(Notification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      Boolean eventKnown = knownEventsExact.get(notfnClass);
-      // search if we don't know about this event, or if we do know it is used
-      if (eventKnown == null) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (eventKnown.booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
-      }
+      doDispatch(notification, notification.getClass(), notifier);
     }
   }
 
   protected boolean doDispatch(Notification notification, Class<? extends Notification> notfnClass,
                                NotifierCallback notifier) {
-    // Optimization to avoid iterating the eventToSenders map each time a notification is fired
-    Collection<Sender> senders = concreteEventToSenders.get(notfnClass);
-    if (senders != null) {
-      dispatchToSenders(notification, senders, notifier);
-      return true;
+    // Optimization to avoid iterating the eventToSenders map each time a notification is fired. Classes without senders are
+    // cached too, so that a single lookup is needed for every notification.
+    Sender[] senders = concreteEventToSenders.get(notfnClass);
+    if (senders == null) {
+      senders = concreteEventToSenders.computeIfAbsent(notfnClass, this::resolveSenders);
     }
 
-    senders = new ArrayList<>();
+    if (senders.length == 0) {
+      return false;
+    }
+
+    dispatchToSenders(notification, senders, notifier);
+    return true;
+  }
+
+  private Sender[] resolveSenders(Class<? extends Notification> notfnClass) {
+    List<Sender> senders = new ArrayList<>();
     for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
       if (event.getKey().isAssignableFrom(notfnClass)) {
         senders.addAll(event.getValue());
       }
     }
 
-    if (!senders.isEmpty()) {
-      dispatchToSenders(notification, senders, notifier);
-      concreteEventToSenders.putIfAbsent(notfnClass, senders);
-    }
-
-    return !senders.isEmpty();
+    knownEventsExact.put(notfnClass, Boolean.valueOf(!senders.isEmpty()));
+    return senders.toArray(new Sender[senders.size()]);
   }
 
-  private void dispatchToSenders(Notification notification, Collection<Sender> senders, NotifierCallback notifier) {
+  private void dispatchToSenders(Notification notification, Sender[] senders, NotifierCallback notifier) {
     for (Sender sender : senders) {
       try {
         if (LOGGER.isDebugEnabled()) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
+import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
+import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.isSanitizedPayload;
+import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
+
+import static java.util.Collections.emptySet;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Bounded cache of the {@link CompiledExpression}s for the expressions evaluated as plain strings through the
+ * {@link DefaultExpressionManager}.
+ * <p>
+ * Since the compilation of an expression depends on the bindings available to it, entries are keyed by the expression text and
+ * the shape of its bindings (the identifiers of the given {@link BindingContext} plus which event and location bindings are
+ * available), not by the binding values. Expressions that can't be compiled, or that are cheaper to evaluate without compiling
+ * them, are remembered as not cacheable so that they are evaluated through the non compiled path.
+ *
+ * @since 4.6.0
+ */
+final class CompiledExpressionCache {
+
+  private final BiFunction<String, BindingContext, CompiledExpression> compiler;
+  private final Cache<CompiledExpressionKey, Optional<CompiledExpression>> cache;
+
+  /**
+   * @param maxSize  the maximum amount of expressions to keep. {@code 0} disables the cache.
+   * @param compiler the function to compile the expressions with
+   */
+  CompiledExpressionCache(int maxSize, BiFunction<String, BindingContext, CompiledExpression> compiler) {
+    this.compiler = compiler;
+    this.cache = maxSize > 0
+        ? newBuilder().maximumSize(maxSize).executor(Runnable::run).recordStats().build()
+        : null;
+  }
+
+  /**
+   * Looks up the {@link CompiledExpression} for the given {@code expression} with the bindings built from the given parameters,
+   * compiling it if not cached yet.
+   *
+   * @param expression        the expression to look up
+   * @param event             the event the expression is going to be evaluated against, may be {@code null}
+   * @param componentLocation the location of the component evaluating the expression, may be {@code null}
+   * @param context           the additional bindings for the expression
+   * @return the compiled expression, or {@code null} if the expression has to be evaluated without compiling it.
+   */
+  CompiledExpression lookup(String expression, CoreEvent event, ComponentLocation componentLocation, BindingContext context) {
+    if (cache == null || !context.modules().isEmpty()) {
+      return null;
+    }
+
+    return cache.get(new CompiledExpressionKey(expression, event, componentLocation, context),
+                     k -> compile(expression, event, componentLocation, context))
+        .orElse(null);
+  }
+
+  private Optional<CompiledExpression> compile(String expression, CoreEvent event, ComponentLocation componentLocation,
+                                               BindingContext context) {
+    try {
+      if (isSanitizedPayload(sanitize(expression))) {
+        // The adaptors resolve the payload right away, without building the bindings
+        return empty();
+      }
+
+      CompiledExpression compiled = compiler.apply(expression, compilationContext(event, componentLocation, context));
+      return compiled == null || compiled instanceof IllegalCompiledExpression ? empty() : of(compiled);
+    } catch (RuntimeException e) {
+      // Evaluating the expression through the non compiled path reports the failure just like before
+      return empty();
+    }
+  }
+
+  private BindingContext compilationContext(CoreEvent event, ComponentLocation componentLocation, BindingContext context) {
+    if (event == null && componentLocation == null) {
+      return context;
+    }
+
+    BindingContext.Builder builder = event != null ? addEventBuindingsToBuilder(event, context) : BindingContext.builder(context);
+    if (componentLocation != null) {
+      builder = addFlowNameBindingsToBuilder(componentLocation, builder);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Discards all the cached expressions, so that they are compiled again with the current global bindings.
+   */
+  void invalidate() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  long hitCount() {
+    return cache != null ? cache.stats().hitCount() : 0;
+  }
+
+  long missCount() {
+    return cache != null ? cache.stats().missCount() : 0;
+  }
+
+  long evictionCount() {
+    return cache != null ? cache.stats().evictionCount() : 0;
+  }
+
+  private static final class CompiledExpressionKey {
+
+    private static final int EVENT = 1;
+    private static final int ERROR = 1 << 1;
+    private static final int AUTHENTICATION = 1 << 2;
+    private static final int ITEM_SEQUENCE_INFO = 1 << 3;
+    private static final int LOCATION = 1 << 4;
+
+    private final String expression;
+    private final Set<String> identifiers;
+    private final int availableBindings;
+    private final int hashCode;
+
+    CompiledExpressionKey(String expression, CoreEvent event, ComponentLocation componentLocation, BindingContext context) {
+      this.expression = expression;
+      this.identifiers = context == NULL_BINDING_CONTEXT ? emptySet() : new HashSet<>(context.identifiers());
+
+      int available = 0;
+      if (event != null) {
+        available |= EVENT;
+        if (event.getError().isPresent()) {
+          available |= ERROR;
+        }
+        if (event.getAuthentication().isPresent()) {
+          available |= AUTHENTICATION;
+        }
+        if (event.getItemSequenceInfo().isPresent()) {
+          available |= ITEM_SEQUENCE_INFO;
+        }
+      }
+      if (componentLocation != null) {
+        available |= LOCATION;
+      }
+      this.availableBindings = available;
+
+      this.hashCode = 31 * (31 * expression.hashCode() + identifiers.hashCode()) + availableBindings;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledExpressionKey)) {
+        return false;
+      }
+
+      CompiledExpressionKey other = (CompiledExpressionKey) obj;
+      return availableBindings == other.availableBindings
+          && expression.equals(other.expression)
+          && identifiers.equals(other.identifiers);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
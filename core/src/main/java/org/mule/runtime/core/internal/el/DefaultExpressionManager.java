@@ -11,9 +11,11 @@ import static org.mule.runtime.api.el.ValidationResult.failure;
 import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ClassUtils.isInstance;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 
@@ -46,6 +48,7 @@ import org.mule.runtime.core.privileged.util.TemplateParser;
 
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -59,6 +62,16 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   public static final int DW_PREFIX_LENGTH = (DW_PREFIX + PREFIX_EXPR_SEPARATOR).length();
   private static final Logger LOGGER = getLogger(DefaultExpressionManager.class);
 
+  /**
+   * The maximum amount of compiled expressions to keep for the expressions evaluated as plain strings. {@code 0} disables the
+   * cache.
+   *
+   * @since 4.6.0
+   */
+  public static final String COMPILED_EXPRESSIONS_CACHE_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "expression.compiledExpressionsCacheSize";
+  private static final int DEFAULT_COMPILED_EXPRESSIONS_CACHE_SIZE = 1024;
+
   private final OneTimeWarning parseWarning = new OneTimeWarning(LOGGER,
                                                                  "Expression parsing is deprecated, regular expressions should be used instead.");
 
@@ -70,9 +83,15 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   private final TemplateParser parser = TemplateParser.createMuleStyleParser();
   private boolean melDefault;
 
+  private final CompiledExpressionCache compiledExpressions =
+      new CompiledExpressionCache(getInteger(COMPILED_EXPRESSIONS_CACHE_SIZE_PROPERTY, DEFAULT_COMPILED_EXPRESSIONS_CACHE_SIZE),
+                                  (expression, context) -> expressionLanguage.compile(expression, context));
+
   @Override
   public void addGlobalBindings(BindingContext bindingContext) {
     expressionLanguage.addGlobalBindings(bindingContext);
+    // the cached expressions were compiled without the new bindings
+    compiledExpressions.invalidate();
   }
 
   @Override
@@ -115,8 +134,11 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   private TypedValue<?> evaluate(String expression, CoreEvent event, CoreEvent.Builder eventBuilder,
                                  ComponentLocation componentLocation,
                                  BindingContext context) {
-    return updateTypedValueForStreaming(expressionLanguage.evaluate(expression, event, eventBuilder, componentLocation, context),
-                                        event, getStreamingManager());
+    final CompiledExpression compiled = lookupCompiledExpression(expression, event, componentLocation, context);
+    final TypedValue<?> result = compiled != null
+        ? evaluateInSession(event, componentLocation, context, session -> session.evaluate(compiled))
+        : expressionLanguage.evaluate(expression, event, eventBuilder, componentLocation, context);
+    return updateTypedValueForStreaming(result, event, getStreamingManager());
   }
 
   @Override
@@ -131,7 +153,15 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
 
   @Override
   public TypedValue<?> evaluateLogExpression(String expression, BindingContext context) throws ExpressionExecutionException {
-    return expressionLanguage.evaluateLogExpression(expression, null, null, context);
+    return evaluateLogExpression(expression, null, null, context);
+  }
+
+  private TypedValue<?> evaluateLogExpression(String expression, CoreEvent event, ComponentLocation componentLocation,
+                                              BindingContext context) {
+    final CompiledExpression compiled = lookupCompiledExpression(expression, event, componentLocation, context);
+    return compiled != null
+        ? evaluateInSession(event, componentLocation, context, session -> session.evaluateLogExpression(compiled))
+        : expressionLanguage.evaluateLogExpression(expression, event, componentLocation, context);
   }
 
   @Override
@@ -143,9 +173,32 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   public TypedValue<?> evaluate(String expression, DataType outputType, BindingContext context, CoreEvent event,
                                 ComponentLocation componentLocation, boolean failOnNull)
       throws ExpressionRuntimeException {
-    return updateTypedValueForStreaming(expressionLanguage.evaluate(expression, outputType, event, componentLocation, context,
-                                                                    failOnNull),
-                                        event, getStreamingManager());
+    final CompiledExpression compiled = lookupCompiledExpression(expression, event, componentLocation, context);
+    final TypedValue<?> result = compiled != null
+        ? evaluateInSession(event, componentLocation, context, session -> session.evaluate(compiled, outputType))
+        : expressionLanguage.evaluate(expression, outputType, event, componentLocation, context, failOnNull);
+    return updateTypedValueForStreaming(result, event, getStreamingManager());
+  }
+
+  /**
+   * Looks up the compiled form of an expression evaluated as a plain string, compiling it on the first evaluation.
+   *
+   * @return the compiled expression, or {@code null} if the expression is to be evaluated without compiling it.
+   */
+  private CompiledExpression lookupCompiledExpression(String expression, CoreEvent event, ComponentLocation componentLocation,
+                                                      BindingContext context) {
+    if (melDefault || expression.contains(MEL_PREFIX + PREFIX_EXPR_SEPARATOR)) {
+      // MEL evaluations may update the event through its builder, so those are not compiled
+      return null;
+    }
+    return compiledExpressions.lookup(expression, event, componentLocation, context);
+  }
+
+  private TypedValue<?> evaluateInSession(CoreEvent event, ComponentLocation componentLocation, BindingContext context,
+                                          Function<ExpressionLanguageSessionAdaptor, TypedValue<?>> evaluation) {
+    try (ExpressionLanguageSessionAdaptor session = expressionLanguage.openSession(componentLocation, event, context)) {
+      return evaluation.apply(session);
+    }
   }
 
   private TypedValue<?> transform(TypedValue<?> target, DataType sourceType, DataType outputType) throws TransformerException {
@@ -262,7 +315,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
       return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
     } else {
       return parser.parse(token -> {
-        TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
+        TypedValue<?> evaluation = evaluateLogExpression(token, event, componentLocation, bindingContext);
         if (evaluation.getValue() instanceof Message) {
           // Do not apply transformation to Message since payload will be considered then
           return evaluation.getValue();
@@ -396,6 +449,30 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
     this.melDefault = melDefault;
   }
 
+  /**
+   * @return how many evaluations of plain string expressions reused a previously compiled expression.
+   * @since 4.6.0
+   */
+  public long getCompiledExpressionsCacheHits() {
+    return compiledExpressions.hitCount();
+  }
+
+  /**
+   * @return how many evaluations of plain string expressions had to compile the expression.
+   * @since 4.6.0
+   */
+  public long getCompiledExpressionsCacheMisses() {
+    return compiledExpressions.missCount();
+  }
+
+  /**
+   * @return how many compiled expressions were discarded because the cache was full.
+   * @since 4.6.0
+   */
+  public long getCompiledExpressionsCacheEvictions() {
+    return compiledExpressions.evictionCount();
+  }
+
   @Override
   public String toString() {
     return this.getClass().getName() + "[" + (expressionLanguage != null ? expressionLanguage.toString() : "null") + "]";
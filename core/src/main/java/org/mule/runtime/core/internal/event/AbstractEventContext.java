@@ -26,13 +26,12 @@ import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -46,6 +45,11 @@ import reactor.core.publisher.MonoSink;
 
 /**
  * Base class for implementations of {@link BaseEventContext}
+ * <p>
+ * The context goes through the {@code READY -> RESPONSE -> COMPLETE -> TERMINATED} states without locking: each transition is
+ * done with a compare-and-set so that it happens exactly once, a context completes when it has a response and its counter of
+ * pending children reaches zero, and the callbacks for each state are kept in lock-free stacks that are closed when the state is
+ * reached, so that callbacks registered afterwards are signaled right away.
  *
  * @since 4.0
  */
@@ -60,20 +64,37 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> STATE_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(AbstractEventContext.class, "state");
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> PENDING_CHILDREN_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(AbstractEventContext.class, "pendingChildren");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_BEFORE_RESPONSE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onBeforeResponseConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_RESPONSE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onResponseConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_COMPLETION_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onCompletionConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_TERMINATED_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onTerminatedConsumers");
+
+  /**
+   * Head of a consumers stack that has already been signaled. Consumers added afterwards are signaled right away.
+   */
+  private static final ConsumerNode CLOSED = new ConsumerNode(null, null);
+
   private final boolean debugLogEnabled = LOGGER.isDebugEnabled();
-  private transient final List<BaseEventContext> childContexts = new ArrayList<>();
+  private transient final Queue<BaseEventContext> childContexts = new ConcurrentLinkedQueue<>();
   private transient final FlowExceptionHandler exceptionHandler;
   private transient final CompletableFuture<Void> externalCompletion;
-  private transient List<BiConsumer<CoreEvent, Throwable>> onBeforeResponseConsumerList = new ArrayList<>();
-  private transient List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList = new ArrayList<>();
-  private transient List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList = new ArrayList<>(2);
-  private transient List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList = new ArrayList<>();
-
-  private final ReadWriteLock childContextsReadWriteLock = new ReentrantReadWriteLock();
+  private transient volatile ConsumerNode onBeforeResponseConsumers;
+  private transient volatile ConsumerNode onResponseConsumers;
+  private transient volatile ConsumerNode onCompletionConsumers;
+  private transient volatile ConsumerNode onTerminatedConsumers;
 
   private final int depthLevel;
 
-  private volatile byte state = STATE_READY;
+  private volatile int state = STATE_READY;
+  private transient volatile int pendingChildren;
   private volatile Either<Throwable, CoreEvent> result;
 
   private LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
@@ -98,31 +119,17 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
     this.exceptionHandler = exceptionHandler;
   }
 
-  protected void initCompletionLists() {
-    if (onBeforeResponseConsumerList == null) {
-      onBeforeResponseConsumerList = new ArrayList<>();
-    }
-
-    if (onResponseConsumerList == null) {
-      onResponseConsumerList = new ArrayList<>();
-    }
-
-    if (onCompletionConsumerList == null) {
-      onCompletionConsumerList = new ArrayList<>(2);
-    }
-
-    if (onTerminatedConsumerList == null) {
-      onTerminatedConsumerList = new ArrayList<>();
-    }
+  void addChildContext(BaseEventContext childContext) {
+    PENDING_CHILDREN_UPDATER.incrementAndGet(this);
+    childContexts.add(childContext);
   }
 
-  void addChildContext(BaseEventContext childContext) {
-    childContextsReadWriteLock.writeLock().lock();
-    try {
-      childContexts.add(childContext);
-    } finally {
-      childContextsReadWriteLock.writeLock().unlock();
-    }
+  /**
+   * Called by a child context added through {@link #addChildContext(BaseEventContext)} once it has completed.
+   */
+  private void childCompleted() {
+    PENDING_CHILDREN_UPDATER.decrementAndGet(this);
+    tryComplete();
   }
 
   /**
@@ -196,92 +203,103 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
     return empty();
   }
 
-  private synchronized void responseDone(Either<Throwable, CoreEvent> result) {
+  private void responseDone(Either<Throwable, CoreEvent> result) {
+    if (!STATE_UPDATER.compareAndSet(this, STATE_READY, STATE_RESPONSE)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} response was concurrently completed, ignoring.", this);
+      }
+      return;
+    }
+
     this.result = result;
     responsePublisher.ifComputed(rp -> rp.result = result);
 
-    state = STATE_RESPONSE;
-
-    for (BiConsumer<CoreEvent, Throwable> onBeforeResponseConsumer : onBeforeResponseConsumerList) {
-      signalConsumerSilently(onBeforeResponseConsumer);
-    }
-    onBeforeResponseConsumerList.clear();
-
-    for (BiConsumer<CoreEvent, Throwable> onResponseConsumer : onResponseConsumerList) {
-      signalConsumerSilently(onResponseConsumer);
-    }
-    onResponseConsumerList.clear();
+    signalConsumers(ON_BEFORE_RESPONSE_UPDATER);
+    signalConsumers(ON_RESPONSE_UPDATER);
     tryComplete();
   }
 
   protected void tryComplete() {
-    boolean allChildrenComplete;
-
-    getChildContextsReadLock().lock();
-    try {
-      allChildrenComplete = childContexts.stream().allMatch(BaseEventContext::isComplete);
-    } finally {
-      getChildContextsReadLock().unlock();
-    }
-
-    synchronized (this) {
-      if (state == STATE_RESPONSE && allChildrenComplete) {
-        if (debugLogEnabled) {
-          LOGGER.debug("{} completed.", this);
-        }
-        this.state = STATE_COMPLETE;
+    if (state == STATE_RESPONSE && pendingChildren == 0
+        && STATE_UPDATER.compareAndSet(this, STATE_RESPONSE, STATE_COMPLETE)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} completed.", this);
+      }
 
-        for (BiConsumer<CoreEvent, Throwable> consumer : onCompletionConsumerList) {
-          signalConsumerSilently(consumer);
+      signalConsumers(ON_COMPLETION_UPDATER);
+      getParentContext().ifPresent(context -> {
+        if (context instanceof AbstractEventContext) {
+          ((AbstractEventContext) context).childCompleted();
         }
-        onCompletionConsumerList.clear();
-        getParentContext().ifPresent(context -> {
-          if (context instanceof AbstractEventContext) {
-            ((AbstractEventContext) context).tryComplete();
-          }
-        });
-        tryTerminate();
-      }
+      });
+      tryTerminate();
     }
   }
 
-  protected synchronized void tryTerminate() {
-    if (this.state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())) {
+  protected void tryTerminate() {
+    if ((externalCompletion == null || externalCompletion.isDone())
+        && STATE_UPDATER.compareAndSet(this, STATE_COMPLETE, STATE_TERMINATED)) {
       if (debugLogEnabled) {
         LOGGER.debug("{} terminated.", this);
       }
-      this.state = STATE_TERMINATED;
 
-      for (BiConsumer<CoreEvent, Throwable> consumer : onTerminatedConsumerList) {
-        signalConsumerSilently(consumer);
-      }
-      onTerminatedConsumerList.clear();
+      signalConsumers(ON_TERMINATED_UPDATER);
 
-      getChildContextsWriteLock().lock();
-      try {
-        this.childContexts.clear();
-      } finally {
-        getChildContextsWriteLock().unlock();
+      this.childContexts.clear();
+      getParentContext().ifPresent(context -> ((AbstractEventContext) context).childContexts.remove(this));
+
+      final LazyValue<ResponsePublisher> publisher = responsePublisher;
+      final Either<Throwable, CoreEvent> terminatedResult = result;
+      publisher.ifComputed(rp -> rp.result = terminatedResult);
+      responsePublisher = null;
+      result = null;
+    }
+  }
+
+  /**
+   * Adds the {@code consumer} to the stack referenced by {@code consumers}, or signals it right away if the stack was already
+   * closed.
+   */
+  private void addConsumer(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers,
+                           BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    ConsumerNode head;
+    do {
+      head = consumers.get(this);
+      if (head == CLOSED) {
+        signalConsumerSilently(consumer);
+        return;
       }
+    } while (!consumers.compareAndSet(this, head, new ConsumerNode(consumer, head)));
+  }
 
-      getParentContext().ifPresent(context -> {
-        AbstractEventContext parent = (AbstractEventContext) context;
-        parent.getChildContextsWriteLock().lock();
-        try {
-          parent.childContexts.remove(this);
-        } finally {
-          parent.getChildContextsWriteLock().unlock();
-        }
-      });
+  /**
+   * Closes the stack referenced by {@code consumers} and signals its consumers in the order they were added.
+   */
+  private void signalConsumers(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers) {
+    ConsumerNode head = consumers.getAndSet(this, CLOSED);
+    if (head == null || head == CLOSED) {
+      return;
+    }
 
-      result = null;
-      responsePublisher = null;
+    ConsumerNode reversed = null;
+    for (ConsumerNode node = head; node != null; node = node.next) {
+      reversed = new ConsumerNode(node.consumer, reversed);
+    }
+    for (ConsumerNode node = reversed; node != null; node = node.next) {
+      signalConsumerSilently(node.consumer);
     }
   }
 
   private void signalConsumerSilently(BiConsumer<CoreEvent, Throwable> consumer) {
+    final Either<Throwable, CoreEvent> result = this.result;
     try {
-      consumer.accept(result.getRight(), result.getLeft());
+      if (result == null) {
+        // The context was concurrently terminated, its result is no longer available
+        consumer.accept(null, null);
+      } else {
+        consumer.accept(result.getRight(), result.getLeft());
+      }
     } catch (Throwable t) {
       LOGGER.error(format("The event consumer %s, of EventContext %s failed with exception:",
                           consumer, this),
@@ -315,62 +333,42 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
   }
 
   @Override
-  public synchronized void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_TERMINATED) {
-      signalConsumerSilently(consumer);
-    } else {
-      onTerminatedConsumerList.add(requireNonNull(consumer));
-    }
+  public void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
+    addConsumer(ON_TERMINATED_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_COMPLETE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onCompletionConsumerList.add(requireNonNull(consumer));
-    }
+  public void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
+    addConsumer(ON_COMPLETION_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onBeforeResponse(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_RESPONSE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onBeforeResponseConsumerList.add(requireNonNull(consumer));
-    }
+  public void onBeforeResponse(BiConsumer<CoreEvent, Throwable> consumer) {
+    addConsumer(ON_BEFORE_RESPONSE_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_RESPONSE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onResponseConsumerList.add(requireNonNull(consumer));
-    }
+  public void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
+    addConsumer(ON_RESPONSE_UPDATER, consumer);
   }
 
   @Override
-  public synchronized Publisher<CoreEvent> getResponsePublisher() {
-    if (isTerminated()) {
+  public Publisher<CoreEvent> getResponsePublisher() {
+    final LazyValue<ResponsePublisher> publisher = responsePublisher;
+    if (publisher == null || isTerminated()) {
       throw new IllegalStateException("getResponsePublisher() cannot be called after eventContext termination.");
     }
 
-    return Mono.create(responsePublisher.get());
+    return Mono.create(publisher.get());
   }
 
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
-    getChildContextsReadLock().lock();
-    try {
-      childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
-        childConsumer.accept(context);
-        if (context instanceof AbstractEventContext) {
-          ((AbstractEventContext) context).forEachChild(childConsumer);
-        }
-      });
-    } finally {
-      getChildContextsReadLock().unlock();
-    }
+    childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
+      childConsumer.accept(context);
+      if (context instanceof AbstractEventContext) {
+        ((AbstractEventContext) context).forEachChild(childConsumer);
+      }
+    });
   }
 
   /**
@@ -379,26 +377,21 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
    */
   private final class ResponsePublisher implements Consumer<MonoSink<CoreEvent>> {
 
-    private volatile Either<Throwable, CoreEvent> result;
+    private volatile Either<Throwable, CoreEvent> result = AbstractEventContext.this.result;
 
     @Override
     public void accept(MonoSink<CoreEvent> sink) {
-      if (isResponseDone()) {
+      if (result != null) {
         signalPublisherSink(sink);
       } else {
-        synchronized (AbstractEventContext.this) {
-          if (isResponseDone()) {
-            signalPublisherSink(sink);
+        // Signaled when the response is done, or right away if it was done since the check above
+        onResponse((event, throwable) -> {
+          if (throwable != null) {
+            sink.error(throwable);
           } else {
-            onResponse((event, throwable) -> {
-              if (throwable != null) {
-                sink.error(throwable);
-              } else {
-                sink.success(event);
-              }
-            });
+            sink.success(event);
           }
-        }
+        });
       }
     }
 
@@ -416,14 +409,6 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
     return depthLevel;
   }
 
-  public Lock getChildContextsReadLock() {
-    return childContextsReadWriteLock.readLock();
-  }
-
-  public Lock getChildContextsWriteLock() {
-    return childContextsReadWriteLock.writeLock();
-  }
-
   protected abstract String basicToString();
 
   protected final String detailedToString(int level, BaseEventContext highlight) {
@@ -436,7 +421,18 @@ abstract class AbstractEventContext implements SpanContextAware, BaseEventContex
   }
 
   protected byte getState() {
-    return state;
+    return (byte) state;
+  }
+
+  private static final class ConsumerNode {
+
+    private final BiConsumer<CoreEvent, Throwable> consumer;
+    private final ConsumerNode next;
+
+    private ConsumerNode(BiConsumer<CoreEvent, Throwable> consumer, ConsumerNode next) {
+      this.consumer = consumer;
+      this.next = next;
+    }
   }
 
 }
@@ -17,7 +17,6 @@ import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsString;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
@@ -47,6 +46,7 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
@@ -70,8 +70,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   private BaseEventContext context;
   private Function<EventContext, Message> messageFactory;
 
-  private CaseInsensitiveHashMap<String, TypedValue<?>> flowVariables;
-  private CaseInsensitiveHashMap<String, TypedValue<?>> originalVars;
+  private PersistentCaseInsensitiveMap<TypedValue<?>> flowVariables;
+  private Map<String, TypedValue<?>> originalVars;
   private boolean varsModified = false;
 
   private CaseInsensitiveHashMap<String, TypedValue<?>> parameters;
@@ -99,7 +99,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder(BaseEventContext messageContext) {
     this.context = messageContext;
     this.session = new DefaultMuleSession();
-    this.originalVars = emptyCaseInsensitiveMap();
+    this.originalVars = PersistentCaseInsensitiveMap.empty();
     this.originalParameters = emptyCaseInsensitiveMap();
     this.internalParameters = new SmallMap<>();
     internalParametersInitialized = true;
@@ -116,7 +116,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) event.getVariables();
+    this.originalVars = event.getVariables();
     originalParameters = (CaseInsensitiveHashMap<String, TypedValue<?>>) event.getParameters();
 
     this.loggingVariables = (CaseInsensitiveHashMap<String, String>) event.getLoggingVariables().orElse(null);
@@ -157,25 +157,26 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    initVariables();
+    PersistentCaseInsensitiveMap<TypedValue<?>> variables = PersistentCaseInsensitiveMap.empty();
+    for (Entry<String, ?> entry : flowVariables.entrySet()) {
+      variables = variables.plus(entry.getKey(), toTypedValue(entry.getValue()));
+    }
 
-    copyFromTo(flowVariables, this.flowVariables);
+    this.flowVariables = variables;
     this.varsModified = true;
+    this.modified = true;
 
     return this;
   }
 
   @Override
   public DefaultEventBuilder variablesTyped(Map<String, TypedValue<?>> variables) {
-    if (!(variables instanceof CaseInsensitiveHashMap)) {
+    if (!(variables instanceof PersistentCaseInsensitiveMap || variables instanceof CaseInsensitiveHashMap)) {
       return variables(variables);
     }
 
-    if (varsModified) {
-      this.flowVariables.clear();
-    }
-
-    originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) variables;
+    originalVars = variables;
+    this.flowVariables = null;
     this.varsModified = false;
     this.modified = true;
 
@@ -190,7 +191,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -201,7 +202,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -211,7 +212,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public CoreEvent.Builder addVariable(String key, TypedValue<?> value) {
     initVariables();
 
-    flowVariables.put(key, value);
+    flowVariables = flowVariables.plus(key, value);
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -221,8 +222,12 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder removeVariable(String key) {
     initVariables();
 
-    this.modified = flowVariables.remove(key) != null || modified;
-    this.varsModified = this.varsModified || modified;
+    final PersistentCaseInsensitiveMap<TypedValue<?>> removed = flowVariables.minus(key);
+    if (removed != flowVariables) {
+      flowVariables = removed;
+      this.varsModified = true;
+      this.modified = true;
+    }
     return this;
   }
 
@@ -285,7 +290,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     if ((flowVariables != null && !this.flowVariables.isEmpty()) || !this.originalVars.isEmpty()) {
       this.varsModified = true;
       this.modified = true;
-      flowVariables = basedOn(new SmallMap<>());
+      flowVariables = PersistentCaseInsensitiveMap.empty();
     }
     return this;
   }
@@ -401,9 +406,13 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
+  /**
+   * Variables are kept in a {@link PersistentCaseInsensitiveMap}, so the variables of the original event are shared instead of
+   * copied. Only events not created by this builder may need their variables converted.
+   */
   protected void initVariables() {
-    if (!varsModified && flowVariables == null) {
-      flowVariables = originalVars.copy();
+    if (flowVariables == null) {
+      flowVariables = PersistentCaseInsensitiveMap.copyOf(originalVars);
     }
   }
 
@@ -418,15 +427,19 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     target.clear();
 
     for (Entry<String, ?> entry : source.entrySet()) {
-      if (entry.getValue() instanceof TypedValue) {
-        target.put(entry.getKey(), (TypedValue<?>) entry.getValue());
-      } else {
-        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataType.fromObject(entry.getValue())));
-      }
+      target.put(entry.getKey(), toTypedValue(entry.getValue()));
     }
     this.modified = true;
   }
 
+  private static TypedValue<?> toTypedValue(Object value) {
+    if (value instanceof TypedValue) {
+      return (TypedValue<?>) value;
+    } else {
+      return new TypedValue<>(value, DataType.fromObject(value));
+    }
+  }
+
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
@@ -451,7 +464,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CaseInsensitiveHashMap<String, TypedValue<?>> variables;
+    // A PersistentCaseInsensitiveMap, except right after deserializing events serialized by previous versions, until converted
+    private Map<String, TypedValue<?>> variables;
     private final CaseInsensitiveHashMap<String, TypedValue<?>> parameters;
     private final CaseInsensitiveHashMap<String, String> loggingVariables;
 
@@ -492,7 +506,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     // Use this constructor from the builder
     private InternalEventImplementation(BaseEventContext context,
                                         Message message,
-                                        CaseInsensitiveHashMap<String, TypedValue<?>> variables,
+                                        Map<String, TypedValue<?>> variables,
                                         CaseInsensitiveHashMap<String, TypedValue<?>> parameters,
                                         CaseInsensitiveHashMap<String, String> loggingVariables,
                                         Map<String, ?> internalParameters,
@@ -512,7 +526,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = variables.toImmutableCaseInsensitiveMap();
+      this.variables = PersistentCaseInsensitiveMap.copyOf(variables);
       this.parameters = parameters.toImmutableCaseInsensitiveMap();
 
       this.internalParameters = internalParameters;
@@ -532,6 +546,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     private void readObject(ObjectInputStream is) throws IOException, ClassNotFoundException {
       is.defaultReadObject();
       internalParameters = new SmallMap<>();
+      variables = PersistentCaseInsensitiveMap.copyOf(variables);
     }
 
     @Override
@@ -639,6 +654,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
         setMessage(message);
       }
 
+      // Serializers that don't use readObject, such as kryo, restore the variables as they were serialized
+      variables = PersistentCaseInsensitiveMap.copyOf(variables);
       bindingContextBuilder = new LazyValue<>(() -> addEventBindings(this, NULL_BINDING_CONTEXT));
       if (context instanceof DefaultEventContext) {
         ((DefaultEventContext) context).createStreamingState();
@@ -105,7 +105,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
 
   private final String id;
   private final String correlationId;
-  private final Instant receivedDate = now();
+  private final Instant receivedDate;
 
   private final String serverId;
   private final ComponentLocation location;
@@ -190,6 +190,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.id = flow.getUniqueIdString();
     this.serverId = flow.getServerId();
     this.location = location;
+    this.receivedDate = now();
     this.processingTime = ProcessingTime.newInstance(flow);
     this.correlationId = correlationId;
 
@@ -219,6 +220,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.id = flow.getUniqueIdString();
     this.serverId = flow.getServerId();
     this.location = location;
+    this.receivedDate = now();
     this.processingTime = ProcessingTime.newInstance(flow);
     this.correlationId = correlationId;
 
@@ -268,15 +270,42 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.id = id;
     this.serverId = serverId;
     this.location = location;
+    this.receivedDate = now();
     this.processingTime = null;
     this.correlationId = correlationId;
     this.flowCallStack = new DefaultFlowCallStack();
     createStreamingState();
   }
 
+  /**
+   * Restores an execution context which was previously serialized. Just like when using Java serialization, the restored context
+   * is not registered in the {@link EventContextService}.
+   *
+   * @param id             the unique id of the serialized context.
+   * @param serverId       the id of the mule server in which the context was created
+   * @param location       the location of the component that received the first message for this context.
+   * @param correlationId  the correlation id that was set by the {@link MessageSource}, or {@code null} if it wasn't.
+   * @param receivedDate   the instant in which the serialized context was created
+   * @param processingTime the processing time of the serialized context, or {@code null} if it didn't have one.
+   * @param flowCallStack  the flow call stack of the serialized context.
+   *
+   * @since 4.6.0
+   */
+  public DefaultEventContext(String id, String serverId, ComponentLocation location, String correlationId,
+                             Instant receivedDate, ProcessingTime processingTime, FlowCallStack flowCallStack) {
+    super(NullExceptionHandler.getInstance(), 0, empty());
+    this.id = id;
+    this.serverId = serverId;
+    this.location = location;
+    this.receivedDate = receivedDate;
+    this.processingTime = processingTime;
+    this.correlationId = correlationId;
+    this.flowCallStack = flowCallStack;
+    createStreamingState();
+  }
+
   void createStreamingState() {
     if (streamingState == null) {
-      initCompletionLists();
       streamingState = new EventStreamingState();
       onTerminated((event, e) -> streamingState.dispose());
     }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.management.stats;
 
 import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
 
 import java.util.HashSet;
@@ -92,6 +93,17 @@ public class ApplicationStatistics extends DefaultFlowConstructStatistics {
     return total;
   }
 
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (stats instanceof DefaultFlowConstructStatistics && !(stats instanceof ApplicationStatistics)) {
+        histogram.add(((DefaultFlowConstructStatistics) stats).flowStatistics.getExecutionTimeHistogram());
+      }
+    }
+    return histogram.getValueAtPercentile(percentile);
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
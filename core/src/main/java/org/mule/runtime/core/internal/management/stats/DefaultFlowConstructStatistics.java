@@ -139,6 +139,11 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     return flowStatistics.getTotalExecutionTime();
   }
 
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    return flowStatistics.getExecutionTimePercentile(percentile);
+  }
+
   @Override
   public long getExecutionErrors() {
     return executionError.get();
@@ -28,6 +28,7 @@ import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
 
@@ -84,14 +85,30 @@ public final class DefaultMessageBuilder
   private TypedValue payload = of(NULL_TYPED_VALUE);
   private TypedValue attributes = of(NULL_TYPED_VALUE);
 
-  private final Map<String, TypedValue<Serializable>> inboundProperties = new CaseInsensitiveMapWrapper<>();
-  private final Map<String, TypedValue<Serializable>> outboundProperties = new CaseInsensitiveMapWrapper<>();
-  private Map<String, DataHandler> inboundAttachments = new LinkedHashMap<>();
-  private Map<String, DataHandler> outboundAttachments = new LinkedHashMap<>();
+  // Legacy properties and attachments are seldom used, so these are shared immutable empty maps until written. Maps that are
+  // shared with a built or copied message are copied before being written, as tracked by the *Owned flags.
+  private Map<String, TypedValue<Serializable>> inboundProperties = emptyMap();
+  private Map<String, TypedValue<Serializable>> outboundProperties = emptyMap();
+  private Map<String, DataHandler> inboundAttachments = emptyMap();
+  private Map<String, DataHandler> outboundAttachments = emptyMap();
+  private boolean inboundPropertiesOwned = false;
+  private boolean outboundPropertiesOwned = false;
+  private boolean inboundAttachmentsOwned = false;
+  private boolean outboundAttachmentsOwned = false;
 
   public DefaultMessageBuilder() {}
 
   private void copyMessageAttributes(InternalMessage message) {
+    if (message instanceof MessageImplementation) {
+      // The maps of a built message are never modified, so they can be shared until this builder writes them
+      MessageImplementation messageImpl = (MessageImplementation) message;
+      inboundProperties = messageImpl.inboundMap;
+      outboundProperties = messageImpl.outboundMap;
+      inboundAttachments = messageImpl.inboundAttachments;
+      outboundAttachments = messageImpl.outboundAttachments;
+      return;
+    }
+
     message.getInboundPropertyNames().forEach(key -> {
       if (message.getInboundPropertyDataType(key) != null) {
         addInboundProperty(key, message.getInboundProperty(key), message.getInboundPropertyDataType(key));
@@ -245,81 +262,90 @@ public final class DefaultMessageBuilder
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value) {
-    inboundProperties.put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
+    writableInboundProperties().put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value, MediaType mediaType) {
-    inboundProperties.put(key,
-                          new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
+    writableInboundProperties().put(key,
+                                    new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundProperty(String key, Serializable value, DataType dataType) {
-    inboundProperties.put(key, new TypedValue<>(value, dataType));
+    writableInboundProperties().put(key, new TypedValue<>(value, dataType));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value) {
-    outboundProperties.put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
+    writableOutboundProperties().put(key, new TypedValue<>(value, value != null ? fromObject(value) : OBJECT));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value, MediaType mediaType) {
-    outboundProperties.put(key, new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
+    writableOutboundProperties().put(key, new TypedValue<>(value, builder().type(value.getClass()).mediaType(mediaType).build()));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundProperty(String key, Serializable value, DataType dataType) {
-    outboundProperties.put(key, new TypedValue<>(value, dataType));
+    writableOutboundProperties().put(key, new TypedValue<>(value, dataType));
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeInboundProperty(String key) {
-    inboundProperties.remove(key);
+    if (!inboundProperties.isEmpty()) {
+      writableInboundProperties().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeOutboundProperty(String key) {
-    outboundProperties.remove(key);
+    if (!outboundProperties.isEmpty()) {
+      writableOutboundProperties().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addInboundAttachment(String key, DataHandler value) {
-    inboundAttachments.put(key, value);
+    writableInboundAttachments().put(key, value);
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder addOutboundAttachment(String key, DataHandler value) {
-    outboundAttachments.put(key, value);
+    writableOutboundAttachments().put(key, value);
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeInboundAttachment(String key) {
-    inboundAttachments.remove(key);
+    if (!inboundAttachments.isEmpty()) {
+      writableInboundAttachments().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder removeOutboundAttachment(String key) {
-    outboundAttachments.remove(key);
+    if (!outboundAttachments.isEmpty()) {
+      writableOutboundAttachments().remove(key);
+    }
     return this;
   }
 
   @Override
   public InternalMessage.CollectionBuilder inboundProperties(Map<String, Serializable> inboundProperties) {
     requireNonNull(inboundProperties);
-    this.inboundProperties.clear();
+    this.inboundProperties = emptyMap();
+    this.inboundPropertiesOwned = false;
     inboundProperties.forEach(this::addInboundProperty);
     return this;
   }
@@ -327,7 +353,8 @@ public final class DefaultMessageBuilder
   @Override
   public InternalMessage.CollectionBuilder outboundProperties(Map<String, Serializable> outboundProperties) {
     requireNonNull(outboundProperties);
-    this.outboundProperties.clear();
+    this.outboundProperties = emptyMap();
+    this.outboundPropertiesOwned = false;
     outboundProperties.forEach(this::addOutboundProperty);
     return this;
   }
@@ -336,6 +363,7 @@ public final class DefaultMessageBuilder
   public InternalMessage.CollectionBuilder inboundAttachments(Map<String, DataHandler> inboundAttachments) {
     requireNonNull(inboundAttachments);
     this.inboundAttachments = new LinkedHashMap<>(inboundAttachments);
+    this.inboundAttachmentsOwned = true;
     return this;
   }
 
@@ -343,16 +371,60 @@ public final class DefaultMessageBuilder
   public InternalMessage.CollectionBuilder outboundAttachments(Map<String, DataHandler> outbundAttachments) {
     requireNonNull(outbundAttachments);
     this.outboundAttachments = new LinkedHashMap<>(outbundAttachments);
+    this.outboundAttachmentsOwned = true;
     return this;
   }
 
   @Override
   public InternalMessage build() {
+    // The built message takes the maps, so this builder has to copy them if it is written afterwards
+    inboundPropertiesOwned = false;
+    outboundPropertiesOwned = false;
+    inboundAttachmentsOwned = false;
+    outboundAttachmentsOwned = false;
     return new MessageImplementation(payload, attributes,
                                      inboundProperties, outboundProperties, inboundAttachments,
                                      outboundAttachments);
   }
 
+  private Map<String, TypedValue<Serializable>> writableInboundProperties() {
+    if (!inboundPropertiesOwned) {
+      inboundProperties = copyProperties(inboundProperties);
+      inboundPropertiesOwned = true;
+    }
+    return inboundProperties;
+  }
+
+  private Map<String, TypedValue<Serializable>> writableOutboundProperties() {
+    if (!outboundPropertiesOwned) {
+      outboundProperties = copyProperties(outboundProperties);
+      outboundPropertiesOwned = true;
+    }
+    return outboundProperties;
+  }
+
+  private Map<String, DataHandler> writableInboundAttachments() {
+    if (!inboundAttachmentsOwned) {
+      inboundAttachments = new LinkedHashMap<>(inboundAttachments);
+      inboundAttachmentsOwned = true;
+    }
+    return inboundAttachments;
+  }
+
+  private Map<String, DataHandler> writableOutboundAttachments() {
+    if (!outboundAttachmentsOwned) {
+      outboundAttachments = new LinkedHashMap<>(outboundAttachments);
+      outboundAttachmentsOwned = true;
+    }
+    return outboundAttachments;
+  }
+
+  private static Map<String, TypedValue<Serializable>> copyProperties(Map<String, TypedValue<Serializable>> properties) {
+    Map<String, TypedValue<Serializable>> copy = new CaseInsensitiveMapWrapper<>();
+    copy.putAll(properties);
+    return copy;
+  }
+
   private DataType resolveDataType(Object value) {
     if (payload == null) {
       return DataType.fromObject(value);
@@ -395,18 +467,19 @@ public final class DefaultMessageBuilder
     /**
      * Collection of attachments that were attached to the incoming message
      */
-    private transient Map<String, DataHandler> inboundAttachments = new LinkedHashMap<>();
+    private transient Map<String, DataHandler> inboundAttachments;
 
     /**
      * Collection of attachments that will be sent out with this message
      */
-    private transient Map<String, DataHandler> outboundAttachments = new LinkedHashMap<>();
+    private transient Map<String, DataHandler> outboundAttachments;
 
     private transient TypedValue typedValue;
     private final TypedValue typedAttributes;
 
-    private final Map<String, TypedValue<Serializable>> inboundMap = new CaseInsensitiveMapWrapper<>();
-    private final Map<String, TypedValue<Serializable>> outboundMap = new CaseInsensitiveMapWrapper<>();
+    // These are not modified after the message is built, so they may be shared with builders and other messages
+    private final Map<String, TypedValue<Serializable>> inboundMap;
+    private final Map<String, TypedValue<Serializable>> outboundMap;
 
     private MessageImplementation(TypedValue typedValue, TypedValue typedAttributes,
                                   Map<String, TypedValue<Serializable>> inboundProperties,
@@ -414,8 +487,8 @@ public final class DefaultMessageBuilder
                                   Map<String, DataHandler> inboundAttachments, Map<String, DataHandler> outboundAttachments) {
       this.typedValue = typedValue;
       this.typedAttributes = typedAttributes;
-      this.inboundMap.putAll(inboundProperties);
-      this.outboundMap.putAll(outboundProperties);
+      this.inboundMap = inboundProperties;
+      this.outboundMap = outboundProperties;
       this.inboundAttachments = inboundAttachments;
       this.outboundAttachments = outboundAttachments;
     }
@@ -501,12 +574,12 @@ public final class DefaultMessageBuilder
 
     @Override
     public Set<String> getInboundAttachmentNames() {
-      return unmodifiableSet(inboundAttachments.keySet());
+      return inboundAttachments.isEmpty() ? emptySet() : unmodifiableSet(inboundAttachments.keySet());
     }
 
     @Override
     public Set<String> getOutboundAttachmentNames() {
-      return unmodifiableSet(outboundAttachments.keySet());
+      return outboundAttachments.isEmpty() ? emptySet() : unmodifiableSet(outboundAttachments.keySet());
     }
 
     @Override
@@ -680,12 +753,12 @@ public final class DefaultMessageBuilder
 
     @Override
     public Set<String> getInboundPropertyNames() {
-      return unmodifiableSet(inboundMap.keySet());
+      return inboundMap.isEmpty() ? emptySet() : unmodifiableSet(inboundMap.keySet());
     }
 
     @Override
     public Set<String> getOutboundPropertyNames() {
-      return unmodifiableSet(outboundMap.keySet());
+      return outboundMap.isEmpty() ? emptySet() : unmodifiableSet(outboundMap.keySet());
     }
 
     @Override
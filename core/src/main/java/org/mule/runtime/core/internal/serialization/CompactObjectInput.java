@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * The input used by {@link CompactTypeCodec codecs} to read the objects written through a {@link CompactObjectOutput}.
+ *
+ * @since 4.6.0
+ */
+public final class CompactObjectInput extends DataInputStream {
+
+  private final CompactSerializationProtocol protocol;
+  private final ClassLoader classLoader;
+  private final List<String> symbols = new ArrayList<>();
+
+  CompactObjectInput(InputStream in, ClassLoader classLoader, CompactSerializationProtocol protocol) {
+    super(in);
+    this.classLoader = classLoader;
+    this.protocol = protocol;
+  }
+
+  /**
+   * @return a value written through {@link CompactObjectOutput#writeValue(Object)}
+   * @throws IOException if the input could not be read
+   */
+  public Object readValue() throws IOException {
+    return protocol.readValue(this);
+  }
+
+  /**
+   * @return an int written through {@link CompactObjectOutput#writeVarInt(int)}
+   * @throws IOException if the input could not be read
+   */
+  public int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final int b = readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed variable length int");
+  }
+
+  /**
+   * @return a string written through {@link CompactObjectOutput#writeString(String)}
+   * @throws IOException if the input could not be read
+   */
+  public String readString() throws IOException {
+    final int length = readVarInt() - 1;
+    if (length < 0) {
+      return null;
+    }
+
+    final byte[] bytes = new byte[length];
+    readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * @return a string written through {@link CompactObjectOutput#writeSymbol(String)}
+   * @throws IOException if the input could not be read
+   */
+  public String readSymbol() throws IOException {
+    final int index = readVarInt();
+    if (index > 0) {
+      if (index > symbols.size()) {
+        throw new StreamCorruptedException("Reference to unknown symbol " + index);
+      }
+      return symbols.get(index - 1);
+    }
+
+    final String value = readString();
+    if (value != null) {
+      symbols.add(value);
+    }
+    return value;
+  }
+
+  /**
+   * Loads the class with the given name, which may also be the name of a primitive type.
+   *
+   * @param className the name of the class to load
+   * @return the loaded class
+   * @throws IOException if the class could not be found
+   */
+  public Class<?> loadClass(String className) throws IOException {
+    try {
+      return ClassUtils.getClass(classLoader, className);
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Could not load class " + className, e);
+    }
+  }
+
+  /**
+   * @return the {@link ClassLoader} with which the stream is being deserialized
+   */
+  public ClassLoader getClassLoader() {
+    return classLoader;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The output used by {@link CompactTypeCodec codecs} to write the objects serialized through a
+ * {@link CompactSerializationProtocol}.
+ * <p>
+ * Besides the primitives inherited from {@link DataOutputStream}, it knows how to write variable length integers, strings of any
+ * size and symbols. Symbols are strings which are expected to repeat within the same stream (class names, media types, etc.), so
+ * only the first occurrence is written and the following ones are replaced by a reference to it.
+ *
+ * @since 4.6.0
+ */
+public final class CompactObjectOutput extends DataOutputStream {
+
+  private final CompactSerializationProtocol protocol;
+  private final Map<String, Integer> symbols = new HashMap<>();
+
+  CompactObjectOutput(OutputStream out, CompactSerializationProtocol protocol) {
+    super(out);
+    this.protocol = protocol;
+  }
+
+  /**
+   * Writes the given {@code value}, which can be of any type including {@code null}.
+   *
+   * @param value the value to write
+   * @throws IOException if the output could not be written
+   */
+  public void writeValue(Object value) throws IOException {
+    protocol.writeValue(value, this);
+  }
+
+  /**
+   * Writes a non negative int using between 1 and 5 bytes, depending on its magnitude.
+   *
+   * @param value the value to write
+   * @throws IOException if the output could not be written
+   */
+  public void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    writeByte(value);
+  }
+
+  /**
+   * Writes the given string, which may be {@code null}.
+   *
+   * @param value the value to write
+   * @throws IOException if the output could not be written
+   */
+  public void writeString(String value) throws IOException {
+    if (value == null) {
+      writeVarInt(0);
+      return;
+    }
+
+    final byte[] bytes = value.getBytes(UTF_8);
+    writeVarInt(bytes.length + 1);
+    write(bytes);
+  }
+
+  /**
+   * Writes the given string, which may be {@code null}, as a symbol.
+   *
+   * @param value the value to write
+   * @throws IOException if the output could not be written
+   */
+  public void writeSymbol(String value) throws IOException {
+    final Integer index = value != null ? symbols.get(value) : null;
+    if (index != null) {
+      writeVarInt(index);
+      return;
+    }
+
+    // 0 is reserved for new symbols, so references are shifted by one
+    writeVarInt(0);
+    writeString(value);
+    if (value != null) {
+      symbols.put(value, symbols.size() + 1);
+    }
+  }
+}
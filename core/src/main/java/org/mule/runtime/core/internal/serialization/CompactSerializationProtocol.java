@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link SerializationProtocol} which uses a compact binary encoding for the types most commonly serialized by
+ * the runtime, such as messages, typed values, data types and event contexts.
+ * <p>
+ * Each supported type is registered together with a {@link CompactTypeCodec} and a numeric id, which is all that is written to
+ * identify the type of an instance, instead of the full class descriptor that Java serialization writes. Strings, boxed
+ * primitives and byte arrays have built-in encodings. Instances of any other type are written using Java serialization, so any
+ * {@link Serializable} object is still supported.
+ * <p>
+ * Streams are prefixed with a header which allows this protocol to tell them apart from the ones written by
+ * {@link JavaExternalSerializerProtocol}. Those are still deserialized, so that information persisted before switching protocols
+ * can still be read.
+ *
+ * @since 4.6.0
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  private static final int HEADER_SIZE = 2;
+  private static final byte HEADER_MAGIC = (byte) 0xC5;
+  private static final byte HEADER_VERSION = 1;
+
+  private static final int NULL = 0;
+  private static final int STRING = 1;
+  private static final int INTEGER = 2;
+  private static final int LONG = 3;
+  private static final int BOOLEAN = 4;
+  private static final int DOUBLE = 5;
+  private static final int BYTE_ARRAY = 6;
+  private static final int JAVA_SERIALIZED = 7;
+
+  /**
+   * The lowest id that can be assigned to a registered type. Lower ids are reserved for the built-in encodings.
+   */
+  public static final int MIN_REGISTERED_TYPE_ID = 16;
+
+  /**
+   * The highest id that can be assigned to a registered type.
+   */
+  public static final int MAX_REGISTERED_TYPE_ID = 255;
+
+  private final Map<Class<?>, RegisteredCodec> codecsByType = new ConcurrentHashMap<>();
+  private final RegisteredCodec[] codecsById = new RegisteredCodec[MAX_REGISTERED_TYPE_ID + 1];
+
+  /**
+   * Creates a new instance with codecs for the core types already registered.
+   */
+  public CompactSerializationProtocol() {
+    CoreCompactTypeCodecs.registerAll(this);
+  }
+
+  /**
+   * Registers the {@code codec} to use for instances of the given {@code type}. Only instances of that exact class are written
+   * with it, instances of its subclasses are not.
+   * <p>
+   * The {@code id} is what identifies the type in the serialized form, so it must not change once information has been persisted
+   * using it. Codecs are expected to be registered before this protocol is first used.
+   *
+   * @param id    the id of the type, between {@link #MIN_REGISTERED_TYPE_ID} and {@link #MAX_REGISTERED_TYPE_ID}
+   * @param type  the type to register
+   * @param codec the codec for instances of {@code type}
+   * @param <T>   the generic type of the registered type
+   * @throws IllegalArgumentException if the {@code id} is out of range or the {@code id} or {@code type} were already registered
+   */
+  public synchronized <T> void registerCodec(int id, Class<T> type, CompactTypeCodec<T> codec) {
+    checkArgument(id >= MIN_REGISTERED_TYPE_ID && id <= MAX_REGISTERED_TYPE_ID,
+                  format("Type id must be between %d and %d", MIN_REGISTERED_TYPE_ID, MAX_REGISTERED_TYPE_ID));
+    checkArgument(codecsById[id] == null, format("Type id %d is already registered", id));
+    checkArgument(!codecsByType.containsKey(type), format("Type %s is already registered", type.getName()));
+
+    final RegisteredCodec registered = new RegisteredCodec(id, codec);
+    codecsById[id] = registered;
+    codecsByType.put(type, registered);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    final CompactObjectOutput out = new CompactObjectOutput(bytes, this);
+    out.writeByte(HEADER_MAGIC);
+    out.writeByte(HEADER_VERSION);
+    out.writeValue(object);
+    out.flush();
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    final PushbackInputStream in = new PushbackInputStream(inputStream, HEADER_SIZE);
+    final byte[] header = new byte[HEADER_SIZE];
+    int read = 0;
+    while (read < HEADER_SIZE) {
+      final int count = in.read(header, read, HEADER_SIZE - read);
+      if (count < 0) {
+        throw new StreamCorruptedException("Stream is too short to contain a serialized object");
+      }
+      read += count;
+    }
+
+    if (header[0] != HEADER_MAGIC) {
+      // not written by this protocol, fallback to Java serialization
+      in.unread(header);
+      return (T) SerializationUtils.deserialize(in, classLoader, muleContext);
+    }
+
+    if (header[1] != HEADER_VERSION) {
+      throw new StreamCorruptedException("Unsupported compact serialization version " + header[1]);
+    }
+
+    return (T) new CompactObjectInput(in, classLoader, this).readValue();
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since SerializationUtils already does this on its own for the Java serialized objects, and the registered
+    // codecs rebuild fully initialized instances
+    return object;
+  }
+
+  void writeValue(Object value, CompactObjectOutput out) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+      return;
+    }
+
+    final Class<?> type = value.getClass();
+    if (type == String.class) {
+      out.writeByte(STRING);
+      out.writeString((String) value);
+    } else if (type == Integer.class) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (type == Long.class) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (type == Boolean.class) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (type == Double.class) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (type == byte[].class) {
+      writeBytes((byte[]) value, out);
+    } else if (!writeRegistered(type, value, out)) {
+      if (value instanceof CursorStreamProvider) {
+        try (CursorStream cursor = ((CursorStreamProvider) value).openCursor()) {
+          writeBytes(toByteArray(cursor), out);
+        }
+      } else {
+        writeJavaSerialized(value, out);
+      }
+    }
+  }
+
+  private boolean writeRegistered(Class<?> type, Object value, CompactObjectOutput out) throws IOException {
+    final RegisteredCodec registered = codecsByType.get(type);
+    if (registered == null || !registered.codec.canWrite(value)) {
+      return false;
+    }
+
+    out.writeByte(registered.id);
+    registered.codec.write(value, out);
+    return true;
+  }
+
+  private void writeBytes(byte[] bytes, CompactObjectOutput out) throws IOException {
+    out.writeByte(BYTE_ARRAY);
+    out.writeVarInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeJavaSerialized(Object value, CompactObjectOutput out) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(format("Was expecting a Serializable type. %s was found instead",
+                                              value.getClass().getName()));
+    }
+
+    final byte[] bytes = org.apache.commons.lang3.SerializationUtils.serialize((Serializable) value);
+    out.writeByte(JAVA_SERIALIZED);
+    out.writeVarInt(bytes.length);
+    out.write(bytes);
+  }
+
+  Object readValue(CompactObjectInput in) throws IOException {
+    final int tag = in.readUnsignedByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return in.readString();
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case BOOLEAN:
+        return in.readBoolean();
+      case DOUBLE:
+        return in.readDouble();
+      case BYTE_ARRAY:
+        return readBytes(in);
+      case JAVA_SERIALIZED:
+        return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes(in)), in.getClassLoader(), muleContext);
+      default:
+        final RegisteredCodec registered = codecsById[tag];
+        if (registered == null) {
+          throw new SerializationException(format("Unknown type id %d found in serialized stream", tag));
+        }
+        return registered.codec.read(in);
+    }
+  }
+
+  private byte[] readBytes(CompactObjectInput in) throws IOException {
+    final byte[] bytes = new byte[in.readVarInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static final class RegisteredCodec {
+
+    private final int id;
+    private final CompactTypeCodec codec;
+
+    private RegisteredCodec(int id, CompactTypeCodec codec) {
+      this.id = id;
+      this.codec = codec;
+    }
+  }
+}
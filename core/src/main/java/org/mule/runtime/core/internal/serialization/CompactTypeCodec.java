@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads instances of a given type in the binary format of the {@link CompactSerializationProtocol}.
+ * <p>
+ * Implementations must be stateless, since the same instance is used concurrently for all the serializations performed by the
+ * protocol it has been registered in.
+ *
+ * @param <T> the generic type of the encoded instances
+ * @since 4.6.0
+ */
+public interface CompactTypeCodec<T> {
+
+  /**
+   * Allows the codec to reject instances which it cannot fully represent. Those instances are then serialized using Java
+   * serialization.
+   *
+   * @param value the instance about to be serialized
+   * @return whether this codec is capable of writing the given {@code value}
+   */
+  default boolean canWrite(T value) {
+    return true;
+  }
+
+  /**
+   * Writes the state of the given {@code value}. Nested objects are to be written through
+   * {@link CompactObjectOutput#writeValue(Object)}.
+   *
+   * @param value the instance to write
+   * @param out   the output to write into
+   * @throws IOException if the output could not be written
+   */
+  void write(T value, CompactObjectOutput out) throws IOException;
+
+  /**
+   * Reads an instance previously written by {@link #write(Object, CompactObjectOutput)}.
+   *
+   * @param in the input to read from
+   * @return the restored instance
+   * @throws IOException if the input could not be read
+   */
+  T read(CompactObjectInput in) throws IOException;
+}
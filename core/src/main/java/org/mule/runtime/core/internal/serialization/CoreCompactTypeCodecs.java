@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.time.Instant.ofEpochSecond;
+import static java.util.OptionalLong.empty;
+import static java.util.OptionalLong.of;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.management.stats.ProcessingTime;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.DefaultMessageBuilder;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.metadata.DefaultCollectionDataType;
+import org.mule.runtime.core.internal.metadata.DefaultDataTypeBuilder;
+import org.mule.runtime.core.internal.metadata.DefaultMapDataType;
+import org.mule.runtime.core.internal.metadata.SimpleDataType;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * The {@link CompactTypeCodec codecs} for the core types, which every {@link CompactSerializationProtocol} has registered.
+ * <p>
+ * The ids assigned to these types are part of the serialized form and must never be changed nor reused.
+ *
+ * @since 4.6.0
+ */
+final class CoreCompactTypeCodecs {
+
+  private static final int SIMPLE_DATA_TYPE_ID = 16;
+  private static final int COLLECTION_DATA_TYPE_ID = 17;
+  private static final int MAP_DATA_TYPE_ID = 18;
+  private static final int TYPED_VALUE_ID = 19;
+  private static final int CASE_INSENSITIVE_MAP_ID = 20;
+  private static final int IMMUTABLE_CASE_INSENSITIVE_MAP_ID = 21;
+  private static final int MESSAGE_ID = 22;
+  private static final int EVENT_CONTEXT_ID = 23;
+  private static final int PERSISTENT_CASE_INSENSITIVE_MAP_ID = 24;
+
+  private CoreCompactTypeCodecs() {}
+
+  static void registerAll(CompactSerializationProtocol protocol) {
+    protocol.registerCodec(SIMPLE_DATA_TYPE_ID, SimpleDataType.class, new SimpleDataTypeCodec());
+    protocol.registerCodec(COLLECTION_DATA_TYPE_ID, DefaultCollectionDataType.class, new CollectionDataTypeCodec());
+    protocol.registerCodec(MAP_DATA_TYPE_ID, DefaultMapDataType.class, new MapDataTypeCodec());
+    protocol.registerCodec(TYPED_VALUE_ID, TypedValue.class, new TypedValueCodec());
+    protocol.registerCodec(CASE_INSENSITIVE_MAP_ID, CaseInsensitiveHashMap.class, new CaseInsensitiveMapCodec(false));
+    protocol.registerCodec(IMMUTABLE_CASE_INSENSITIVE_MAP_ID,
+                           (Class<CaseInsensitiveHashMap>) CaseInsensitiveHashMap.emptyCaseInsensitiveMap().getClass(),
+                           new CaseInsensitiveMapCodec(true));
+    protocol.registerCodec(MESSAGE_ID, (Class<InternalMessage>) DefaultMessageBuilder.getMessageImplementationClass(),
+                           new MessageCodec());
+    protocol.registerCodec(EVENT_CONTEXT_ID, DefaultEventContext.class, new EventContextCodec());
+    protocol.registerCodec(PERSISTENT_CASE_INSENSITIVE_MAP_ID, PersistentCaseInsensitiveMap.class,
+                           new PersistentCaseInsensitiveMapCodec());
+  }
+
+  private static boolean isSimple(DataType dataType) {
+    return dataType.getClass() == SimpleDataType.class;
+  }
+
+  private static void writeSimpleDataType(DataType dataType, CompactObjectOutput out) throws IOException {
+    out.writeSymbol(dataType.getType().getName());
+    out.writeSymbol(dataType.getMediaType().toRfcString());
+  }
+
+  private static MediaType readMediaType(CompactObjectInput in) throws IOException {
+    return MediaType.parse(in.readSymbol());
+  }
+
+  private static final class SimpleDataTypeCodec implements CompactTypeCodec<SimpleDataType> {
+
+    @Override
+    public void write(SimpleDataType value, CompactObjectOutput out) throws IOException {
+      writeSimpleDataType(value, out);
+    }
+
+    @Override
+    public SimpleDataType read(CompactObjectInput in) throws IOException {
+      final DefaultDataTypeBuilder builder = new DefaultDataTypeBuilder();
+      builder.type(in.loadClass(in.readSymbol()));
+      builder.mediaType(readMediaType(in));
+      return (SimpleDataType) builder.build();
+    }
+  }
+
+  /**
+   * Only collections of {@link SimpleDataType simple} items are supported, nested collections and maps fallback to Java
+   * serialization.
+   */
+  private static final class CollectionDataTypeCodec implements CompactTypeCodec<DefaultCollectionDataType> {
+
+    @Override
+    public boolean canWrite(DefaultCollectionDataType value) {
+      return isSimple(value.getItemDataType());
+    }
+
+    @Override
+    public void write(DefaultCollectionDataType value, CompactObjectOutput out) throws IOException {
+      writeSimpleDataType(value, out);
+      writeSimpleDataType(value.getItemDataType(), out);
+    }
+
+    @Override
+    public DefaultCollectionDataType read(CompactObjectInput in) throws IOException {
+      final Class<?> type = in.loadClass(in.readSymbol());
+      final MediaType mediaType = readMediaType(in);
+
+      final DefaultDataTypeBuilder builder = new DefaultDataTypeBuilder();
+      if (Iterator.class.isAssignableFrom(type)) {
+        builder.streamType((Class<? extends Iterator>) type);
+      } else {
+        builder.collectionType((Class<? extends Collection>) type);
+      }
+      builder.itemType(in.loadClass(in.readSymbol()));
+      builder.itemMediaType(readMediaType(in));
+      builder.mediaType(mediaType);
+      return (DefaultCollectionDataType) builder.build();
+    }
+  }
+
+  /**
+   * Only maps of {@link SimpleDataType simple} keys and values are supported, nested collections and maps fallback to Java
+   * serialization.
+   */
+  private static final class MapDataTypeCodec implements CompactTypeCodec<DefaultMapDataType> {
+
+    @Override
+    public boolean canWrite(DefaultMapDataType value) {
+      return isSimple(value.getKeyDataType()) && isSimple(value.getValueDataType());
+    }
+
+    @Override
+    public void write(DefaultMapDataType value, CompactObjectOutput out) throws IOException {
+      writeSimpleDataType(value, out);
+      writeSimpleDataType(value.getKeyDataType(), out);
+      writeSimpleDataType(value.getValueDataType(), out);
+    }
+
+    @Override
+    public DefaultMapDataType read(CompactObjectInput in) throws IOException {
+      final Class<?> type = in.loadClass(in.readSymbol());
+      final MediaType mediaType = readMediaType(in);
+
+      final DefaultDataTypeBuilder builder = new DefaultDataTypeBuilder();
+      builder.mapType((Class<? extends Map>) type);
+      builder.keyType(in.loadClass(in.readSymbol()));
+      builder.keyMediaType(readMediaType(in));
+      builder.valueType(in.loadClass(in.readSymbol()));
+      builder.valueMediaType(readMediaType(in));
+      builder.mediaType(mediaType);
+      return (DefaultMapDataType) builder.build();
+    }
+  }
+
+  private static final class TypedValueCodec implements CompactTypeCodec<TypedValue> {
+
+    @Override
+    public void write(TypedValue value, CompactObjectOutput out) throws IOException {
+      out.writeValue(value.getValue());
+      out.writeValue(value.getDataType());
+      final OptionalLong length = value.getByteLength();
+      out.writeBoolean(length.isPresent());
+      if (length.isPresent()) {
+        out.writeLong(length.getAsLong());
+      }
+    }
+
+    @Override
+    public TypedValue read(CompactObjectInput in) throws IOException {
+      final Object value = in.readValue();
+      final DataType dataType = (DataType) in.readValue();
+      return new TypedValue<>(value, dataType, in.readBoolean() ? of(in.readLong()) : empty());
+    }
+  }
+
+  private static final class CaseInsensitiveMapCodec implements CompactTypeCodec<CaseInsensitiveHashMap> {
+
+    private final boolean immutable;
+
+    private CaseInsensitiveMapCodec(boolean immutable) {
+      this.immutable = immutable;
+    }
+
+    @Override
+    public void write(CaseInsensitiveHashMap value, CompactObjectOutput out) throws IOException {
+      final Set<Entry<Object, Object>> entries = value.entrySet();
+      out.writeVarInt(entries.size());
+      for (Entry<Object, Object> entry : entries) {
+        out.writeValue(entry.getKey());
+        out.writeValue(entry.getValue());
+      }
+    }
+
+    @Override
+    public CaseInsensitiveHashMap read(CompactObjectInput in) throws IOException {
+      final int size = in.readVarInt();
+      final CaseInsensitiveHashMap<Object, Object> map = new CaseInsensitiveHashMap<>();
+      for (int i = 0; i < size; i++) {
+        map.put(in.readValue(), in.readValue());
+      }
+
+      return immutable ? map.toImmutableCaseInsensitiveMap() : map;
+    }
+  }
+
+  private static final class PersistentCaseInsensitiveMapCodec implements CompactTypeCodec<PersistentCaseInsensitiveMap> {
+
+    @Override
+    public void write(PersistentCaseInsensitiveMap value, CompactObjectOutput out) throws IOException {
+      final Set<Entry<String, Object>> entries = value.entrySet();
+      out.writeVarInt(entries.size());
+      for (Entry<String, Object> entry : entries) {
+        out.writeValue(entry.getKey());
+        out.writeValue(entry.getValue());
+      }
+    }
+
+    @Override
+    public PersistentCaseInsensitiveMap read(CompactObjectInput in) throws IOException {
+      final int size = in.readVarInt();
+      PersistentCaseInsensitiveMap<Object> map = PersistentCaseInsensitiveMap.empty();
+      for (int i = 0; i < size; i++) {
+        map = map.plus((String) in.readValue(), in.readValue());
+      }
+
+      return map;
+    }
+  }
+
+  /**
+   * Messages with attachments or a non {@link Serializable} payload require the transformation logic of their Java serialization,
+   * so those are not supported.
+   */
+  private static final class MessageCodec implements CompactTypeCodec<InternalMessage> {
+
+    @Override
+    public boolean canWrite(InternalMessage value) {
+      final Object payload = value.getPayload().getValue();
+      return (payload == null || payload instanceof Serializable)
+          && value.getInboundAttachmentNames().isEmpty()
+          && value.getOutboundAttachmentNames().isEmpty();
+    }
+
+    @Override
+    public void write(InternalMessage value, CompactObjectOutput out) throws IOException {
+      out.writeValue(value.getPayload());
+      out.writeValue(value.getAttributes());
+
+      final Set<String> inboundPropertyNames = value.getInboundPropertyNames();
+      out.writeVarInt(inboundPropertyNames.size());
+      for (String name : inboundPropertyNames) {
+        out.writeString(name);
+        out.writeValue(value.getInboundProperty(name));
+        out.writeValue(value.getInboundPropertyDataType(name));
+      }
+
+      final Set<String> outboundPropertyNames = value.getOutboundPropertyNames();
+      out.writeVarInt(outboundPropertyNames.size());
+      for (String name : outboundPropertyNames) {
+        out.writeString(name);
+        out.writeValue(value.getOutboundProperty(name));
+        out.writeValue(value.getOutboundPropertyDataType(name));
+      }
+    }
+
+    @Override
+    public InternalMessage read(CompactObjectInput in) throws IOException {
+      final DefaultMessageBuilder builder = new DefaultMessageBuilder();
+      builder.payload((TypedValue<?>) in.readValue());
+      builder.attributes((TypedValue<?>) in.readValue());
+
+      final int inboundPropertiesCount = in.readVarInt();
+      for (int i = 0; i < inboundPropertiesCount; i++) {
+        builder.addInboundProperty(in.readString(), (Serializable) in.readValue(), (DataType) in.readValue());
+      }
+
+      final int outboundPropertiesCount = in.readVarInt();
+      for (int i = 0; i < outboundPropertiesCount; i++) {
+        builder.addOutboundProperty(in.readString(), (Serializable) in.readValue(), (DataType) in.readValue());
+      }
+
+      return builder.build();
+    }
+  }
+
+  private static final class EventContextCodec implements CompactTypeCodec<DefaultEventContext> {
+
+    @Override
+    public void write(DefaultEventContext value, CompactObjectOutput out) throws IOException {
+      out.writeString(value.getId());
+      out.writeSymbol(value.getServerId());
+      out.writeString(value.isCorrelationIdFromSource() ? value.getCorrelationId() : null);
+      final Instant receivedTime = value.getReceivedTime();
+      out.writeLong(receivedTime.getEpochSecond());
+      out.writeInt(receivedTime.getNano());
+      out.writeValue(value.getOriginatingLocation());
+      out.writeValue(value.getProcessingTime().orElse(null));
+      out.writeValue(value.getFlowCallStack());
+    }
+
+    @Override
+    public DefaultEventContext read(CompactObjectInput in) throws IOException {
+      final String id = in.readString();
+      final String serverId = in.readSymbol();
+      final String correlationId = in.readString();
+      final Instant receivedTime = ofEpochSecond(in.readLong(), in.readInt());
+      final ComponentLocation location = (ComponentLocation) in.readValue();
+      final ProcessingTime processingTime = (ProcessingTime) in.readValue();
+      final FlowCallStack flowCallStack = (FlowCallStack) in.readValue();
+
+      return new DefaultEventContext(id, serverId, location, correlationId, receivedTime, processingTime, flowCallStack);
+    }
+  }
+}
@@ -7,6 +7,9 @@
 
 package org.mule.runtime.core.internal.serialization;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.serialization.ObjectSerializer;
 import org.mule.runtime.api.serialization.SerializationProtocol;
 import org.mule.runtime.core.api.MuleContext;
@@ -14,14 +17,31 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 
 /**
  * Serializes objects using the default Java serialization mechanism provided by writeObject and readObject methods.
+ * <p>
+ * If the {@link #COMPACT_INTERNAL_PROTOCOL_PROPERTY} system property is set, a {@link CompactSerializationProtocol} is used as
+ * the internal protocol instead.
  */
 public class JavaObjectSerializer implements ObjectSerializer, MuleContextAware {
 
+  /**
+   * System property to use a {@link CompactSerializationProtocol} as the internal protocol.
+   *
+   * @since 4.6.0
+   */
+  public static final String COMPACT_INTERNAL_PROTOCOL_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "serialization.compactInternalProtocol";
+
   private volatile JavaExternalSerializerProtocol javaSerializerProtocol = new JavaExternalSerializerProtocol();
+  private final AbstractSerializationProtocol internalProtocol;
+
+  public JavaObjectSerializer() {
+    internalProtocol =
+        getBoolean(COMPACT_INTERNAL_PROTOCOL_PROPERTY) ? new CompactSerializationProtocol() : javaSerializerProtocol;
+  }
 
   @Override
   public SerializationProtocol getInternalProtocol() {
-    return javaSerializerProtocol;
+    return internalProtocol;
   }
 
   @Override
@@ -32,5 +52,8 @@ public class JavaObjectSerializer implements ObjectSerializer, MuleContextAware
   @Override
   public void setMuleContext(MuleContext context) {
     javaSerializerProtocol.setMuleContext(context);
+    if (internalProtocol != javaSerializerProtocol) {
+      internalProtocol.setMuleContext(context);
+    }
   }
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.component.InternalComponent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+
+/**
+ * An in memory {@link PartitionableExpirableObjectStore} with the same behaviour as {@link PartitionedInMemoryObjectStore}, but
+ * which keeps the entries of each partition in a linked list ordered by insertion time and indexed by key.
+ * <p>
+ * That way, removing an entry doesn't require walking the expiry information of the whole partition, and store, remove and expire
+ * operations are all constant time per affected entry.
+ * <p>
+ * Lookups are lock free. Modifications of a given partition are serialized, so that the index and the list are always consistent.
+ *
+ * @since 4.6.0
+ */
+public class IndexedPartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
+    implements PartitionableExpirableObjectStore<T>, InternalComponent {
+
+  private static final Logger LOGGER = getLogger(IndexedPartitionedInMemoryObjectStore.class);
+
+  private final ConcurrentMap<String, Partition<T>> partitions = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
+    Partition<T> partition = partitions.get(partitionName);
+    return partition != null && partition.index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    Partition<T> partition = getPartition(partitionName);
+    synchronized (partition) {
+      Node<T> node = new Node<>(key, value, getCurrentNanoTime());
+      if (partition.index.putIfAbsent(key, node) != null) {
+        throw new ObjectAlreadyExistsException();
+      }
+      partition.append(node);
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
+    Node<T> node = getPartition(partitionName).index.get(key);
+    if (node == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return node.value;
+  }
+
+  @Override
+  protected T doRemove(String key, String partitionName) throws ObjectStoreException {
+    Partition<T> partition = getPartition(partitionName);
+    synchronized (partition) {
+      Node<T> node = partition.index.remove(key);
+      if (node == null) {
+        throw new ObjectDoesNotExistException();
+      }
+      partition.unlink(node);
+      return node.value;
+    }
+  }
+
+  @Override
+  public List<String> allKeys(String partitionName) throws ObjectStoreException {
+    return new ArrayList<>(getPartition(partitionName).index.keySet());
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
+    Partition<T> partition = getPartition(partitionName);
+    synchronized (partition) {
+      Map<String, T> values = new LinkedHashMap<>();
+      for (Node<T> node = partition.head; node != null; node = node.next) {
+        values.put(node.key, node.value);
+      }
+      return values;
+    }
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    Partition<T> partition = getPartition(partitionName);
+    synchronized (partition) {
+      partition.clear();
+    }
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitions.keySet());
+  }
+
+  private Partition<T> getPartition(String partitionName) {
+    Partition<T> partition = partitions.get(partitionName);
+    if (partition == null) {
+      partition = new Partition<>();
+      Partition<T> previous = partitions.putIfAbsent(partitionName, partition);
+      if (previous != null) {
+        partition = previous;
+      }
+    }
+    return partition;
+  }
+
+  @Override
+  public void open(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {
+    disposePartition(partitionName);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    final long now = getCurrentNanoTime();
+    Partition<T> partition = getPartition(partitionName);
+
+    synchronized (partition) {
+      trimToMaxSize(partition, maxEntries);
+
+      if (entryTTL == UNBOUNDED) {
+        return;
+      }
+
+      int expiredEntries = 0;
+      Node<T> oldest;
+      while ((oldest = partition.head) != null && NANOSECONDS.toMillis(now - oldest.time) >= entryTTL) {
+        partition.removeHead();
+        expiredEntries++;
+      }
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Expired " + expiredEntries + " old entries");
+      }
+    }
+  }
+
+  private void trimToMaxSize(Partition<T> partition, int maxEntries) {
+    if (maxEntries <= UNBOUNDED) {
+      return;
+    }
+
+    int excess = partition.size - maxEntries;
+    if (excess > 0) {
+      while (partition.size > maxEntries) {
+        partition.removeHead();
+      }
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Expired " + excess + " excess entries");
+      }
+    }
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    Partition<T> partition = partitions.remove(partitionName);
+    if (partition != null) {
+      synchronized (partition) {
+        partition.clear();
+      }
+    }
+  }
+
+  protected long getCurrentNanoTime() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public boolean shouldAlwaysExpire() {
+    return true;
+  }
+
+  /**
+   * The entries of a partition, indexed by key and linked in insertion order. The list is guarded by the partition's monitor.
+   */
+  private static class Partition<T> {
+
+    private final ConcurrentMap<String, Node<T>> index = new ConcurrentHashMap<>();
+    private Node<T> head;
+    private Node<T> tail;
+    private int size = 0;
+
+    private void append(Node<T> node) {
+      node.previous = tail;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      size++;
+    }
+
+    private void unlink(Node<T> node) {
+      if (node.previous == null) {
+        head = node.next;
+      } else {
+        node.previous.next = node.next;
+      }
+
+      if (node.next == null) {
+        tail = node.previous;
+      } else {
+        node.next.previous = node.previous;
+      }
+
+      node.previous = null;
+      node.next = null;
+      size--;
+    }
+
+    private void removeHead() {
+      Node<T> node = head;
+      unlink(node);
+      index.remove(node.key, node);
+    }
+
+    private void clear() {
+      index.clear();
+      head = null;
+      tail = null;
+      size = 0;
+    }
+  }
+
+  private static class Node<T> {
+
+    private final String key;
+    private final T value;
+    private final long time;
+    private Node<T> previous;
+    private Node<T> next;
+
+    private Node(String key, T value, long time) {
+      this.key = key;
+      this.value = value;
+      this.time = time;
+    }
+  }
+}
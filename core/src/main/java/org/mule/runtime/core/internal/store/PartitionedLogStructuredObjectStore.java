@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link PartitionedPersistentObjectStore} which keeps each partition in a {@link LogStructuredObjectStorePartition}.
+ * <p>
+ * Partitions previously written by a {@link PartitionedPersistentObjectStore} in the same directory are migrated to the log
+ * format when they're first accessed. Disposing this store closes the files of its partitions, keeping their entries.
+ *
+ * @param <T> the serializable entity to be persisted by OS
+ *
+ * @since 4.6.0
+ */
+public class PartitionedLogStructuredObjectStore<T extends Serializable> extends PartitionedPersistentObjectStore<T>
+    implements Disposable {
+
+  private final List<LogStructuredObjectStorePartition<T>> partitions = new CopyOnWriteArrayList<>();
+
+  public PartitionedLogStructuredObjectStore() {
+    super();
+  }
+
+  public PartitionedLogStructuredObjectStore(MuleContext context) {
+    super(context);
+  }
+
+  @Override
+  protected PersistentObjectStorePartition<T> createPartition(String partitionName, File partitionDirectory) {
+    LogStructuredObjectStorePartition<T> partition =
+        new LogStructuredObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+    partitions.add(partition);
+    return partition;
+  }
+
+  @Override
+  protected PersistentObjectStorePartition<T> restorePartition(File partitionDirectory) throws ObjectStoreException {
+    LogStructuredObjectStorePartition<T> partition = new LogStructuredObjectStorePartition<>(muleContext, partitionDirectory);
+    partitions.add(partition);
+    return partition;
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    PersistentObjectStorePartition<T> partition = getPartitionObjectStore(partitionName);
+    super.disposePartition(partitionName);
+    partitions.remove(partition);
+  }
+
+  @Override
+  public void dispose() {
+    partitions.forEach(LogStructuredObjectStorePartition::dispose);
+  }
+}
@@ -85,11 +85,33 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   private void createPartition(String partitionName) throws ObjectStoreException {
     PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+        createPartition(partitionName, getNewPartitionDirectory(partitionName));
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
 
+  /**
+   * Creates a new partition which will store its entries in the given {@code partitionDirectory}
+   *
+   * @param partitionName      the name of the new partition
+   * @param partitionDirectory the directory for the new partition
+   * @return a new, not yet opened, partition
+   */
+  protected PersistentObjectStorePartition<T> createPartition(String partitionName, File partitionDirectory) {
+    return new PersistentObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+  }
+
+  /**
+   * Creates a partition for the data previously stored in the given {@code partitionDirectory}
+   *
+   * @param partitionDirectory the directory of an existing partition
+   * @return a new, not yet opened, partition
+   * @throws ObjectStoreException if the partition cannot be restored
+   */
+  protected PersistentObjectStorePartition<T> restorePartition(File partitionDirectory) throws ObjectStoreException {
+    return new PersistentObjectStorePartition<>(muleContext, partitionDirectory);
+  }
+
   private File getNewPartitionDirectory(String partitionName) {
     return new File(storeDirectory, getPartitionDirectoryName(partitionName));
   }
@@ -193,8 +215,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentObjectStorePartition persistentObjectStorePartition = restorePartition(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
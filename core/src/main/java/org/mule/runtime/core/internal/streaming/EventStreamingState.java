@@ -12,16 +12,20 @@ import static org.mule.runtime.core.internal.streaming.CursorManager.STREAMING_V
 import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
 
 import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.slf4j.Logger;
 
 /**
  * Tracks the active streaming resources owned by a particular event.
+ * <p>
+ * Since most events own no more than a handful of providers, these are kept in small arrays that are only upgraded to a
+ * {@link Map} if the event ends up owning many of them. Providers tracked by the {@link StreamingGhostBuster} are referenced
+ * through the {@link WeakReference} it returns, while the rest are referenced directly until the event completes.
  *
  * @since 4.3.0
  */
@@ -29,7 +33,13 @@ public class EventStreamingState {
 
   private final static Logger LOGGER = getLogger(EventStreamingState.class);
 
-  private final Cache<Integer, WeakReference<ManagedCursorProvider>> providers = Caffeine.newBuilder().build();
+  private static final int INLINE_CAPACITY = 4;
+
+  // Each entry is either a WeakReference<ManagedCursorProvider> or a ManagedCursorProvider
+  private int[] ids;
+  private Object[] entries;
+  private int size;
+  private Map<Integer, Object> entriesById;
 
   /**
    * Registers the given {@code provider} as one associated to the owning event.
@@ -40,51 +50,102 @@ public class EventStreamingState {
    * @param ghostBuster the {@link StreamingGhostBuster} used to do early reclamation of the {@code provider}
    * @return the {@link ManagedCursorProvider} that must continue to be used
    */
-  public ManagedCursorProvider addProvider(ManagedCursorProvider provider, StreamingGhostBuster ghostBuster) {
+  public synchronized ManagedCursorProvider addProvider(ManagedCursorProvider provider, StreamingGhostBuster ghostBuster) {
     final int id = provider.getId();
-    ManagedCursorProvider managedProvider = getOrAddManagedProvider(id, provider, ghostBuster);
+    ManagedCursorProvider managedProvider = dereference(get(id));
 
-    // This can happen when a foreach component splits a text document using a stream.
+    // A null value can happen when a foreach component splits a text document using a stream.
     // Iteration N might try to manage the same root provider that was already managed in iteration N-1, but the
     // managed decorator from that previous iteration has been collected, which causes the weak reference to yield
     // a null value. In which case we simply track it again.
     if (managedProvider == null) {
-      synchronized (unwrap(provider)) {
-        managedProvider = getOrAddManagedProvider(id, provider, ghostBuster);
-        if (managedProvider == null) {
-          providers.invalidate(id);
-          managedProvider = getOrAddManagedProvider(id, provider, ghostBuster);
-        }
+      if (STREAMING_VERBOSE) {
+        CursorProvider innerDelegate = unwrap(provider);
+        Optional<ComponentLocation> originatingLocation = provider.getOriginatingLocation();
+        LOGGER.info("Added ManagedCursorProvider: {} for delegate: {} opened by: {}", id, identityHashCode(innerDelegate),
+                    originatingLocation.map(ComponentLocation::getLocation).orElse("unknown"));
       }
+      put(id, ghostBuster.shouldTrack() ? ghostBuster.track(provider) : provider);
+      managedProvider = provider;
     }
 
     return managedProvider;
   }
 
-  private ManagedCursorProvider getOrAddManagedProvider(int id,
-                                                        ManagedCursorProvider provider,
-                                                        StreamingGhostBuster ghostBuster) {
-    return providers.get(id, k -> {
-      if (STREAMING_VERBOSE) {
-        CursorProvider innerDelegate = unwrap(provider);
-        Optional<ComponentLocation> originatingLocation = provider.getOriginatingLocation();
-        LOGGER.info("Added ManagedCursorProvider: {} for delegate: {} opened by: {}", k, identityHashCode(innerDelegate),
-                    originatingLocation.map(ComponentLocation::getLocation).orElse("unknown"));
+  private Object get(int id) {
+    if (entriesById != null) {
+      return entriesById.get(id);
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (ids[i] == id) {
+        return entries[i];
       }
-      return ghostBuster.track(provider);
-    }).get();
+    }
+    return null;
+  }
+
+  private void put(int id, Object entry) {
+    if (entriesById != null) {
+      entriesById.put(id, entry);
+      return;
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (ids[i] == id) {
+        entries[i] = entry;
+        return;
+      }
+    }
+
+    if (ids == null) {
+      ids = new int[INLINE_CAPACITY];
+      entries = new Object[INLINE_CAPACITY];
+    }
+
+    if (size < INLINE_CAPACITY) {
+      ids[size] = id;
+      entries[size] = entry;
+      size++;
+    } else {
+      entriesById = new HashMap<>(INLINE_CAPACITY * 4);
+      for (int i = 0; i < size; i++) {
+        entriesById.put(ids[i], entries[i]);
+      }
+      entriesById.put(id, entry);
+      ids = null;
+      entries = null;
+      size = 0;
+    }
+  }
+
+  private static ManagedCursorProvider dereference(Object entry) {
+    if (entry instanceof WeakReference) {
+      return ((WeakReference<ManagedCursorProvider>) entry).get();
+    }
+    return (ManagedCursorProvider) entry;
   }
 
   /**
    * The owning event MUST invoke this method when the event is completed
    */
-  public void dispose() {
-    providers.asMap().forEach((hash, weakReference) -> {
-      ManagedCursorProvider provider = weakReference.get();
-      if (provider != null) {
-        weakReference.clear();
-        provider.releaseResources();
+  public synchronized void dispose() {
+    if (entriesById != null) {
+      entriesById.values().forEach(EventStreamingState::release);
+    } else {
+      for (int i = 0; i < size; i++) {
+        release(entries[i]);
       }
-    });
+    }
+  }
+
+  private static void release(Object entry) {
+    ManagedCursorProvider provider = dereference(entry);
+    if (provider != null) {
+      if (entry instanceof WeakReference) {
+        ((WeakReference<?>) entry).clear();
+      }
+      provider.releaseResources();
+    }
   }
 }
@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.System.identityHashCode;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.internal.streaming.CursorManager.STREAMING_VERBOSE;
 import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
 
@@ -27,6 +29,7 @@ import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javax.inject.Inject;
 
@@ -45,14 +48,29 @@ import org.slf4j.Logger;
  * Notice that this <b>DOES NOT</b> replace the cleanup and tracking job that is performed in {@link CursorManager}. That still
  * remains the main cleanup mechanism as we cannot rely on garbage collection for releasing streaming resources. This is only a
  * mitigation for cases like described above.
+ * <p>
+ * Since having the garbage collector enqueue every tracked instance has a cost, the
+ * {@link #MULE_STREAMING_GHOST_BUSTER_SAMPLE_RATE} system property allows to only track some of them. The ones not tracked are
+ * released when their owning event completes.
  *
  * @since 4.2.0
  */
 public class StreamingGhostBuster implements Lifecycle {
 
+  /**
+   * System property key for how many {@link ManagedCursorProvider}s are created for each one that is tracked. {@code 1}, the
+   * default, tracks all of them, while {@code 0} disables tracking.
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_STREAMING_GHOST_BUSTER_SAMPLE_RATE =
+      SYSTEM_PROPERTY_PREFIX + "streaming.ghostBuster.sampleRate";
+
   private static final long POLL_INTERVAL = SECONDS.toMillis(5);
   private static final Logger LOGGER = getLogger(StreamingGhostBuster.class);
 
+  private final int sampleRate;
+
   private final ReferenceQueue<ManagedCursorProvider> referenceQueue = new ReferenceQueue<>();
   private volatile boolean stopped = false;
   private Future taskHandle;
@@ -62,6 +80,14 @@ public class StreamingGhostBuster implements Lifecycle {
 
   private Scheduler scheduler;
 
+  public StreamingGhostBuster() {
+    this(getInteger(MULE_STREAMING_GHOST_BUSTER_SAMPLE_RATE, 1));
+  }
+
+  StreamingGhostBuster(int sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     scheduler = schedulerService.customScheduler(SchedulerConfig.config()
@@ -91,6 +117,23 @@ public class StreamingGhostBuster implements Lifecycle {
     scheduler.stop();
   }
 
+  /**
+   * Whether the next {@link ManagedCursorProvider} should be {@link #track(ManagedCursorProvider) tracked}, according to the
+   * {@link #MULE_STREAMING_GHOST_BUSTER_SAMPLE_RATE}.
+   *
+   * @return {@code true} if the next provider should be tracked
+   * @since 4.6.0
+   */
+  public boolean shouldTrack() {
+    if (sampleRate == 1) {
+      return true;
+    } else if (sampleRate < 1) {
+      return false;
+    } else {
+      return ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+  }
+
   /**
    * Tracks the given {@code cursorProvider}
    *
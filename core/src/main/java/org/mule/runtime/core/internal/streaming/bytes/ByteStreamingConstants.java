@@ -6,12 +6,15 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.getInteger;
 import static java.lang.System.getProperty;
 import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.api.util.DataUnit.MB;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_BUCKET_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_BUFFER_POOL_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_HEAP_PERCENTAGE;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 
 /**
  * Constants around byte streaming
@@ -39,6 +42,35 @@ public final class ByteStreamingConstants {
    */
   public static final int DEFAULT_BUFFER_POOL_SIZE = getInteger(MULE_STREAMING_MAX_BUFFER_POOL_SIZE, 2048);
 
+  /**
+   * System property key for the size of each memory-mapped segment file used by file store buffers
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_STREAMING_FILE_STORE_SEGMENT_SIZE = SYSTEM_PROPERTY_PREFIX + "streaming.fileStore.segmentSize";
+
+  /**
+   * The size of each memory-mapped segment file on which file store buffers spill the data that doesn't fit in memory
+   *
+   * @since 4.6.0
+   */
+  public static final int DEFAULT_FILE_STORE_SEGMENT_SIZE = getInteger(MULE_STREAMING_FILE_STORE_SEGMENT_SIZE, MB.toBytes(32));
+
+  /**
+   * System property key to make in memory repeatable streams use a {@link SegmentedInMemoryStreamBuffer} instead of an
+   * {@link InMemoryStreamBuffer}
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_STREAMING_SEGMENTED_IN_MEMORY_BUFFER = SYSTEM_PROPERTY_PREFIX + "streaming.inMemory.segmented";
+
+  /**
+   * Whether in memory repeatable streams should grow by appending chunks instead of copying their content into a bigger buffer
+   *
+   * @since 4.6.0
+   */
+  public static final boolean SEGMENTED_IN_MEMORY_BUFFER = getBoolean(MULE_STREAMING_SEGMENTED_IN_MEMORY_BUFFER);
+
   private static double getMaxStreamingMemoryPercentage() {
     String v = getProperty(MULE_STREAMING_MAX_HEAP_PERCENTAGE);
     return v != null ? Double.valueOf(v) : 0.7;
@@ -7,6 +7,8 @@
 package org.mule.runtime.core.internal.streaming.bytes;
 
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
@@ -53,6 +55,14 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
     return new InMemoryCursorStreamProviderFactory(bufferManager, InMemoryCursorStreamConfig.getDefault(), streamingManager);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CursorStreamProviderFactory getFileStoreCursorStreamProviderFactory(FileStoreCursorStreamConfig config) {
+    return new FileStoreCursorStreamProviderFactory(bufferManager, config, streamingManager);
+  }
+
   protected ByteBufferManager getBufferManager() {
     return bufferManager;
   }
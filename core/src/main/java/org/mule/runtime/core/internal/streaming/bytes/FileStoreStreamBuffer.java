@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_FILE_STORE_SEGMENT_SIZE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds up to
+ * {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes in memory and spills the rest of the stream into temporal files.
+ * <p>
+ * The in memory window is made of {@link FileStoreCursorStreamConfig#getBucketsCount()} buckets of
+ * {@link FileStoreCursorStreamConfig#getBucketSize()} bytes each, which are only allocated as the stream is consumed. Once those
+ * are exhausted, the data is written into fixed size segment files, so that the heap held by this buffer remains constant no
+ * matter how big the stream is.
+ * <p>
+ * Since buckets are never moved or resized, the {@link ByteBuffer buffers} returned for the in memory window are views on the
+ * buffered data. Data in the segment files is read into a new buffer instead, so the files can be deleted when this buffer is
+ * closed no matter what the cursors still hold.
+ *
+ * @since 4.6.0
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  private final int bucketSize;
+  private final long maxInMemorySize;
+  private final int segmentSize;
+
+  private final List<ManagedByteBufferWrapper> buckets = new ArrayList<>();
+  private final List<Segment> segments = new ArrayList<>();
+  private ManagedByteBufferWrapper spillBuffer;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buckets
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    this(stream, config, bufferManager, DEFAULT_FILE_STORE_SEGMENT_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buckets
+   * @param segmentSize   the size of each of the segment files
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager,
+                               int segmentSize) {
+    super(stream, bufferManager);
+    bucketSize = config.getBucketSize();
+    maxInMemorySize = (long) bucketSize * config.getBucketsCount();
+    this.segmentSize = segmentSize;
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+    } finally {
+      readLock.unlock();
+    }
+
+    writeLock.lock();
+    try {
+      ByteBuffer refetch = getFromCurrentData(position, length);
+      if (refetch != null) {
+        return refetch;
+      }
+
+      while (!streamFullyConsumed && bufferTip <= position) {
+        consumeForwardData();
+      }
+
+      return getFromCurrentData(position, length);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    length = min(length, toIntExact(min(Integer.MAX_VALUE, bufferTip - position)));
+    return copy(position, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (bufferTip < maxInMemorySize) {
+      return consumeIntoBucket();
+    } else {
+      return consumeIntoSegment();
+    }
+  }
+
+  private int consumeIntoBucket() throws IOException {
+    final int bucketIndex = toIntExact(bufferTip / bucketSize);
+    if (bucketIndex == buckets.size()) {
+      buckets.add(bufferManager.allocateManaged(bucketSize));
+    }
+
+    final int read = consumeStream(buckets.get(bucketIndex).getDelegate());
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private int consumeIntoSegment() throws IOException {
+    final long segmentOffset = bufferTip - maxInMemorySize;
+    final int segmentIndex = toIntExact(segmentOffset / segmentSize);
+    if (segmentIndex == segments.size()) {
+      segments.add(new Segment(segmentIndex));
+    }
+
+    if (spillBuffer == null) {
+      spillBuffer = bufferManager.allocateManaged(bucketSize);
+    }
+
+    final int offset = toIntExact(segmentOffset % segmentSize);
+    final ByteBuffer readBuffer = spillBuffer.getDelegate();
+    readBuffer.clear();
+    readBuffer.limit(min(readBuffer.capacity(), segmentSize - offset));
+
+    final int read = consumeStream(readBuffer);
+    if (read > 0) {
+      readBuffer.flip();
+      segments.get(segmentIndex).write(readBuffer, offset);
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned buffer never spans more than one bucket or segment, so it may contain less information than requested.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    if (position >= maxInMemorySize) {
+      final long segmentOffset = position - maxInMemorySize;
+      final int offset = toIntExact(segmentOffset % segmentSize);
+      try {
+        return segments.get(toIntExact(segmentOffset / segmentSize)).read(offset, min(length, segmentSize - offset));
+      } catch (IOException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not read streaming buffer file"), e);
+      }
+    }
+
+    final int offset = toIntExact(position % bucketSize);
+    ByteBuffer view = buckets.get(toIntExact(position / bucketSize)).getDelegate().duplicate();
+    view.limit(offset + min(length, bucketSize - offset));
+    view.position(offset);
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    buckets.forEach(ManagedByteBufferWrapper::release);
+    buckets.clear();
+
+    if (spillBuffer != null) {
+      spillBuffer.release();
+      spillBuffer = null;
+    }
+
+    segments.forEach(Segment::delete);
+    segments.clear();
+  }
+
+  /**
+   * A temporal file of up to {@code segmentSize} bytes which is written and read through positional {@link FileChannel}
+   * operations
+   */
+  private class Segment {
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+
+    private Segment(int index) throws IOException {
+      file = createBufferFile("stream-segment-" + index);
+      try {
+        randomAccessFile = new RandomAccessFile(file, "rw");
+      } catch (IOException e) {
+        deleteFile();
+        throw e;
+      }
+      channel = randomAccessFile.getChannel();
+    }
+
+    private void write(ByteBuffer data, long position) throws IOException {
+      while (data.hasRemaining()) {
+        position += channel.write(data, position);
+      }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+      final ByteBuffer data = ByteBuffer.allocate(length);
+      while (data.hasRemaining()) {
+        if (channel.read(data, position + data.position()) < 0) {
+          throw new IOException("Unexpected end of streaming buffer file " + file.getAbsolutePath());
+        }
+      }
+      data.flip();
+      return data;
+    }
+
+    private void delete() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Could not close streaming buffer file {}", file.getAbsolutePath(), e);
+      }
+      deleteFile();
+    }
+
+    private void deleteFile() {
+      if (!file.delete()) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Could not delete streaming buffer file {}. It will be deleted on exit", file.getAbsolutePath());
+        }
+        file.deleteOnExit();
+      }
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.lang.System.arraycopy;
+import static java.nio.ByteBuffer.wrap;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the buffered information in memory, using a list of chunks
+ * instead of a single contiguous buffer.
+ * <p>
+ * The first chunk has the configured initial size and every time the buffer needs to grow, a new chunk of
+ * {@link InMemoryCursorStreamConfig#getBufferSizeIncrement()} bytes is appended. Existing data is never copied, so growth is
+ * constant time no matter how much data has already been buffered. Once the configured max size is reached, a
+ * {@link StreamingBufferSizeExceededException} will be thrown, just like in {@link InMemoryStreamBuffer}.
+ * <p>
+ * Because chunks are never moved or resized, data which has already been buffered can be read without acquiring any lock. The
+ * write lock is only taken when the stream needs to be consumed further.
+ *
+ * @since 4.6.0
+ */
+public class SegmentedInMemoryStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final int STREAM_FINISHED_PROBE = 10;
+
+  private final int initialBufferSize;
+  private final int bufferSizeIncrement;
+  private final int maxBufferSize;
+
+  private volatile ManagedByteBufferWrapper[] chunks;
+  private volatile long bufferTip = 0;
+  private int chunksCount = 0;
+  private long capacity = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all chunks
+   */
+  public SegmentedInMemoryStreamBuffer(InputStream stream, InMemoryCursorStreamConfig config,
+                                       ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    initialBufferSize = config.getInitialBufferSize().toBytes();
+    bufferSizeIncrement = config.getBufferSizeIncrement() != null
+        ? config.getBufferSizeIncrement().toBytes()
+        : 0;
+    maxBufferSize = config.getMaxBufferSize().toBytes();
+
+    chunks = new ManagedByteBufferWrapper[4];
+    appendChunk(bufferManager.allocateManaged(initialBufferSize));
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    ByteBuffer presentRead = getFromCurrentData(position, length);
+    if (presentRead != null) {
+      return presentRead;
+    }
+
+    writeLock.lock();
+    try {
+      ByteBuffer refetch = getFromCurrentData(position, length);
+      if (refetch != null) {
+        return refetch;
+      }
+
+      while (!streamFullyConsumed && bufferTip <= position) {
+        consumeForwardData();
+      }
+
+      return getFromCurrentData(position, length);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    // the tip needs to be read before the chunks so that it never points to a chunk which is not yet visible
+    final long tip = bufferTip;
+    if (position >= tip) {
+      return null;
+    }
+
+    return copy(position, toIntExact(min(length, tip - position)));
+  }
+
+  /**
+   * {@inheritDoc} If the last chunk doesn't have any remaining capacity, then a new one is appended before attempting to consume
+   * new information.
+   *
+   * @throws StreamingBufferSizeExceededException if the buffer is full and cannot be expanded
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    ByteBuffer lastChunk = chunks[chunksCount - 1].getDelegate();
+    if (!lastChunk.hasRemaining()) {
+      if (!canBeExpandedTo(capacity + bufferSizeIncrement)) {
+        return probeStreamFinished();
+      }
+
+      appendChunk(bufferManager.allocateManaged(bufferSizeIncrement));
+      lastChunk = chunks[chunksCount - 1].getDelegate();
+    }
+
+    final int read = consumeStream(lastChunk);
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  /**
+   * Invoked when the buffer is full and cannot grow anymore. If the stream has been fully consumed, this is not a problem.
+   * Otherwise, a {@link StreamingBufferSizeExceededException} is thrown.
+   */
+  private int probeStreamFinished() throws IOException {
+    ManagedByteBufferWrapper probe = bufferManager.allocateManaged(STREAM_FINISHED_PROBE);
+    try {
+      final int read = consumeStream(probe.getDelegate());
+      if (read > 0) {
+        throw new StreamingBufferSizeExceededException(maxBufferSize);
+      }
+
+      return read;
+    } finally {
+      probe.release();
+    }
+  }
+
+  private void appendChunk(ManagedByteBufferWrapper chunk) {
+    ManagedByteBufferWrapper[] current = chunks;
+    if (chunksCount == current.length) {
+      ManagedByteBufferWrapper[] expanded = new ManagedByteBufferWrapper[current.length * 2];
+      arraycopy(current, 0, expanded, 0, chunksCount);
+      current = expanded;
+    }
+
+    current[chunksCount++] = chunk;
+    capacity += chunk.getDelegate().capacity();
+    chunks = current;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned buffer is a view on the chunk holding the given {@code position} and never spans into the next one, so it may
+   * contain less information than requested.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    final int chunkIndex;
+    final int offset;
+    if (position < initialBufferSize) {
+      chunkIndex = 0;
+      offset = toIntExact(position);
+    } else {
+      final long incrementOffset = position - initialBufferSize;
+      chunkIndex = 1 + toIntExact(incrementOffset / bufferSizeIncrement);
+      offset = toIntExact(incrementOffset % bufferSizeIncrement);
+    }
+
+    // the chunk's position is being moved by the writer, so the view is built on top of the backing array instead
+    final ByteBuffer chunk = chunks[chunkIndex].getDelegate();
+    return wrap(chunk.array(), chunk.arrayOffset() + offset, min(length, chunk.capacity() - offset)).slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    final ManagedByteBufferWrapper[] current = chunks;
+    for (int i = 0; i < chunksCount; i++) {
+      current[i].release();
+    }
+    chunksCount = 0;
+  }
+
+  private boolean canBeExpandedTo(long newSize) {
+    if (bufferSizeIncrement <= 0) {
+      return false;
+    } else if (maxBufferSize == 0) {
+      return true;
+    }
+
+    return newSize <= maxBufferSize;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of {@link AbstractCursorIteratorProvider} which yields cursors that keep a bounded amount of instances in
+ * memory and spill the rest to disk
+ *
+ * @since 4.6.0
+ */
+public class FileStoreCursorIteratorProvider extends AbstractCursorIteratorProvider {
+
+  private final ObjectStreamBuffer buffer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream                   the stream to buffer from
+   * @param config                   the config of the generated buffer
+   * @param objectSerializer         the {@link ObjectSerializer} used to write the buffered instances into disk
+   * @param originatingLocation      indicates where the cursor was created
+   * @param trackCursorProviderClose if the provider should save the stack trace from where it was closed
+   */
+  public FileStoreCursorIteratorProvider(Iterator stream, FileStoreCursorIteratorConfig config,
+                                         ObjectSerializer objectSerializer, ComponentLocation originatingLocation,
+                                         boolean trackCursorProviderClose) {
+    super(stream, originatingLocation, trackCursorProviderClose);
+    buffer = new FileStoreObjectStreamBuffer(stream, config, objectSerializer);
+    buffer.initialise();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected CursorIterator doOpenCursor() {
+    return new BufferedCursorIterator(buffer, this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void releaseResources() {
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.wrap;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractObjectStreamBuffer} which keeps a bounded amount of instances in memory and spills the rest
+ * into a temporal file.
+ * <p>
+ * Items are grouped in {@link Bucket buckets} of a fixed size, so that no more than
+ * {@link FileStoreCursorIteratorConfig#getMaxInMemoryInstances()} items are held by the buffer at any given time. Each time a
+ * bucket overflows, it is serialized using the internal protocol of the given {@link ObjectSerializer} and appended to the buffer
+ * file. When a cursor seeks a position which is no longer in memory, the bucket containing it is read back from the file.
+ * <p>
+ * Since the file is append only and spilled buckets are never modified, reads are performed through positional
+ * {@link FileChannel} operations which can be executed concurrently by many cursors.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.6.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final int bucketSize;
+  private final SerializationProtocol serializationProtocol;
+  private final ClassLoader classLoader;
+
+  private final List<Long> spilledOffsets = new ArrayList<>();
+  private final List<Integer> spilledLengths = new ArrayList<>();
+  private File bufferFile;
+  private RandomAccessFile randomAccessFile;
+  private FileChannel channel;
+  private long fileTip = 0;
+
+  private volatile Bucket<T> pagedBucket;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream           the stream to be buffered
+   * @param config           this buffer's configuration
+   * @param objectSerializer the {@link ObjectSerializer} used to write the spilled buckets into disk
+   */
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config,
+                                     ObjectSerializer objectSerializer) {
+    super(stream);
+    // half of the instances are kept in the bucket being filled while the other half is reserved for paging
+    bucketSize = max(1, config.getMaxInMemoryInstances() / 2);
+    serializationProtocol = objectSerializer.getInternalProtocol();
+    classLoader = currentThread().getContextClassLoader();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    return new Position(toIntExact(position / bucketSize), toIntExact(position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, bucketSize));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    final int bucketIndex = position.getBucketIndex();
+    final Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == bucketIndex) {
+      return currentBucket;
+    }
+
+    if (bucketIndex >= spilledOffsets.size()) {
+      return null;
+    }
+
+    Bucket<T> bucket = pagedBucket;
+    if (bucket == null || bucket.getIndex() != bucketIndex) {
+      bucket = readBucket(bucketIndex);
+      pagedBucket = bucket;
+    }
+
+    return bucket;
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    spill(overflownBucket);
+    return new Bucket<>(overflownBucket.getIndex() + 1, bucketSize);
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // the buffer is bounded by the available disk space
+  }
+
+  private void spill(Bucket<T> bucket) {
+    final byte[] bytes = serializationProtocol.serialize(bucket);
+    try {
+      if (channel == null) {
+        bufferFile = createBufferFile("object-stream");
+        randomAccessFile = new RandomAccessFile(bufferFile, "rw");
+        channel = randomAccessFile.getChannel();
+      }
+
+      final ByteBuffer buffer = wrap(bytes);
+      long position = fileTip;
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write object stream buffer file"), e);
+    }
+
+    spilledOffsets.add(fileTip);
+    spilledLengths.add(bytes.length);
+    fileTip += bytes.length;
+  }
+
+  private Bucket<T> readBucket(int bucketIndex) {
+    final ByteBuffer buffer = ByteBuffer.allocate(spilledLengths.get(bucketIndex));
+    long position = spilledOffsets.get(bucketIndex);
+    try {
+      while (buffer.hasRemaining()) {
+        final int read = channel.read(buffer, position);
+        if (read < 0) {
+          throw new IOException("Unexpected end of object stream buffer file");
+        }
+        position += read;
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read object stream buffer file"), e);
+    }
+
+    return serializationProtocol.deserialize(buffer.array(), classLoader);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    pagedBucket = null;
+    spilledOffsets.clear();
+    spilledLengths.clear();
+
+    if (channel == null) {
+      return;
+    }
+
+    try {
+      randomAccessFile.close();
+    } catch (IOException e) {
+      LOGGER.debug("Found exception trying to close object stream buffer file", e);
+    }
+
+    if (!bufferFile.delete()) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not delete streaming buffer file {}. It will be deleted on exit", bufferFile.getAbsolutePath());
+      }
+      bufferFile.deleteOnExit();
+    }
+  }
+}
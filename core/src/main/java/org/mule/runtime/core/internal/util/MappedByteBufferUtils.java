@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+
+/**
+ * Utilities for {@link MappedByteBuffer}s
+ *
+ * @since 4.6.0
+ */
+public class MappedByteBufferUtils {
+
+  private static final Logger LOGGER = getLogger(MappedByteBufferUtils.class);
+
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private MappedByteBufferUtils() {}
+
+  /**
+   * Releases the mapping of the given {@code buffer} right away instead of waiting for it to be garbage collected, so the file it
+   * maps can be deleted and its disk space is freed. If the JVM doesn't allow it, the mapping is left to the garbage collector.
+   * <p>
+   * The buffer, and any view of it, must not be accessed afterwards, since doing so crashes the JVM.
+   *
+   * @param buffer the buffer to unmap
+   */
+  public static void unmap(MappedByteBuffer buffer) {
+    if (UNMAPPER == null) {
+      return;
+    }
+
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      LOGGER.debug("Could not unmap buffer", e);
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // Java 9 and later
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (Exception e) {
+      // Java 8
+    }
+
+    try {
+      final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        final Object bufferCleaner = cleaner.invoke(buffer);
+        if (bufferCleaner != null) {
+          clean.invoke(bufferCleaner);
+        }
+      };
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffers cannot be unmapped in this JVM, they will be released once garbage collected", e);
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(MappedByteBuffer buffer) throws Exception;
+  }
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+import static java.util.Objects.requireNonNull;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable, case-insensitive {@link Map} with {@link String} keys that is modified by creating new instances through
+ * {@link #plus(String, Object)} and {@link #minus(Object)}.
+ * <p>
+ * The entries are kept in a hash array mapped trie, so the new instances share all of their structure with the original one
+ * except for the path to the entry that changed. Adding, replacing or removing an entry is O(log n) and copies at most a few
+ * small arrays, instead of copying the whole map.
+ * <p>
+ * As with {@link org.mule.runtime.core.api.util.CaseInsensitiveHashMap}, keys are compared ignoring their case, and the case with
+ * which a key was first added is the one returned by {@link #keySet()}. Mutator methods of the {@link Map} interface throw
+ * {@link UnsupportedOperationException}.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <V> the generic type of the values
+ * @since 4.6.0
+ */
+public final class PersistentCaseInsensitiveMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 2867375098405322317L;
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+  // 7 levels of bitmap nodes consume the 32 bits of the hash, and collision nodes may hang from the last one
+  private static final int MAX_DEPTH = 8;
+
+  @SuppressWarnings("rawtypes")
+  private static final PersistentCaseInsensitiveMap EMPTY = new PersistentCaseInsensitiveMap<>(null, 0);
+
+  /**
+   * @param <V> the generic type of the values
+   * @return an empty instance
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns an instance with the same entries as the given {@code map}. If the map is already a
+   * {@link PersistentCaseInsensitiveMap}, it is returned as is.
+   * <p>
+   * Keys of {@code map} that only differ in their case are collapsed into a single entry.
+   *
+   * @param map the map with the entries to copy
+   * @param <V> the generic type of the values
+   * @return a {@link PersistentCaseInsensitiveMap} with the entries of {@code map}
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveMap) {
+      return (PersistentCaseInsensitiveMap<V>) map;
+    }
+
+    PersistentCaseInsensitiveMap<V> copy = empty();
+    for (Entry<String, ? extends V> entry : map.entrySet()) {
+      copy = copy.plus(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  // Not transient, so reflection-based serializers also keep the entries. Java serialization goes through SerializedForm.
+  private final Node root;
+  private final int size;
+
+  private transient Set<Entry<String, V>> entrySet;
+
+  private PersistentCaseInsensitiveMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns an instance with the given entry added, or replacing the value of the entry with a key that is equal ignoring case.
+   * When replacing, the key keeps the case it had in this instance.
+   *
+   * @param key   the key of the entry
+   * @param value the value of the entry
+   * @return an instance with the entry, which may be {@code this} if it already had that same value for the key
+   */
+  public PersistentCaseInsensitiveMap<V> plus(String key, V value) {
+    requireNonNull(key, "key cannot be null");
+    final int hash = hash(key);
+
+    if (root == null) {
+      return new PersistentCaseInsensitiveMap<>(new BitmapNode(new Leaf(key, hash, value), 0), 1);
+    }
+
+    final Leaf existing = root.find(key, hash, 0);
+    if (existing != null && existing.getValue() == value) {
+      return this;
+    }
+
+    final Leaf leaf = existing != null ? new Leaf(existing.getKey(), hash, value) : new Leaf(key, hash, value);
+    return new PersistentCaseInsensitiveMap<>(root.plus(leaf, 0), existing != null ? size : size + 1);
+  }
+
+  /**
+   * @param key the key of the entry to remove, compared ignoring case
+   * @return an instance without the entry for the given {@code key}, which may be {@code this} if there was no such entry
+   */
+  public PersistentCaseInsensitiveMap<V> minus(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return this;
+    }
+
+    final int hash = hash((String) key);
+    if (root.find((String) key, hash, 0) == null) {
+      return this;
+    }
+
+    if (size == 1) {
+      return empty();
+    }
+    // The root never inlines its last leaf into a parent, so it is always a node
+    return new PersistentCaseInsensitiveMap<>((Node) root.minus((String) key, hash, 0), size - 1);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return findLeaf(key) != null;
+  }
+
+  @Override
+  public V get(Object key) {
+    final Leaf leaf = findLeaf(key);
+    return leaf != null ? (V) leaf.getValue() : null;
+  }
+
+  private Leaf findLeaf(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+    return root.find((String) key, hash((String) key), 0);
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private Object writeReplace() {
+    return new SerializedForm(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws InvalidObjectException {
+    throw new InvalidObjectException("SerializedForm required");
+  }
+
+  /**
+   * Case-insensitive hash of the key, consistent with {@link String#equalsIgnoreCase(String)}.
+   */
+  private static int hash(String key) {
+    int h = 0;
+    for (int i = 0; i < key.length(); i++) {
+      h = 31 * h + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    // Spread the higher bits to the lower ones, which are the ones used by the first levels of the trie
+    return h ^ (h >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & LEVEL_MASK);
+  }
+
+  private static Node merge(Leaf leaf1, Leaf leaf2, int shift) {
+    if (shift >= Integer.SIZE) {
+      return new CollisionNode(new Object[] {leaf1, leaf2});
+    }
+
+    final int bit1 = bit(leaf1.hash, shift);
+    final int bit2 = bit(leaf2.hash, shift);
+    if (bit1 == bit2) {
+      return new BitmapNode(bit1, new Object[] {merge(leaf1, leaf2, shift + BITS_PER_LEVEL)});
+    } else if (Integer.compareUnsigned(bit1, bit2) < 0) {
+      return new BitmapNode(bit1 | bit2, new Object[] {leaf1, leaf2});
+    } else {
+      return new BitmapNode(bit1 | bit2, new Object[] {leaf2, leaf1});
+    }
+  }
+
+  private static Object[] insert(Object[] array, int index, Object element) {
+    final Object[] copy = new Object[array.length + 1];
+    arraycopy(array, 0, copy, 0, index);
+    copy[index] = element;
+    arraycopy(array, index, copy, index + 1, array.length - index);
+    return copy;
+  }
+
+  private static Object[] replace(Object[] array, int index, Object element) {
+    final Object[] copy = array.clone();
+    copy[index] = element;
+    return copy;
+  }
+
+  private static Object[] delete(Object[] array, int index) {
+    final Object[] copy = new Object[array.length - 1];
+    arraycopy(array, 0, copy, 0, index);
+    arraycopy(array, index + 1, copy, index, array.length - index - 1);
+    return copy;
+  }
+
+  private static final class Leaf extends SimpleImmutableEntry<String, Object> {
+
+    private static final long serialVersionUID = -3470339440232553722L;
+
+    private final int hash;
+
+    private Leaf(String key, int hash, Object value) {
+      super(key, value);
+      this.hash = hash;
+    }
+
+    private boolean matches(String key, int hash) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+  }
+
+  /**
+   * A node of the trie. Its children are either {@link Leaf leaves} or other nodes.
+   */
+  private abstract static class Node {
+
+    final Object[] children;
+
+    Node(Object[] children) {
+      this.children = children;
+    }
+
+    abstract Leaf find(String key, int hash, int shift);
+
+    /**
+     * @return a node with the given leaf, either added or replacing the one with an equal key.
+     */
+    abstract Node plus(Leaf leaf, int shift);
+
+    /**
+     * Removes the leaf for the given key, which must be present.
+     *
+     * @return the node without that leaf, or the single leaf left in it so that the parent node can inline it.
+     */
+    abstract Object minus(String key, int hash, int shift);
+  }
+
+  /**
+   * A node that has a child for each 5-bit fragment of the hashes at its level that is present in its bitmap.
+   */
+  private static final class BitmapNode extends Node {
+
+    private final int bitmap;
+
+    private BitmapNode(Leaf leaf, int shift) {
+      this(bit(leaf.hash, shift), new Object[] {leaf});
+    }
+
+    private BitmapNode(int bitmap, Object[] children) {
+      super(children);
+      this.bitmap = bitmap;
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    Leaf find(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+
+      final Object child = children[index(bit)];
+      if (child instanceof Leaf) {
+        return ((Leaf) child).matches(key, hash) ? (Leaf) child : null;
+      }
+      return ((Node) child).find(key, hash, shift + BITS_PER_LEVEL);
+    }
+
+    @Override
+    Node plus(Leaf leaf, int shift) {
+      final int bit = bit(leaf.hash, shift);
+      final int index = index(bit);
+      if ((bitmap & bit) == 0) {
+        return new BitmapNode(bitmap | bit, insert(children, index, leaf));
+      }
+
+      final Object child = children[index];
+      if (child instanceof Leaf) {
+        final Leaf current = (Leaf) child;
+        if (current.matches(leaf.getKey(), leaf.hash)) {
+          return new BitmapNode(bitmap, replace(children, index, leaf));
+        }
+        return new BitmapNode(bitmap, replace(children, index, merge(current, leaf, shift + BITS_PER_LEVEL)));
+      }
+      return new BitmapNode(bitmap, replace(children, index, ((Node) child).plus(leaf, shift + BITS_PER_LEVEL)));
+    }
+
+    @Override
+    Object minus(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      final int index = index(bit);
+      final Object child = children[index];
+
+      if (child instanceof Leaf) {
+        if (children.length == 2 && shift > 0 && children[1 - index] instanceof Leaf) {
+          return children[1 - index];
+        }
+        return new BitmapNode(bitmap ^ bit, delete(children, index));
+      }
+
+      final Object newChild = ((Node) child).minus(key, hash, shift + BITS_PER_LEVEL);
+      if (newChild instanceof Leaf && children.length == 1 && shift > 0) {
+        return newChild;
+      }
+      return new BitmapNode(bitmap, replace(children, index, newChild));
+    }
+  }
+
+  /**
+   * A node with the leaves which keys have the same hash but are not equal.
+   */
+  private static final class CollisionNode extends Node {
+
+    private CollisionNode(Object[] children) {
+      super(children);
+    }
+
+    private int indexOf(String key, int hash) {
+      for (int i = 0; i < children.length; i++) {
+        if (((Leaf) children[i]).matches(key, hash)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Leaf find(String key, int hash, int shift) {
+      final int index = indexOf(key, hash);
+      return index >= 0 ? (Leaf) children[index] : null;
+    }
+
+    @Override
+    Node plus(Leaf leaf, int shift) {
+      final int index = indexOf(leaf.getKey(), leaf.hash);
+      return new CollisionNode(index >= 0
+          ? replace(children, index, leaf)
+          : insert(children, children.length, leaf));
+    }
+
+    @Override
+    Object minus(String key, int hash, int shift) {
+      final Object[] newChildren = delete(children, indexOf(key, hash));
+      return newChildren.length == 1 ? newChildren[0] : new CollisionNode(newChildren);
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+    @Override
+    public Iterator<Entry<String, V>> iterator() {
+      return new LeafIterator<>(root);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * Iterates the leaves of a trie depth-first, without recursion.
+   */
+  private static final class LeafIterator<V> implements Iterator<Entry<String, V>> {
+
+    private final Object[][] arrays = new Object[MAX_DEPTH][];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth;
+    private Leaf next;
+
+    private LeafIterator(Node root) {
+      if (root == null) {
+        depth = -1;
+      } else {
+        arrays[0] = root.children;
+        advance();
+      }
+    }
+
+    private void advance() {
+      while (depth >= 0) {
+        if (positions[depth] < arrays[depth].length) {
+          final Object child = arrays[depth][positions[depth]++];
+          if (child instanceof Leaf) {
+            next = (Leaf) child;
+            return;
+          }
+          depth++;
+          arrays[depth] = ((Node) child).children;
+          positions[depth] = 0;
+        } else {
+          arrays[depth--] = null;
+        }
+      }
+      next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+
+      final Leaf current = next;
+      advance();
+      return (Entry<String, V>) (Entry) current;
+    }
+  }
+
+  /**
+   * Java serialization form, which only holds the entries so that the trie structure is not part of the serialized form.
+   */
+  private static final class SerializedForm implements Serializable {
+
+    private static final long serialVersionUID = -5186467404427018573L;
+
+    private final String[] keys;
+    private final Object[] values;
+
+    private SerializedForm(PersistentCaseInsensitiveMap<?> map) {
+      keys = new String[map.size()];
+      values = new Object[map.size()];
+      int i = 0;
+      for (Entry<String, ?> entry : map.entrySet()) {
+        keys[i] = entry.getKey();
+        values[i] = entry.getValue();
+        i++;
+      }
+    }
+
+    private Object readResolve() {
+      PersistentCaseInsensitiveMap<Object> map = empty();
+      for (int i = 0; i < keys.length; i++) {
+        map = map.plus(keys[i], values[i]);
+      }
+      return map;
+    }
+  }
+}
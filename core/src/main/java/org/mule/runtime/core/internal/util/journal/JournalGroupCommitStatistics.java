@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the batches written by a {@link TransactionJournal} in group commit mode.
+ *
+ * @since 4.6.0
+ */
+public class JournalGroupCommitStatistics {
+
+  private final LongAdder flushes = new LongAdder();
+  private final LongAdder flushedEntries = new LongAdder();
+  private final LongAdder flushTimeNanos = new LongAdder();
+  private final AtomicLong maxBatchSize = new AtomicLong();
+  private final AtomicLong maxFlushTimeNanos = new AtomicLong();
+
+  void recordFlush(int batchSize, long flushNanos) {
+    flushes.increment();
+    flushedEntries.add(batchSize);
+    flushTimeNanos.add(flushNanos);
+    maxBatchSize.accumulateAndGet(batchSize, Math::max);
+    maxFlushTimeNanos.accumulateAndGet(flushNanos, Math::max);
+  }
+
+  /**
+   * @return the number of batches written
+   */
+  public long getFlushes() {
+    return flushes.sum();
+  }
+
+  /**
+   * @return the number of entries written in all the batches
+   */
+  public long getFlushedEntries() {
+    return flushedEntries.sum();
+  }
+
+  /**
+   * @return the average number of entries per batch
+   */
+  public double getAverageBatchSize() {
+    final long count = flushes.sum();
+    return count == 0 ? 0 : (double) flushedEntries.sum() / count;
+  }
+
+  /**
+   * @return the number of entries in the biggest batch
+   */
+  public long getMaxBatchSize() {
+    return maxBatchSize.get();
+  }
+
+  /**
+   * @return the average time spent writing and syncing a batch, in microseconds
+   */
+  public long getAverageFlushTimeMicros() {
+    final long count = flushes.sum();
+    return count == 0 ? 0 : NANOSECONDS.toMicros(flushTimeNanos.sum() / count);
+  }
+
+  /**
+   * @return the max time spent writing and syncing a batch, in microseconds
+   */
+  public long getMaxFlushTimeMicros() {
+    return NANOSECONDS.toMicros(maxFlushTimeNanos.get());
+  }
+}
@@ -6,6 +6,11 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -25,12 +30,22 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When {@link #GROUP_COMMIT_PROPERTY} is set, entries logged concurrently are written and synced to disk in batches. See
+ * {@link TransactionJournalFile}.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "journal.groupCommit";
+  public static final String GROUP_COMMIT_MAX_LATENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "journal.groupCommit.maxLatency";
+  public static final String GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "journal.groupCommit.maxBatchSize";
+
+  private static final long DEFAULT_GROUP_COMMIT_MAX_LATENCY = 1;
+  private static final int DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE = 256;
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -57,6 +72,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   private Long clearFileMinimumSizeInBytes;
 
+  private final JournalGroupCommitStatistics groupCommitStatistics;
+
   /**
    * @param logFilesDirectory directory used to store the journal files.
    */
@@ -72,10 +89,16 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
+    this.groupCommitStatistics = getBoolean(GROUP_COMMIT_PROPERTY) ? new JournalGroupCommitStatistics() : null;
+    final long maxLatency = getLong(GROUP_COMMIT_MAX_LATENCY_PROPERTY, DEFAULT_GROUP_COMMIT_MAX_LATENCY);
+    final int maxBatchSize = getInteger(GROUP_COMMIT_MAX_BATCH_SIZE_PROPERTY, DEFAULT_GROUP_COMMIT_MAX_BATCH_SIZE);
+
     this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   maxLatency, maxBatchSize, groupCommitStatistics);
     this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   maxLatency, maxBatchSize, groupCommitStatistics);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +115,15 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.appendOperation(journalEntry);
+    }
+    // wait outside the monitor, so that concurrent operations can be written in the same batch
+    logFile.awaitWritten(sequence);
   }
 
   /**
@@ -104,12 +133,24 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.appendOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    logFile.awaitWritten(sequence);
+  }
+
+  /**
+   * @return the statistics of the batches written in group commit mode, or {@code null} if group commit is disabled.
+   */
+  public JournalGroupCommitStatistics getGroupCommitStatistics() {
+    return groupCommitStatistics;
   }
 
   /**
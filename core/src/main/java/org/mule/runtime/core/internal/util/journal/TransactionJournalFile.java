@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
@@ -13,6 +17,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -24,12 +29,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * When group commit is enabled, entries are serialized when appended but written later, together with all the other entries
+ * appended in the meantime. The first thread waiting for its entry to be written becomes the flusher: it waits up to the
+ * configured max latency for a batch to fill, then writes the whole batch and syncs the file. Other threads wait until their
+ * entries are covered by a flush.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -50,9 +61,23 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private FileOutputStream fileOutputStream;
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  private final boolean groupCommit;
+  private final long maxLatencyNanos;
+  private final int maxBatchSize;
+  private final JournalGroupCommitStatistics groupCommitStatistics;
+
+  private List<byte[]> pendingEntries = new ArrayList<>();
+  private long appendedSequence = 0;
+  private long flushedSequence = 0;
+  private boolean flushing = false;
+  private long failedFromSequence = 0;
+  private long failedToSequence = 0;
+  private IOException flushFailure;
+
   /**
    * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
    *                                     entries will get loaded from it.
@@ -61,9 +86,29 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, 0, 0, null);
+  }
+
+  /**
+   * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
+   *                                     entries will get loaded from it.
+   * @param journalEntrySerializer       serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param maxLatencyMillis             the max time the flusher waits for a batch to fill before writing it
+   * @param maxBatchSize                 the number of pending entries which causes a batch to be written right away
+   * @param groupCommitStatistics        where to record the size and flush time of each batch. Group commit is disabled if
+   *                                     {@code null}
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                long maxLatencyMillis, int maxBatchSize, JournalGroupCommitStatistics groupCommitStatistics) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommit = groupCommitStatistics != null;
+    this.maxLatencyNanos = MILLISECONDS.toNanos(maxLatencyMillis);
+    this.maxBatchSize = maxBatchSize;
+    this.groupCommitStatistics = groupCommitStatistics;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -75,10 +120,180 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * 
    * @param journalEntry operation details
    */
-  public synchronized void logOperation(K journalEntry) {
+  public void logOperation(K journalEntry) {
+    awaitWritten(appendOperation(journalEntry));
+  }
+
+  /**
+   * Adds a journal entry for an operation done over a transactional resource, without waiting for it to be written when group
+   * commit is enabled. {@link #awaitWritten(long)} must be called with the returned value afterwards.
+   *
+   * @param journalEntry operation details
+   * @return the sequence number of the entry, or {@code 0} if the entry was already written.
+   */
+  public synchronized long appendOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+
+    if (!groupCommit) {
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+      return 0;
+    }
+
+    ByteArrayOutputStream serializedEntry = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(serializedEntry));
+    pendingEntries.add(serializedEntry.toByteArray());
+    if (pendingEntries.size() >= maxBatchSize) {
+      notifyAll();
+    }
+    return ++appendedSequence;
+  }
+
+  /**
+   * Waits until the entry with the given sequence number is written and synced to disk, flushing the pending entries if no other
+   * thread is already doing so.
+   *
+   * @param sequence the value returned by {@link #appendOperation(JournalEntry)}
+   */
+  public void awaitWritten(long sequence) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        final List<byte[]> batch;
+        final long batchSequence;
+        synchronized (this) {
+          if (flushedSequence >= sequence) {
+            checkFlushFailure(sequence);
+            return;
+          }
+          if (flushing) {
+            interrupted |= waitUninterruptibly(0);
+            continue;
+          }
+
+          flushing = true;
+          interrupted |= lingerForBatch();
+          batch = pendingEntries;
+          batchSequence = appendedSequence;
+          pendingEntries = new ArrayList<>();
+        }
+
+        final long startNanos = nanoTime();
+        IOException failure = null;
+        try {
+          writeAndSync(batch);
+        } catch (IOException e) {
+          failure = e;
+        }
+
+        synchronized (this) {
+          if (failure != null) {
+            failedFromSequence = flushedSequence + 1;
+            failedToSequence = batchSequence;
+            flushFailure = failure;
+          }
+          flushedSequence = batchSequence;
+          flushing = false;
+          if (!batch.isEmpty()) {
+            groupCommitStatistics.recordFlush(batch.size(), nanoTime() - startNanos);
+          }
+          notifyAll();
+        }
+      }
+    } finally {
+      if (interrupted) {
+        currentThread().interrupt();
+      }
+    }
+  }
+
+  private void checkFlushFailure(long sequence) {
+    if (flushFailure != null && sequence >= failedFromSequence && sequence <= failedToSequence) {
+      throw new MuleRuntimeException(flushFailure);
+    }
+  }
+
+  /**
+   * Waits for more entries to be appended, up to the max latency or until the max batch size is reached. Must be called while
+   * holding this instance's monitor.
+   *
+   * @return whether the thread was interrupted while waiting
+   */
+  private boolean lingerForBatch() {
+    boolean interrupted = false;
+    final long deadline = nanoTime() + maxLatencyNanos;
+    long remaining = maxLatencyNanos;
+    while (remaining > 0 && pendingEntries.size() < maxBatchSize) {
+      interrupted |= waitUninterruptibly(remaining);
+      remaining = deadline - nanoTime();
+    }
+    return interrupted;
+  }
+
+  private boolean waitUninterruptibly(long nanos) {
+    try {
+      if (nanos == 0) {
+        wait();
+      } else {
+        NANOSECONDS.timedWait(this, nanos);
+      }
+      return false;
+    } catch (InterruptedException e) {
+      return true;
+    }
+  }
+
+  private void writeAndSync(List<byte[]> batch) throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    int length = 0;
+    for (byte[] entry : batch) {
+      length += entry.length;
+    }
+    byte[] bytes = new byte[length];
+    int offset = 0;
+    for (byte[] entry : batch) {
+      System.arraycopy(entry, 0, bytes, offset, entry.length);
+      offset += entry.length;
+    }
+
+    logFileOutputStream.write(bytes);
+    logFileOutputStream.flush();
+    fileOutputStream.getChannel().force(false);
+  }
+
+  /**
+   * Writes the pending entries, if any. Must be called while holding this instance's monitor.
+   */
+  private void flushPendingEntries() {
+    if (!groupCommit) {
+      return;
+    }
+
+    boolean interrupted = false;
+    while (flushing) {
+      interrupted |= waitUninterruptibly(0);
+    }
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+
+    final long startNanos = nanoTime();
+    try {
+      writeAndSync(pendingEntries);
+      if (!pendingEntries.isEmpty()) {
+        groupCommitStatistics.recordFlush(pendingEntries.size(), nanoTime() - startNanos);
+      }
+    } catch (IOException e) {
+      failedFromSequence = flushedSequence + 1;
+      failedToSequence = appendedSequence;
+      flushFailure = e;
+    }
+    pendingEntries = new ArrayList<>();
+    flushedSequence = appendedSequence;
+    notifyAll();
   }
 
   /**
@@ -120,6 +335,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Will not remove the transaction context.
    */
   public synchronized void close() {
+    flushPendingEntries();
     try {
       logFileOutputStream.close();
     } catch (IOException e) {
@@ -171,7 +387,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      this.fileOutputStream = new FileOutputStream(journalFile, true);
+      this.logFileOutputStream = new DataOutputStream(fileOutputStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.util.journal.queue;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.runtime.core.internal.util.journal.JournalEntry;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitStatistics;
 import org.mule.runtime.core.internal.util.journal.TransactionCompletePredicate;
 import org.mule.runtime.core.internal.util.journal.TransactionJournal;
 import org.mule.runtime.core.internal.util.queue.QueueStore;
@@ -125,6 +126,13 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
     return logFile.getLogEntriesForTx(txId);
   }
 
+  /**
+   * @return the statistics of the batches written in group commit mode, or {@code null} if group commit is disabled.
+   */
+  public JournalGroupCommitStatistics getGroupCommitStatistics() {
+    return logFile.getGroupCommitStatistics();
+  }
+
   protected TransactionJournal<T, K> getJournal() {
     return logFile;
   }
@@ -34,6 +34,7 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
       add(o);
       this.notifyAll();
     }
+    afterChange();
   }
 
   @Override
@@ -67,13 +68,15 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
         add(o);
       }
       this.notifyAll();
-      return true;
     }
+    afterChange();
+    return true;
   }
 
   @Override
   public final Serializable poll(long timeout) throws InterruptedException {
     checkInterrupted();
+    final Serializable result;
     synchronized (this) {
       long l1 = timeout > 0L ? System.currentTimeMillis() : 0L;
       long l2 = timeout;
@@ -85,10 +88,11 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
         l2 = timeout - (System.currentTimeMillis() - l1);
       }
 
-      Serializable o = removeFirst();
+      result = removeFirst();
       this.notifyAll();
-      return o;
     }
+    afterChange();
+    return result;
   }
 
   @Override
@@ -110,6 +114,7 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
       addFirst(item);
       this.notifyAll();
     }
+    afterChange();
   }
 
   @Override
@@ -122,11 +127,13 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
 
   @Override
   public final boolean addAll(Collection<? extends Serializable> items) {
+    final boolean result;
     synchronized (this) {
-      boolean result = doAddAll(items);
+      result = doAddAll(items);
       this.notifyAll();
-      return result;
     }
+    afterChange();
+    return result;
   }
 
   private void checkInterrupted() throws InterruptedException {
@@ -195,4 +202,12 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
    * @return true if the queue is empty, false otherwise
    */
   protected abstract boolean isEmpty();
+
+  /**
+   * Invoked after an operation which may have changed the queue, without holding the monitor of this delegate, so implementations
+   * can wait for the change to be persisted without blocking the operations of other threads.
+   */
+  protected void afterChange() {
+    // nothing to do by default
+  }
 }
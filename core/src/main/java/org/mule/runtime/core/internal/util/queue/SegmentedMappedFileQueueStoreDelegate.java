@@ -0,0 +1,605 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.toHexString;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.MappedByteBufferUtils.unmap;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which stores the queue data in memory mapped segment files of a fixed
+ * size.
+ * <p>
+ * Items are always appended at the end of the segment being written, so writing an item is just a copy into the mapped memory.
+ * The position of each item is tracked in an in memory index, and consuming an item only flips its state in the mapped file. Once
+ * all the items in a segment are consumed, the segment file is deleted.
+ * <p>
+ * Every operation returns only once its changes are forced to disk, which is done as a group commit: when an operation finishes
+ * and no force is in progress, its thread forces all the segments changed so far, without holding the monitor of this delegate.
+ * The operations finished by other threads meanwhile wait for that force to complete, and then the first of them forces all their
+ * changes at once, so a single force covers the operations of all the threads that waited for it. Mutual exclusion between
+ * producers and consumers is provided by {@link AbstractQueueStoreDelegate}, so no further locking is required here.
+ *
+ * @since 4.6.0
+ */
+public class SegmentedMappedFileQueueStoreDelegate extends AbstractQueueStoreDelegate
+    implements TransactionalQueueStoreDelegate {
+
+  /**
+   * When set to {@code true}, persistent queues use this delegate instead of {@link DualRandomAccessFileQueueStoreDelegate}.
+   */
+  public static final String SEGMENTED_QUEUE_STORE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmented";
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+
+  private static final Logger LOGGER = getLogger(SegmentedMappedFileQueueStoreDelegate.class);
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_FILE_EXTENSION = ".seg";
+  private static final int MAX_QUEUE_NAME_LENGTH = 64;
+
+  private static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+  // length and state
+  private static final int HEADER_SIZE = 4 + 1;
+  private static final byte LIVE = 0;
+  private static final byte REMOVED = 1;
+  // an item which was given back to the queue, and hence goes before the ones written earlier
+  private static final byte LIVE_FIRST = 2;
+
+  private final ObjectSerializer serializer;
+  private final File segmentsDirectory;
+  private final int segmentSize;
+
+  private final Map<Integer, Segment> segments = new TreeMap<>();
+  private final PositionsDeque positions = new PositionsDeque();
+  private Segment writeSegment;
+  private int nextSegmentId = 0;
+  // changes done and changes already forced to disk, for operations to wait for the force that covers them
+  private long writtenSequence = 0;
+  private long syncedSequence = 0;
+  // the segments being forced without holding the monitor, which cannot be unmapped until that completes
+  private List<Segment> forcingSegments = emptyList();
+  private boolean forcing = false;
+  private final List<Segment> deferredDeletes = new ArrayList<>();
+
+  public SegmentedMappedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext,
+                                               int capacity) {
+    super(capacity);
+    serializer = muleContext.getObjectSerializer();
+    segmentSize = getLong(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE).intValue();
+
+    segmentsDirectory = new File(new File(workingDirectory, QUEUE_STORE_DIRECTORY), toDirectoryName(queueName));
+    if (!segmentsDirectory.exists()) {
+      Preconditions.checkState(segmentsDirectory.mkdirs(),
+                               "Could not create queue store directory " + segmentsDirectory.getAbsolutePath());
+    }
+
+    recover();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private static String toDirectoryName(String queueName) {
+    String sanitized = queueName.replaceAll("[^A-Za-z0-9._-]", "_");
+    if (sanitized.equals(queueName) && sanitized.length() <= MAX_QUEUE_NAME_LENGTH) {
+      return sanitized + SEGMENTS_DIRECTORY_SUFFIX;
+    }
+
+    // avoid collisions between names which only differ in the replaced characters
+    if (sanitized.length() > MAX_QUEUE_NAME_LENGTH) {
+      sanitized = sanitized.substring(0, MAX_QUEUE_NAME_LENGTH);
+    }
+    return sanitized + "-" + toHexString(queueName.hashCode()) + SEGMENTS_DIRECTORY_SUFFIX;
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    positions.addLast(append(serializer.getInternalProtocol().serialize(item), LIVE));
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    positions.addFirst(append(serializer.getInternalProtocol().serialize(item), LIVE_FIRST));
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    Serializable value = getFirst();
+    if (value != null) {
+      markRemoved(positions.removeFirst());
+    }
+    return value;
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    if (positions.isEmpty()) {
+      return null;
+    }
+    return deserialize(read(positions.getFirst()));
+  }
+
+  @Override
+  protected int size() {
+    return positions.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return positions.isEmpty();
+  }
+
+  @Override
+  protected void doClear() {
+    deleteSegments();
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      positions.addLast(append(serializer.getInternalProtocol().serialize(item), LIVE));
+    }
+    return true;
+  }
+
+  public synchronized Collection<Serializable> allElements() throws InterruptedException {
+    List<Serializable> elements = new ArrayList<>(positions.size());
+    for (int i = 0; i < positions.size(); i++) {
+      try {
+        elements.add(deserialize(read(positions.get(i))));
+      } catch (Exception e) {
+        LOGGER.warn("Failure trying to deserialize value " + e.getMessage());
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Failure trying to deserialize value", e);
+        }
+      }
+    }
+    return elements;
+  }
+
+  @Override
+  public void remove(Serializable value) {
+    synchronized (this) {
+      int index = 0;
+      while (index < positions.size() && !deserialize(read(positions.get(index))).equals(value)) {
+        index++;
+      }
+      if (index == positions.size()) {
+        return;
+      }
+
+      final long position = positions.get(index);
+      positions.remove(index);
+      markRemoved(position);
+    }
+    afterChange();
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (int i = 0; i < positions.size(); i++) {
+      if (deserialize(read(positions.get(i))).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized void close() {
+    awaitForceCompleted();
+    for (Segment segment : segments.values()) {
+      if (segment.dirty) {
+        segment.buffer.force();
+      }
+    }
+    syncedSequence = writtenSequence;
+    segments.values().forEach(Segment::close);
+    segments.clear();
+    positions.clear();
+    writeSegment = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void dispose() {
+    awaitForceCompleted();
+    deleteSegments();
+    if (!segmentsDirectory.delete()) {
+      LOGGER.warn("Could not delete queue store directory {}", segmentsDirectory.getAbsolutePath());
+    }
+  }
+
+  private long append(byte[] data, byte state) {
+    final int recordSize = HEADER_SIZE + data.length;
+    if (writeSegment == null || writeSegment.buffer.capacity() - writeSegment.writePosition < recordSize) {
+      Segment previous = writeSegment;
+      writeSegment = createSegment(max(segmentSize, recordSize));
+      if (previous != null && previous.liveCount == 0) {
+        deleteSegment(previous);
+      }
+    }
+
+    final int offset = writeSegment.writePosition;
+    final ByteBuffer buffer = writeSegment.buffer.duplicate();
+    buffer.position(offset + 4);
+    buffer.put(state);
+    buffer.put(data);
+    // the length is written last, so that a partially written record is never considered on recovery
+    writeSegment.buffer.putInt(offset, data.length);
+
+    writeSegment.writePosition += recordSize;
+    writeSegment.liveCount++;
+    writeSegment.dirty = true;
+    writtenSequence++;
+
+    return toPosition(writeSegment.id, offset);
+  }
+
+  private byte[] read(long position) {
+    final Segment segment = segments.get(segmentId(position));
+    final int offset = offset(position);
+
+    final ByteBuffer buffer = segment.buffer.duplicate();
+    final byte[] data = new byte[buffer.getInt(offset)];
+    buffer.position(offset + HEADER_SIZE);
+    buffer.get(data);
+    return data;
+  }
+
+  private void markRemoved(long position) {
+    final Segment segment = segments.get(segmentId(position));
+    segment.buffer.put(offset(position) + 4, REMOVED);
+    segment.liveCount--;
+    segment.dirty = true;
+    writtenSequence++;
+
+    if (segment.liveCount == 0 && segment != writeSegment) {
+      deleteSegment(segment);
+    }
+  }
+
+  /**
+   * Waits until the changes done so far are forced to disk. If no force is in progress, the calling thread forces all the
+   * segments changed so far. Otherwise it waits for that force to complete, and starts a new one if its changes were not covered
+   * by it, unless another waiting thread already did.
+   */
+  @Override
+  protected void afterChange() {
+    final long covered;
+    final List<Segment> toForce = new ArrayList<>();
+    synchronized (this) {
+      final long sequence = writtenSequence;
+      boolean interrupted = false;
+      while (forcing && syncedSequence < sequence) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // the change is already done, so it still has to be forced before returning
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        currentThread().interrupt();
+      }
+      if (syncedSequence >= sequence) {
+        return;
+      }
+
+      for (Segment segment : segments.values()) {
+        if (segment.dirty) {
+          segment.dirty = false;
+          toForce.add(segment);
+        }
+      }
+      covered = writtenSequence;
+      forcingSegments = toForce;
+      forcing = true;
+    }
+
+    boolean forced = false;
+    try {
+      force(toForce.stream().map(segment -> segment.buffer).collect(toList()));
+      forced = true;
+    } finally {
+      synchronized (this) {
+        if (forced) {
+          syncedSequence = max(syncedSequence, covered);
+        } else {
+          // so the next force retries them
+          toForce.forEach(segment -> segment.dirty = true);
+        }
+        forcingSegments = emptyList();
+        forcing = false;
+        deferredDeletes.forEach(Segment::delete);
+        deferredDeletes.clear();
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Forces the given buffers to disk. Invoked without holding the monitor of this delegate.
+   *
+   * @param buffers the buffers of the segments changed since the previous force
+   */
+  void force(List<MappedByteBuffer> buffers) {
+    buffers.forEach(MappedByteBuffer::force);
+  }
+
+  private void awaitForceCompleted() {
+    boolean interrupted = false;
+    while (forcing) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return whether there are changes that were not forced to disk yet.
+   */
+  synchronized boolean hasUnsyncedChanges() {
+    return syncedSequence < writtenSequence;
+  }
+
+  /**
+   * Rebuilds the index from the segment files. Appending is always resumed on a new segment, so that nothing is ever written
+   * after a record which could have been partially written.
+   */
+  private void recover() {
+    File[] files = segmentsDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+    if (files == null) {
+      return;
+    }
+
+    Map<Integer, File> filesById = new TreeMap<>();
+    for (File file : files) {
+      String name = file.getName();
+      try {
+        filesById.put(Integer.parseInt(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length())), file);
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Ignoring unexpected file {} in queue store directory", file.getAbsolutePath());
+      }
+    }
+
+    for (Map.Entry<Integer, File> entry : filesById.entrySet()) {
+      Segment segment = openSegment(entry.getKey(), entry.getValue(), entry.getValue().length());
+      segments.put(segment.id, segment);
+      nextSegmentId = entry.getKey() + 1;
+      scan(segment);
+
+      if (segment.liveCount == 0) {
+        deleteSegment(segment);
+      }
+    }
+  }
+
+  private void scan(Segment segment) {
+    final MappedByteBuffer buffer = segment.buffer;
+    int offset = 0;
+    while (offset + HEADER_SIZE <= buffer.capacity()) {
+      final int length = buffer.getInt(offset);
+      if (length <= 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+        break;
+      }
+
+      final byte state = buffer.get(offset + 4);
+      if (state == LIVE) {
+        positions.addLast(toPosition(segment.id, offset));
+        segment.liveCount++;
+      } else if (state == LIVE_FIRST) {
+        positions.addFirst(toPosition(segment.id, offset));
+        segment.liveCount++;
+      }
+
+      offset += HEADER_SIZE + length;
+    }
+    segment.writePosition = offset;
+  }
+
+  private Segment createSegment(long size) {
+    final int id = nextSegmentId++;
+    Segment segment = openSegment(id, new File(segmentsDirectory, format("%010d%s", id, SEGMENT_FILE_EXTENSION)), size);
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private Segment openSegment(int id, File file, long size) {
+    try {
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try {
+        return new Segment(id, file, randomAccessFile, randomAccessFile.getChannel().map(READ_WRITE, 0, size));
+      } catch (IOException e) {
+        randomAccessFile.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void deleteSegment(Segment segment) {
+    segments.remove(segment.id);
+    if (forcingSegments.contains(segment)) {
+      // it is deleted once the force in progress completes
+      deferredDeletes.add(segment);
+    } else {
+      segment.delete();
+    }
+  }
+
+  private void deleteSegments() {
+    for (Segment segment : new ArrayList<>(segments.values())) {
+      deleteSegment(segment);
+    }
+    positions.clear();
+    writeSegment = null;
+    // nothing left to force for the operations waiting for it
+    syncedSequence = writtenSequence;
+    notifyAll();
+  }
+
+  private Serializable deserialize(byte[] valueAsBytes) {
+    return serializer.getInternalProtocol().deserialize(valueAsBytes);
+  }
+
+  private static long toPosition(int segmentId, int offset) {
+    return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  private static int segmentId(long position) {
+    return (int) (position >>> 32);
+  }
+
+  private static int offset(long position) {
+    return (int) position;
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private int writePosition = 0;
+    private int liveCount = 0;
+    private boolean dirty = false;
+
+    private Segment(int id, File file, RandomAccessFile randomAccessFile, MappedByteBuffer buffer) {
+      this.id = id;
+      this.file = file;
+      this.randomAccessFile = randomAccessFile;
+      this.buffer = buffer;
+    }
+
+    private void close() {
+      // unmapped right away, so the file can be deleted and its space is freed without waiting for the garbage collector
+      unmap(buffer);
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Error closing queue store file", e);
+      }
+    }
+
+    private void delete() {
+      close();
+      if (!file.delete()) {
+        LOGGER.warn("Could not delete queue store file {}", file.getAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * A double ended queue of primitive positions, backed by a circular array.
+   */
+  private static final class PositionsDeque {
+
+    private long[] elements = new long[16];
+    private int head = 0;
+    private int size = 0;
+
+    private void addFirst(long position) {
+      ensureCapacity();
+      head = (head - 1 + elements.length) % elements.length;
+      elements[head] = position;
+      size++;
+    }
+
+    private void addLast(long position) {
+      ensureCapacity();
+      elements[(head + size) % elements.length] = position;
+      size++;
+    }
+
+    private long getFirst() {
+      return elements[head];
+    }
+
+    private long removeFirst() {
+      final long position = elements[head];
+      head = (head + 1) % elements.length;
+      size--;
+      return position;
+    }
+
+    private long get(int index) {
+      return elements[(head + index) % elements.length];
+    }
+
+    private void remove(int index) {
+      for (int i = index; i < size - 1; i++) {
+        elements[(head + i) % elements.length] = elements[(head + i + 1) % elements.length];
+      }
+      size--;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void clear() {
+      head = 0;
+      size = 0;
+    }
+
+    private void ensureCapacity() {
+      if (size < elements.length) {
+        return;
+      }
+
+      long[] expanded = new long[elements.length * 2];
+      for (int i = 0; i < size; i++) {
+        expanded[i] = get(i);
+      }
+      elements = expanded;
+      head = 0;
+    }
+  }
+}
@@ -0,0 +1,793 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentObjectStorePartition} which, instead of writing one file per entry, appends every store and remove operation
+ * to a log made of segment files.
+ * <p>
+ * All the live entries are tracked in an in-memory hash index which points to the position of each value in the log, and which is
+ * kept in the order in which entries were stored. That allows {@link #expire(long, int)} to only visit the entries that are
+ * actually expired instead of listing the partition directory.
+ * <p>
+ * Once a segment reaches its max size, a new one is started. When at least half of the data in the sealed segments belongs to
+ * removed entries, those segments are compacted by copying the live records into new segments and deleting the old ones.
+ * <p>
+ * Each record carries a sequence number, so the state can be rebuilt on startup no matter the order in which records were
+ * compacted. Records which were partially written are discarded. Entries stored by a {@link PersistentObjectStorePartition} in
+ * the same directory are migrated into the log the first time the partition is loaded, and their files are kept with a
+ * {@code .migrated} suffix instead of being deleted.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.6.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T>
+    implements Disposable {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  static final int DEFAULT_MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String SEGMENT_FILE_EXTENSION = ".log";
+  private static final String COMPACTION_MANIFEST_FILE = "compaction-manifest";
+  private static final String MIGRATED_FILE_SUFFIX = ".migrated";
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+
+  // payload length, crc, type, sequence and timestamp
+  private static final int HEADER_SIZE = 4 + 4 + 1 + 8 + 8;
+  // the crc covers everything after itself
+  private static final int CRC_OFFSET = 8;
+
+  private final ObjectSerializer serializer;
+  private final int maxSegmentSize;
+
+  private Map<String, Entry> index = new LinkedHashMap<>();
+  private List<Segment> segments = new ArrayList<>();
+  private Segment activeSegment;
+  private int nextSegmentId = 0;
+  private long nextSequence = 0;
+  private volatile boolean loaded = false;
+
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+  private final Lock rLock = rwLock.readLock();
+  private final Lock wLock = rwLock.writeLock();
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                    int maxSegmentSize) {
+    super(muleContext, partitionName, partitionDirectory);
+    serializer = muleContext.getObjectSerializer();
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    serializer = muleContext.getObjectSerializer();
+    maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        getPartitionDirectory().delete();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * Closes the segment files without deleting them, so their entries are available again when this partition or a new one for the
+   * same directory is accessed.
+   */
+  @Override
+  public void dispose() {
+    wLock.lock();
+    try {
+      closeSegments();
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        createOrRetrievePartitionDescriptorFile();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+      }
+      loaded = true;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+
+    rLock.lock();
+    try {
+      return unmodifiableList(new ArrayList<>(index.keySet()));
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    rLock.lock();
+    try {
+      return index.containsKey(key);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+    final byte[] valueBytes = serialize(value);
+
+    wLock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+
+      Entry entry = append(PUT, key, valueBytes, nextSequence++, currentTimeMillis());
+      entry.segment.liveBytes += entry.length;
+      index.put(key, entry);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] valueBytes;
+    rLock.lock();
+    try {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      valueBytes = readValue(entry);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      rLock.unlock();
+    }
+
+    return deserialize(valueBytes);
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    final Map<String, byte[]> valuesBytes;
+    rLock.lock();
+    try {
+      valuesBytes = new LinkedHashMap<>(index.size());
+      for (Map.Entry<String, Entry> entry : index.entrySet()) {
+        valuesBytes.put(entry.getKey(), readValue(entry.getValue()));
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      rLock.unlock();
+    }
+
+    Map<String, T> values = new LinkedHashMap<>(valuesBytes.size());
+    for (Map.Entry<String, byte[]> entry : valuesBytes.entrySet()) {
+      values.put(entry.getKey(), deserialize(entry.getValue()));
+    }
+    return values;
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] valueBytes;
+    wLock.lock();
+    try {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      valueBytes = readValue(entry);
+      remove(key, entry);
+      compactIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+
+    return deserialize(valueBytes);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    wLock.lock();
+    try {
+      Iterator<Map.Entry<String, Entry>> entries = index.entrySet().iterator();
+      int excess = maxEntries == UNBOUNDED ? 0 : index.size() - maxEntries;
+      final long now = currentTimeMillis();
+
+      while (entries.hasNext()) {
+        Map.Entry<String, Entry> entry = entries.next();
+        if (excess > 0) {
+          excess--;
+        } else if (entryTTL == UNBOUNDED || (now - entry.getValue().timestamp) < entryTTL) {
+          break;
+        }
+
+        entries.remove();
+        appendRemove(entry.getKey(), entry.getValue());
+      }
+
+      compactIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private void remove(String key, Entry entry) throws IOException {
+    index.remove(key);
+    appendRemove(key, entry);
+  }
+
+  private void appendRemove(String key, Entry entry) throws IOException {
+    entry.segment.liveBytes -= entry.length;
+    append(REMOVE, key, new byte[0], nextSequence++, currentTimeMillis());
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  private void load() throws ObjectStoreException {
+    wLock.lock();
+    // The state is only published once all the segments are read, so a failed load leaves nothing half initialized behind
+    final List<Segment> loadedSegments = new ArrayList<>();
+    try {
+      if (loaded) {
+        return;
+      }
+
+      completeInterruptedCompaction();
+
+      Map<String, Entry> live = new HashMap<>();
+      Map<String, Long> removed = new HashMap<>();
+      int loadedNextSegmentId = nextSegmentId;
+      long loadedNextSequence = nextSequence;
+      for (File file : listSegmentFiles()) {
+        Segment segment = openSegment(file, parseSegmentId(file));
+        loadedSegments.add(segment);
+        loadedNextSegmentId = max(loadedNextSegmentId, segment.id + 1);
+        loadedNextSequence = max(loadedNextSequence, scan(segment, live, removed));
+      }
+
+      Map<String, Entry> loadedIndex = new LinkedHashMap<>();
+      live.values().stream()
+          .sorted(comparingLong(entry -> entry.sequence))
+          .forEach(entry -> {
+            entry.segment.liveBytes += entry.length;
+            loadedIndex.put(entry.key, entry);
+          });
+
+      segments = loadedSegments;
+      index = loadedIndex;
+      nextSegmentId = loadedNextSegmentId;
+      nextSequence = loadedNextSequence;
+
+      migrateLegacyFiles();
+      loaded = true;
+    } catch (Exception e) {
+      // The migration may fail once the loaded state is published, so both are released
+      loadedSegments.forEach(Segment::close);
+      closeSegments();
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                getPartitionDirectory().getAbsolutePath())),
+                                     e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * Reads all the records in the given {@code segment}, applying them on the {@code live} entries. Since compaction may move
+   * records, they're not necessarily found in sequence order, so the sequence of the last removal of each key is tracked in the
+   * {@code removed} map.
+   *
+   * @return the sequence that follows the ones of the records in the {@code segment}
+   */
+  private long scan(Segment segment, Map<String, Entry> live, Map<String, Long> removed) throws IOException {
+    final long fileSize = segment.channel.size();
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    long position = 0;
+    long segmentNextSequence = 0;
+
+    while (position + HEADER_SIZE <= fileSize) {
+      header.clear();
+      readFully(segment.channel, header, position);
+      header.flip();
+
+      final int payloadLength = header.getInt();
+      final int crc = header.getInt();
+      if (payloadLength < 4 || position + HEADER_SIZE + payloadLength > fileSize) {
+        break;
+      }
+
+      ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+      readFully(segment.channel, payload, position + HEADER_SIZE);
+      if (crc != crc(header.array(), payload.array())) {
+        break;
+      }
+
+      final byte type = header.get();
+      final long sequence = header.getLong();
+      final long timestamp = header.getLong();
+      payload.flip();
+      final int keyLength = payload.getInt();
+      if (keyLength < 0 || keyLength > payloadLength - 4) {
+        break;
+      }
+
+      final String key = new String(payload.array(), 4, keyLength, UTF_8);
+      final Entry current = live.get(key);
+      if (type == PUT) {
+        Long removedSequence = removed.get(key);
+        if ((removedSequence == null || removedSequence < sequence) && (current == null || current.sequence < sequence)) {
+          live.put(key, new Entry(key, segment, position, HEADER_SIZE + payloadLength, keyLength, sequence, timestamp));
+        }
+      } else if (type == REMOVE) {
+        if (current != null && current.sequence < sequence) {
+          live.remove(key);
+        }
+        removed.merge(key, sequence, Math::max);
+      }
+
+      segmentNextSequence = max(segmentNextSequence, sequence + 1);
+      position += HEADER_SIZE + payloadLength;
+    }
+
+    if (position < fileSize) {
+      LOGGER.warn("Found incomplete or corrupted records at the end of object store file {}. They will be discarded.",
+                  segment.file.getAbsolutePath());
+      segment.channel.truncate(position);
+    }
+    segment.size = position;
+    return segmentNextSequence;
+  }
+
+  /**
+   * Moves the entries stored in the one file per entry format used by {@link PersistentObjectStorePartition} into the log. The
+   * migrated files are renamed with a {@code .migrated} suffix rather than deleted, so they are still around to recover from if
+   * needed.
+   */
+  private void migrateLegacyFiles() throws IOException, ObjectStoreException {
+    File[] files = listValuesFiles();
+    if (files.length == 0) {
+      return;
+    }
+
+    Arrays.sort(files, (f1, f2) -> {
+      int result = Long.compare(f1.lastModified(), f2.lastModified());
+      if (result == 0) {
+        result = f1.getName().compareTo(f2.getName());
+      }
+      return result;
+    });
+
+    List<File> migrated = new ArrayList<>(files.length);
+    for (File file : files) {
+      StoreValue<T> storeValue;
+      try {
+        storeValue = deserialize(file);
+      } catch (ObjectStoreException e) {
+        if (LOGGER.isWarnEnabled()) {
+          LOGGER
+              .warn(format("Could not deserialize the ObjectStore file: %s. The file will be skipped and moved to the Garbage folder",
+                           file.getName()));
+        }
+        moveToCorruptedFilesFolder(file);
+        continue;
+      }
+
+      final String key = storeValue.getKey().toString();
+      if (!index.containsKey(key)) {
+        Entry entry = append(PUT, key, serialize(storeValue.getValue()), nextSequence++, file.lastModified());
+        entry.segment.liveBytes += entry.length;
+        index.put(key, entry);
+      }
+      migrated.add(file);
+    }
+
+    if (activeSegment != null) {
+      activeSegment.channel.force(true);
+    }
+
+    for (File file : migrated) {
+      if (!file.renameTo(new File(file.getParentFile(), file.getName() + MIGRATED_FILE_SUFFIX))) {
+        LOGGER.warn("Could not rename migrated object store file {}", file.getAbsolutePath());
+      }
+    }
+  }
+
+  private Entry append(byte type, String key, byte[] value, long sequence, long timestamp) throws IOException {
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    final int payloadLength = 4 + keyBytes.length + value.length;
+
+    ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+    record.putInt(payloadLength);
+    record.putInt(0);
+    record.put(type);
+    record.putLong(sequence);
+    record.putLong(timestamp);
+    record.putInt(keyBytes.length);
+    record.put(keyBytes);
+    record.put(value);
+
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), CRC_OFFSET, record.capacity() - CRC_OFFSET);
+    record.putInt(4, (int) crc.getValue());
+    record.flip();
+
+    Segment segment = getActiveSegment(record.capacity());
+    final long offset = segment.size;
+    writeFully(segment.channel, record, offset);
+    segment.size += record.capacity();
+
+    return new Entry(key, segment, offset, record.capacity(), keyBytes.length, sequence, timestamp);
+  }
+
+  private Segment getActiveSegment(int recordLength) throws IOException {
+    if (activeSegment == null || (activeSegment.size > 0 && activeSegment.size + recordLength > maxSegmentSize)) {
+      activeSegment = createSegment();
+      segments.add(activeSegment);
+    }
+
+    return activeSegment;
+  }
+
+  /**
+   * Copies all the live records in the sealed segments into new segments and deletes the old ones, if at least half the data in
+   * the sealed segments belong to entries that are no longer present.
+   * <p>
+   * The whole set of sealed segments is compacted at once, so that the removal records that are dropped never refer to an entry
+   * which still exists in another segment.
+   */
+  private void compactIfNeeded() throws IOException {
+    long sealedSize = 0;
+    long sealedLiveBytes = 0;
+    for (Segment segment : segments) {
+      if (segment != activeSegment) {
+        sealedSize += segment.size;
+        sealedLiveBytes += segment.liveBytes;
+      }
+    }
+
+    if (sealedSize < maxSegmentSize || sealedLiveBytes * 2 > sealedSize) {
+      return;
+    }
+
+    List<Segment> compacted = new ArrayList<>();
+    Segment target = null;
+    for (Entry entry : index.values()) {
+      if (entry.segment == activeSegment) {
+        continue;
+      }
+
+      if (target == null || (target.size > 0 && target.size + entry.length > maxSegmentSize)) {
+        if (target != null) {
+          target.channel.force(true);
+        }
+        target = createSegment();
+        compacted.add(target);
+      }
+
+      ByteBuffer record = ByteBuffer.allocate(entry.length);
+      readFully(entry.segment.channel, record, entry.offset);
+      record.flip();
+      writeFully(target.channel, record, target.size);
+
+      entry.segment = target;
+      entry.offset = target.size;
+      target.size += entry.length;
+      target.liveBytes += entry.length;
+    }
+
+    if (target != null) {
+      target.channel.force(true);
+    }
+
+    List<Segment> obsolete = new ArrayList<>();
+    for (Segment segment : segments) {
+      if (segment != activeSegment) {
+        obsolete.add(segment);
+      }
+    }
+    writeCompactionManifest(obsolete);
+    obsolete.forEach(Segment::delete);
+    deleteCompactionManifest();
+
+    if (activeSegment != null) {
+      compacted.add(activeSegment);
+    }
+    segments = compacted;
+  }
+
+  /**
+   * Records which segments are about to be deleted, so that if the process dies before all of them are gone, the rest are deleted
+   * on startup. Otherwise, a removal record could be lost while the entry it removed is still present in another segment.
+   */
+  private void writeCompactionManifest(List<Segment> obsolete) throws IOException {
+    File manifest = new File(getPartitionDirectory(), COMPACTION_MANIFEST_FILE);
+    File tempManifest = new File(getPartitionDirectory(), COMPACTION_MANIFEST_FILE + ".tmp");
+
+    StringBuilder content = new StringBuilder();
+    obsolete.forEach(segment -> content.append(segment.id).append('\n'));
+    try (RandomAccessFile file = new RandomAccessFile(tempManifest, "rw")) {
+      file.setLength(0);
+      writeFully(file.getChannel(), ByteBuffer.wrap(content.toString().getBytes(UTF_8)), 0);
+      file.getChannel().force(true);
+    }
+
+    move(tempManifest.toPath(), manifest.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  private void deleteCompactionManifest() {
+    File manifest = new File(getPartitionDirectory(), COMPACTION_MANIFEST_FILE);
+    if (!manifest.delete()) {
+      LOGGER.warn("Could not delete object store file {}", manifest.getAbsolutePath());
+    }
+  }
+
+  /**
+   * Finishes a compaction which was interrupted while deleting the compacted segments.
+   */
+  private void completeInterruptedCompaction() throws IOException {
+    new File(getPartitionDirectory(), COMPACTION_MANIFEST_FILE + ".tmp").delete();
+
+    File manifest = new File(getPartitionDirectory(), COMPACTION_MANIFEST_FILE);
+    if (!manifest.exists()) {
+      return;
+    }
+
+    for (String id : readAllLines(manifest.toPath(), UTF_8)) {
+      if (!id.trim().isEmpty()) {
+        File segment = segmentFile(parseInt(id.trim()));
+        if (segment.exists() && !segment.delete()) {
+          throw new IOException("Could not delete compacted object store file " + segment.getAbsolutePath());
+        }
+      }
+    }
+    deleteCompactionManifest();
+  }
+
+  private byte[] readValue(Entry entry) throws IOException {
+    final int valueOffset = HEADER_SIZE + 4 + entry.keyLength;
+    ByteBuffer value = ByteBuffer.allocate(entry.length - valueOffset);
+    readFully(entry.segment.channel, value, entry.offset + valueOffset);
+    return value.array();
+  }
+
+  private byte[] serialize(T value) throws ObjectStoreException {
+    try {
+      return serializer.getInternalProtocol().serialize(value);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private T deserialize(byte[] valueBytes) throws ObjectStoreException {
+    try {
+      return serializer.getInternalProtocol().deserialize(valueBytes);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private void closeSegments() {
+    segments.forEach(Segment::close);
+    segments = new ArrayList<>();
+    activeSegment = null;
+    index.clear();
+  }
+
+  private File[] listSegmentFiles() {
+    File[] files = getPartitionDirectory()
+        .listFiles(file -> file.isFile() && file.getName().startsWith(SEGMENT_FILE_PREFIX)
+            && file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    if (files == null) {
+      return new File[0];
+    }
+
+    Arrays.sort(files, comparingLong(file -> parseSegmentId(file)));
+    return files;
+  }
+
+  private int parseSegmentId(File file) {
+    String name = file.getName();
+    return parseInt(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_EXTENSION.length()));
+  }
+
+  private Segment createSegment() throws IOException {
+    final int id = nextSegmentId++;
+    return openSegment(segmentFile(id), id);
+  }
+
+  private File segmentFile(int id) {
+    return new File(getPartitionDirectory(), format("%s%010d%s", SEGMENT_FILE_PREFIX, id, SEGMENT_FILE_EXTENSION));
+  }
+
+  private Segment openSegment(File file, int id) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    return new Segment(id, file, randomAccessFile);
+  }
+
+  private static int crc(byte[] header, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(header, CRC_OFFSET, HEADER_SIZE - CRC_OFFSET);
+    crc.update(payload, 0, payload.length);
+    return (int) crc.getValue();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of object store file");
+      }
+      position += read;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  /**
+   * The location of the last record of a live entry
+   */
+  private static final class Entry {
+
+    private final String key;
+    private Segment segment;
+    private long offset;
+    private final int length;
+    private final int keyLength;
+    private final long sequence;
+    private final long timestamp;
+
+    private Entry(String key, Segment segment, long offset, int length, int keyLength, long sequence, long timestamp) {
+      this.key = key;
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.keyLength = keyLength;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+    }
+  }
+
+  /**
+   * One of the files that make up the log
+   */
+  private static final class Segment {
+
+    private final int id;
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private long size = 0;
+    private long liveBytes = 0;
+
+    private Segment(int id, File file, RandomAccessFile randomAccessFile) {
+      this.id = id;
+      this.file = file;
+      this.randomAccessFile = randomAccessFile;
+      channel = randomAccessFile.getChannel();
+    }
+
+    private void close() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close object store file", e);
+      }
+    }
+
+    private void delete() {
+      close();
+      if (!file.delete()) {
+        LOGGER.warn("Could not delete compacted object store file {}", file.getAbsolutePath());
+      }
+    }
+  }
+}
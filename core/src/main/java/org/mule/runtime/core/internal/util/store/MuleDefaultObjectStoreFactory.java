@@ -6,21 +6,49 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.core.internal.store.IndexedPartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 
 import java.io.Serializable;
 
 public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory {
 
+  /**
+   * When set to {@code true}, the default in memory object store keeps the entries of each partition in a list indexed by key, so
+   * that removals don't need to look for the entry's expiry information. See {@link IndexedPartitionedInMemoryObjectStore}.
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_INDEXED_IN_MEMORY_OBJECT_STORE = SYSTEM_PROPERTY_PREFIX + "objectstore.inMemory.indexed";
+
+  /**
+   * When set to {@code true}, the default persistent object store keeps its partitions in append only log files instead of one
+   * file per entry. See {@link LogStructuredObjectStorePartition}.
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_LOG_STRUCTURED_PERSISTENT_OBJECT_STORE =
+      SYSTEM_PROPERTY_PREFIX + "objectstore.persistent.logStructured";
+
   @Override
   public ObjectStore<Serializable> createDefaultInMemoryObjectStore() {
+    if (getBoolean(MULE_INDEXED_IN_MEMORY_OBJECT_STORE)) {
+      return new IndexedPartitionedInMemoryObjectStore<>();
+    }
     return new PartitionedInMemoryObjectStore<>();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultPersistentObjectStore() {
+    if (getBoolean(MULE_LOG_STRUCTURED_PERSISTENT_OBJECT_STORE)) {
+      return new PartitionedLogStructuredObjectStore<>();
+    }
     return new PartitionedPersistentObjectStore<>();
   }
 }
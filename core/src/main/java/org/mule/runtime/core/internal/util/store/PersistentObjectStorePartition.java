@@ -297,7 +297,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     parentFile.mkdir();
   }
 
-  private void moveToCorruptedFilesFolder(File file) throws IOException {
+  protected void moveToCorruptedFilesFolder(File file) throws IOException {
     Path workingDirectory = (new File(muleContext.getConfiguration().getWorkingDirectory()))
         .toPath().normalize();
     Path absoluteFilePath = file.toPath();
@@ -352,7 +352,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     return partitionDirectory;
   }
 
-  private File[] listValuesFiles() {
+  protected File[] listValuesFiles() {
     File[] files =
         partitionDirectory.listFiles((FileFilter) file -> !file.isDirectory() && file.getName().endsWith(OBJECT_FILE_EXTENSION));
     if (files == null) {
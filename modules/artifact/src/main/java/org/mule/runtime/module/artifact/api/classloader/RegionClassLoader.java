@@ -7,9 +7,12 @@
 
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactConstants.getApiClassifiers;
 
+import static java.lang.Character.MAX_VALUE;
+import static java.lang.Integer.getInteger;
 import static java.lang.Integer.toHexString;
 import static java.lang.String.format;
 import static java.lang.System.identityHashCode;
@@ -39,6 +42,11 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -72,16 +80,34 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
   private static final String CLASS_EXTENSION = ".class";
   private static final Logger LOGGER = getLogger(RegionClassLoader.class);
 
+  /**
+   * Maximum amount of resource names that were not found in the region to remember, so that repeated lookups for them are
+   * answered without querying the region members. A value of {@code 0} disables the cache.
+   *
+   * @since 4.6.0
+   */
+  public static final String MISSING_RESOURCES_CACHE_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "classloader.region.missingResourcesCacheSize";
+
+  private static final int MISSING_RESOURCES_CACHE_SIZE = getInteger(MISSING_RESOURCES_CACHE_SIZE_PROPERTY, 4096);
+
   private final ReadWriteLock innerStateRWLock = new ReentrantReadWriteLock();
   private final Lock innerStateReadLock = innerStateRWLock.readLock();
   private final Lock innerStateWriteLock = innerStateRWLock.writeLock();
 
   private final List<RegionMemberClassLoader> registeredClassLoaders = new ArrayList<>();
   private final Map<String, ArtifactClassLoader> packageMapping = new HashMap<>();
-  private final Map<String, List<ArtifactClassLoader>> resourceMapping = new HashMap<>();
+  // Sorted so that the resources under a given folder can be found with a range query instead of going through all of them
+  private final NavigableMap<String, List<ArtifactClassLoader>> resourceMapping = new TreeMap<>();
   private final Object descriptorMappingLock = new Object();
   private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new HashMap<>();
 
+  private final Set<String> missingResources = ConcurrentHashMap.newKeySet();
+  private volatile int resourceMappingVersion = 0;
+  private final LongAdder resourceLookups = new LongAdder();
+  private final LongAdder missingResourcesCacheHits = new LongAdder();
+  private final LongAdder unmappedResourceLookups = new LongAdder();
+
   private ArtifactClassLoader ownerClassLoader;
   private ArtifactClassLoaderFilter ownerFilter;
 
@@ -185,6 +211,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
             resourceMapping.computeIfAbsent(packageAsDirectory + PATH_SEPARATOR, k -> new ArrayList<>());
         classLoaders.add(artifactClassLoader);
       }
+
+      invalidateMissingResources();
     } finally {
       innerStateWriteLock.unlock();
     }
@@ -265,6 +293,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       }
 
       registeredClassLoaders.remove(index);
+      invalidateMissingResources();
 
       return true;
     } finally {
@@ -295,6 +324,37 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
   @Override
   public final URL findResource(final String name) {
+    resourceLookups.increment();
+    if (missingResources.contains(name)) {
+      missingResourcesCacheHits.increment();
+      return null;
+    }
+
+    final int version = resourceMappingVersion;
+    URL url = doFindResource(name);
+    if (url == null && MISSING_RESOURCES_CACHE_SIZE > 0) {
+      rememberMissingResource(name, version);
+    }
+    return url;
+  }
+
+  private void rememberMissingResource(String name, int version) {
+    if (missingResources.size() >= MISSING_RESOURCES_CACHE_SIZE) {
+      missingResources.clear();
+    }
+    missingResources.add(name);
+    // A region member may have been added while the resource was being looked up
+    if (version != resourceMappingVersion) {
+      missingResources.remove(name);
+    }
+  }
+
+  private void invalidateMissingResources() {
+    resourceMappingVersion++;
+    missingResources.clear();
+  }
+
+  private URL doFindResource(final String name) {
     String normalizedName = normalize(name, true);
     // Check exported resources and all matching artifacts
     final List<ArtifactClassLoader> artifactClassLoaders = resourceMapping.get(normalizedName);
@@ -381,6 +441,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       String resourceFolder = name.substring(0, lastIndexOfPackageSeparator != -1 ? lastIndexOfPackageSeparator : 0);
       List<ArtifactClassLoader> resourceFolderArtifactClassLoaders = resourceMapping.get(resourceFolder);
       if (resourceFolderArtifactClassLoaders == null) {
+        unmappedResourceLookups.increment();
         return null;
       }
       for (ArtifactClassLoader resourceFolderArtifactClassLoader : resourceFolderArtifactClassLoaders) {
@@ -389,6 +450,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
           return url;
         }
       }
+    } else {
+      unmappedResourceLookups.increment();
     }
 
     return null;
@@ -396,22 +459,25 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
   @Override
   public final Enumeration<URL> findResources(final String name) throws IOException {
+    resourceLookups.increment();
     String normalizedName = normalize(name, true);
     List<Enumeration<URL>> enumerations = new ArrayList<>(registeredClassLoaders.size());
     if (normalizedName.endsWith("/")) {
-      List<Map.Entry<String, List<ArtifactClassLoader>>> entries = resourceMapping.entrySet()
-          .stream()
-          .filter(entry -> entry.getKey().startsWith(name))
-          .collect(toList());
-      for (Map.Entry<String, List<ArtifactClassLoader>> entry : entries) {
-        List<ArtifactClassLoader> artifactClassLoaders = entry.getValue();
+      // All the keys starting with name are in the range [name, name + MAX_VALUE)
+      Map<String, List<ArtifactClassLoader>> entries = resourceMapping.subMap(name, true, name + MAX_VALUE, false);
+      if (entries.isEmpty()) {
+        unmappedResourceLookups.increment();
+      }
+      for (List<ArtifactClassLoader> artifactClassLoaders : entries.values()) {
         for (ArtifactClassLoader artifactClassLoader : artifactClassLoaders) {
           enumerations.add(artifactClassLoader.findResources(name));
         }
       }
     } else {
       final List<ArtifactClassLoader> artifactClassLoaders = resourceMapping.get(normalizedName);
-      if (artifactClassLoaders != null) {
+      if (artifactClassLoaders == null) {
+        unmappedResourceLookups.increment();
+      } else {
         for (ArtifactClassLoader artifactClassLoader : artifactClassLoaders) {
 
           final Enumeration<URL> partialResources = artifactClassLoader.findResources(normalizedName);
@@ -438,6 +504,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     descriptorMapping.clear();
     packageMapping.clear();
     resourceMapping.clear();
+    missingResources.clear();
 
     disposeClassLoader(ownerClassLoader);
     super.dispose();
@@ -468,6 +535,30 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     return ownerClassLoader;
   }
 
+  /**
+   * @return the amount of times {@link #findResource(String)} or {@link #findResources(String)} were called on this region.
+   * @since 4.6.0
+   */
+  public long getResourceLookupsCount() {
+    return resourceLookups.sum();
+  }
+
+  /**
+   * @return the amount of resource lookups answered from the cache of resources known to be missing in this region.
+   * @since 4.6.0
+   */
+  public long getMissingResourcesCacheHitsCount() {
+    return missingResourcesCacheHits.sum();
+  }
+
+  /**
+   * @return the amount of resource lookups for which no member of this region exports a matching resource.
+   * @since 4.6.0
+   */
+  public long getUnmappedResourceLookupsCount() {
+    return unmappedResourceLookups.sum();
+  }
+
   @Override
   public String toString() {
     return format("%s[%s] @%s", getClass().getName(), getArtifactId(), toHexString(identityHashCode(this)));
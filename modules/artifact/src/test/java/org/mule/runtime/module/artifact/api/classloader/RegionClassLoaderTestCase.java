@@ -658,6 +658,45 @@ public class RegionClassLoaderTestCase extends AbstractMuleTestCase {
                                                 new URL("http://com.mycompany/SomeOtherClass.class")));
   }
 
+  @Test
+  public void missingResourceLookupIsCachedUntilRegionChanges() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    RegionClassLoader regionClassLoader = new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy);
+    createClassLoaders(parentClassLoader);
+    regionClassLoader.addClassLoader(appClassLoader, NULL_CLASSLOADER_FILTER);
+
+    assertThat(regionClassLoader.findResource(RESOURCE_NAME), is(CoreMatchers.nullValue()));
+    assertThat(regionClassLoader.findResource(RESOURCE_NAME), is(CoreMatchers.nullValue()));
+    assertThat(regionClassLoader.getResourceLookupsCount(), is(2L));
+    assertThat(regionClassLoader.getMissingResourcesCacheHitsCount(), is(1L));
+    assertThat(regionClassLoader.getUnmappedResourceLookupsCount(), is(1L));
+
+    pluginClassLoader.addResource(RESOURCE_NAME, PLUGIN_LOADED_RESOURCE);
+    regionClassLoader.addClassLoader(pluginClassLoader,
+                                     new DefaultArtifactClassLoaderFilter(emptySet(), singleton(RESOURCE_NAME)));
+
+    assertThat(regionClassLoader.findResource(RESOURCE_NAME), is(PLUGIN_LOADED_RESOURCE));
+    assertThat(regionClassLoader.getMissingResourcesCacheHitsCount(), is(1L));
+  }
+
+  @Test
+  public void findResourcesInFolderOnlyQueriesExportingMembers() throws Exception {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    RegionClassLoader regionClassLoader = new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy);
+    createClassLoaders(parentClassLoader);
+    appClassLoader.addResource("META-INF/services/", APP_LOADED_RESOURCE);
+    pluginClassLoader.addResource("META-INF/services/", PLUGIN_LOADED_RESOURCE);
+
+    regionClassLoader.addClassLoader(appClassLoader,
+                                     new DefaultArtifactClassLoaderFilter(emptySet(), singleton("META-INF/services/a.Service")));
+    regionClassLoader.addClassLoader(pluginClassLoader,
+                                     new DefaultArtifactClassLoaderFilter(emptySet(), singleton("META-INF/other/b.txt")));
+
+    assertThat(list(regionClassLoader.findResources("META-INF/services/")), contains(APP_LOADED_RESOURCE));
+    assertThat(list(regionClassLoader.findResources("META-INF/missing/")), is(empty()));
+    assertThat(regionClassLoader.getUnmappedResourceLookupsCount(), is(1L));
+  }
+
   @Test
   @Issue("W-11698566")
   @Description("The RegionClassLoader does not keep a reference to packages and resources mappings, which could cause a MuleArtifactClassLoader leak.")
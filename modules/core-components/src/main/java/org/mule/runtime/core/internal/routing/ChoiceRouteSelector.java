@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.regex.Pattern.compile;
+import static org.mule.runtime.api.metadata.MediaType.ANY;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JAVA;
+import static org.mule.runtime.api.metadata.MediaType.TEXT;
+
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the first route of a {@link ChoiceRouter} that accepts an event.
+ * <p>
+ * When hash dispatch is enabled, consecutive routes which expression compares a same selector for equality with a string literal
+ * (for instance, {@code #[attributes.headers.type == 'order']}) are grouped, so the selector is evaluated only once and the route
+ * is looked up by its value instead of evaluating each expression. Any other route, and the grouped ones when the selector does
+ * not evaluate to a plain {@link String} (one which media type is {@code application/java}, {@code text/plain} or the wildcard
+ * one), are evaluated sequentially, so the selected route is always the same as evaluating each expression in order.
+ *
+ * @since 4.6.0
+ */
+final class ChoiceRouteSelector {
+
+  private static final String LITERAL = "'[^'\\\\$]*'|\"[^\"\\\\$]*\"";
+  private static final String NAME = "[a-zA-Z_][a-zA-Z0-9_]*";
+  private static final String SELECTOR = NAME + "(?:\\.(?:" + NAME + "|" + LITERAL + ")|\\[(?:" + LITERAL + ")\\])*";
+  private static final Pattern EQUALITY = compile("\\s*(?:(" + SELECTOR + ")\\s*==\\s*(" + LITERAL + ")"
+      + "|(" + LITERAL + ")\\s*==\\s*(" + SELECTOR + "))\\s*");
+  private static final Pattern EXPRESSION = compile("#\\[(.*)\\]", Pattern.DOTALL);
+
+  private final List<Segment> segments = new ArrayList<>();
+  private int dispatchedRoutes;
+
+  /**
+   * @param routes       the routes of the {@link ChoiceRouter}, in order
+   * @param hashDispatch whether routes comparing a same selector against string literals are to be looked up by value
+   */
+  ChoiceRouteSelector(List<ProcessorRoute> routes, boolean hashDispatch) {
+    if (!hashDispatch) {
+      segments.add(new SequentialSegment(0, routes.size()));
+      return;
+    }
+
+    int index = 0;
+    while (index < routes.size()) {
+      final Equality equality = Equality.of(routes.get(index));
+      if (equality == null) {
+        segments.add(new SequentialSegment(index, index + 1));
+        index++;
+        continue;
+      }
+
+      final Map<String, Integer> routesByValue = new HashMap<>();
+      int end = index;
+      Equality next = equality;
+      while (next != null && next.selector.equals(equality.selector)) {
+        // The first route for a value is the one that would be selected
+        routesByValue.putIfAbsent(next.value, end);
+        end++;
+        next = end < routes.size() ? Equality.of(routes.get(end)) : null;
+      }
+
+      if (end - index > 1) {
+        segments.add(new DispatchSegment(equality.selector, routesByValue, index, end));
+        dispatchedRoutes += end - index;
+      } else {
+        segments.add(new SequentialSegment(index, end));
+      }
+      index = end;
+    }
+  }
+
+  /**
+   * @param session the session to evaluate the expressions with
+   * @param routes  the routes to select from, in the same order as the ones this selector was created with
+   * @return the index of the first route that accepts the event, or {@code -1} if none does
+   */
+  int select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+    for (Segment segment : segments) {
+      final int selected = segment.select(session, routes);
+      if (selected >= 0) {
+        return selected;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return how many routes are selected by looking up the value of their selector.
+   */
+  int getDispatchedRoutes() {
+    return dispatchedRoutes;
+  }
+
+  private static int selectSequentially(ExpressionManagerSession session, List<ExecutableRoute> routes, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (routes.get(i).shouldExecute(session)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private interface Segment {
+
+    int select(ExpressionManagerSession session, List<ExecutableRoute> routes);
+  }
+
+  private static final class SequentialSegment implements Segment {
+
+    private final int from;
+    private final int to;
+
+    private SequentialSegment(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+      return selectSequentially(session, routes, from, to);
+    }
+  }
+
+  private static final class DispatchSegment implements Segment {
+
+    private final String selector;
+    private final Map<String, Integer> routesByValue;
+    private final int from;
+    private final int to;
+
+    private DispatchSegment(String selector, Map<String, Integer> routesByValue, int from, int to) {
+      this.selector = selector;
+      this.routesByValue = routesByValue;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+      final TypedValue<?> typedValue;
+      try {
+        typedValue = session.evaluate(selector);
+      } catch (RuntimeException e) {
+        // Let the expressions of the routes fail, if they do
+        return selectSequentially(session, routes, from, to);
+      }
+
+      final Object value = typedValue.getValue();
+      if (!(value instanceof String) || !isPlain(typedValue.getDataType().getMediaType())) {
+        // Other types may be coerced, and strings in other formats (JSON, for instance) read, when compared, so the expressions
+        // have to decide
+        return selectSequentially(session, routes, from, to);
+      }
+
+      final Integer selected = routesByValue.get(value);
+      return selected != null ? selected : -1;
+    }
+
+    private static boolean isPlain(MediaType mediaType) {
+      return APPLICATION_JAVA.matches(mediaType) || TEXT.matches(mediaType) || ANY.matches(mediaType);
+    }
+  }
+
+  /**
+   * A route which expression compares a selector for equality with a string literal.
+   */
+  private static final class Equality {
+
+    private final String selector;
+    private final String value;
+
+    private Equality(String selector, String value) {
+      this.selector = selector;
+      this.value = value;
+    }
+
+    private static Equality of(ProcessorRoute route) {
+      if (!(route instanceof ProcessorExpressionRoute)) {
+        return null;
+      }
+
+      String expression = ((ProcessorExpressionRoute) route).getExpression();
+      final Matcher wrapped = EXPRESSION.matcher(expression);
+      final boolean isWrapped = wrapped.matches();
+      if (isWrapped) {
+        expression = wrapped.group(1);
+      }
+
+      final Matcher matcher = EQUALITY.matcher(expression);
+      if (!matcher.matches()) {
+        return null;
+      }
+
+      final String selector = matcher.group(1) != null ? matcher.group(1) : matcher.group(4);
+      final String literal = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+      return new Equality(isWrapped ? "#[" + selector + "]" : selector, literal.substring(1, literal.length() - 1));
+    }
+  }
+}
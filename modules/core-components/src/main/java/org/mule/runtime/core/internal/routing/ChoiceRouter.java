@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
@@ -46,6 +48,21 @@ import reactor.core.publisher.Flux;
  */
 public class ChoiceRouter extends AbstractComponent implements Router, RouterStatisticsRecorder, Lifecycle, MuleContextAware {
 
+  /**
+   * System property key for enabling, by default, the hash dispatch of consecutive routes that compare a same selector for
+   * equality with string literals.
+   *
+   * @since 4.6.0
+   */
+  public static final String MULE_CHOICE_HASH_DISPATCH = SYSTEM_PROPERTY_PREFIX + "choice.hashDispatch";
+
+  /**
+   * Name with which the hits of the default route are recorded in the {@link RouterStatistics}.
+   *
+   * @since 4.6.0
+   */
+  public static final String DEFAULT_ROUTE_NAME = "otherwise";
+
   private final AtomicBoolean started = new AtomicBoolean(false);
   private final List<ProcessorRoute> routes = new ArrayList<>();
 
@@ -53,6 +70,9 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
   private RouterStatistics routerStatistics;
   private MuleContext muleContext;
   private ExpressionManager expressionManager;
+  private boolean hashDispatch = getBoolean(MULE_CHOICE_HASH_DISPATCH);
+  private ChoiceRouteSelector routeSelector;
+  private String[] routeNames;
 
   public ChoiceRouter() {
     routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
@@ -75,6 +95,13 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     }
     routes.add(new ProcessorRoute(defaultProcessor));
 
+    routeSelector = new ChoiceRouteSelector(routes, hashDispatch);
+    routeNames = routes.stream()
+        .map(route -> route instanceof ProcessorExpressionRoute
+            ? ((ProcessorExpressionRoute) route).getExpression()
+            : DEFAULT_ROUTE_NAME)
+        .toArray(String[]::new);
+
     for (ProcessorRoute route : routes) {
       route.setInitialSpanInfo(new ComponentExecutionInitialSpanInfo(this, ":route"));
       initialiseIfNeeded(route, muleContext);
@@ -114,6 +141,18 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     defaultProcessor = processor;
   }
 
+  /**
+   * Sets whether consecutive routes which expression compares a same selector for equality with a string literal (for instance,
+   * {@code #[attributes.headers.type == 'order']}) are selected by evaluating the selector once and looking up its value, instead
+   * of evaluating the expression of each route. The selected route is the same either way.
+   *
+   * @param hashDispatch whether hash dispatch is enabled. Defaults to the value of {@link #MULE_CHOICE_HASH_DISPATCH}.
+   * @since 4.6.0
+   */
+  public void setHashDispatch(boolean hashDispatch) {
+    this.hashDispatch = hashDispatch;
+  }
+
   @Override
   public CoreEvent process(CoreEvent event) throws MuleException {
     return processToApply(event, this);
@@ -130,6 +169,13 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     }
   }
 
+  private void updateStatistics(int routeIndex, Processor processor) {
+    if (getRouterStatistics() != null && getRouterStatistics().isEnabled()) {
+      getRouterStatistics().incrementRoutedMessage(processor);
+      getRouterStatistics().incrementRouteHit(routeNames[routeIndex]);
+    }
+  }
+
   public RouterStatistics getRouterStatistics() {
     return routerStatistics;
   }
@@ -158,12 +204,14 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
      */
     @Override
     protected void route(CoreEvent event) {
-      ExecutableRoute selectedRoute;
+      int selectedIndex;
       try (ExpressionManagerSession session = expressionManager.openSession(getLocation(), event, NULL_BINDING_CONTEXT)) {
-        selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        // The default route always accepts the event
+        selectedIndex = routeSelector.select(session, getRoutes());
       }
+      ExecutableRoute selectedRoute = getRoutes().get(selectedIndex);
       selectedRoute.execute(event);
-      updateStatistics(selectedRoute.getProcessor());
+      updateStatistics(selectedIndex, selectedRoute.getProcessor());
     }
 
   }
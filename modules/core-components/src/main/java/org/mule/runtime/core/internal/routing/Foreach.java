@@ -24,6 +24,8 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.AbstractMessageProcessorOwner;
@@ -59,6 +61,11 @@ import org.slf4j.Logger;
  * <p>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
+ * Defining a readAhead greater than zero makes the elements to be read in advance, on the IO scheduler, while the current ones
+ * are being processed. Elements are still processed one after the other, in order. This helps when reading the collection is
+ * slow, for instance when it is paged by a connector, and the time spent waiting for elements is tracked in
+ * {@link #getStatistics()}.
+ * <p>
  * The {@link CoreEvent} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Scope {
@@ -79,9 +86,15 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private SchedulerService schedulerService;
+
   private List<Processor> messageProcessors;
   private String expression = DEFAULT_SPLIT_EXPRESSION;
   private int batchSize = 1;
+  private int readAhead = 0;
+  private Scheduler readAheadScheduler;
+  private final ForeachStatistics statistics = new ForeachStatistics();
   private SplittingStrategy<CoreEvent, Iterator<TypedValue<?>>> splittingStrategy;
 
   private MessageProcessorChain nestedChain;
@@ -121,9 +134,22 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
         buildNewChainWithListOfProcessors(processingStrategy, messageProcessors,
                                           new ComponentExecutionInitialSpanInfo(this, ":iteration"));
     splittingStrategy = new ExpressionSplittingStrategy(expressionManager, expression);
+    if (readAhead > 0) {
+      readAheadScheduler =
+          schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig().withName(getLocation().getLocation() + ".readAhead"));
+    }
     super.initialise();
   }
 
+  @Override
+  public void dispose() {
+    if (readAheadScheduler != null) {
+      readAheadScheduler.stop();
+      readAheadScheduler = null;
+    }
+    super.dispose();
+  }
+
   public void setCollectionExpression(String expression) {
     this.expression = expression;
   }
@@ -132,6 +158,23 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.batchSize = batchSize;
   }
 
+  /**
+   * @param readAhead how many elements of the collection to read in advance while the current ones are processed. {@code 0}, the
+   *                  default, disables reading in advance.
+   * @since 4.6.0
+   */
+  public void setReadAhead(int readAhead) {
+    this.readAhead = readAhead;
+  }
+
+  /**
+   * @return the statistics about waiting for elements of the collection when read-ahead is enabled.
+   * @since 4.6.0
+   */
+  public ForeachStatistics getStatistics() {
+    return statistics;
+  }
+
   public String getRootMessageVariableName() {
     return rootMessageVariableName;
   }
@@ -169,6 +212,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
       result = new EventBuilderConfigurerIteratorWrapper((EventBuilderConfigurerIterator) payloadValue);
     } else {
       result = getSplittingStrategy().split(request);
+      if (readAheadScheduler != null) {
+        result = new ReadAheadIterator<>(result, readAhead, readAheadScheduler, statistics);
+      }
     }
     if (LOGGER.isDebugEnabled() && !result.hasNext()) {
       LOGGER.debug(
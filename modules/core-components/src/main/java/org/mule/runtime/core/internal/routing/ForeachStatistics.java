@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long a {@link Foreach} with read-ahead enabled waited for the items to iterate.
+ *
+ * @since 4.6.0
+ */
+public class ForeachStatistics {
+
+  private final LongAdder itemWaits = new LongAdder();
+  private final LongAdder itemWaitNanos = new LongAdder();
+  private final LongAdder readAheadHits = new LongAdder();
+
+  void addItemWait(long waitNanos) {
+    itemWaits.increment();
+    itemWaitNanos.add(waitNanos);
+  }
+
+  void addReadAheadHit() {
+    readAheadHits.increment();
+  }
+
+  /**
+   * @return the number of items that were not read in advance by the time they had to be processed.
+   */
+  public long getItemWaits() {
+    return itemWaits.sum();
+  }
+
+  /**
+   * @param unit the unit to return the time in
+   * @return the total time spent waiting for items that were not read in advance by the time they had to be processed.
+   */
+  public long getItemWaitTime(TimeUnit unit) {
+    return unit.convert(itemWaitNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @return the number of items that had already been read in advance by the time they had to be processed.
+   */
+  public long getReadAheadHits() {
+    return readAheadHits.sum();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Iterator} that reads up to {@code readAhead} items from a delegate {@link Iterator} in advance, on the given
+ * {@link Executor}, so that slow fetches (for instance, a paged connector fetching its next page) overlap with the processing of
+ * the items already read.
+ * <p>
+ * The delegate is only accessed by one task at a time, and items are returned in the same order as the delegate returns them.
+ * Exceptions thrown by the delegate are thrown by {@link #next()} when the item that failed is reached. The time spent waiting
+ * for items that were not yet available is recorded in the given {@link ForeachStatistics}.
+ * <p>
+ * Instances are not thread-safe, they are meant to be iterated by a single consumer at a time.
+ *
+ * @since 4.6.0
+ */
+class ReadAheadIterator<T> implements Iterator<T> {
+
+  private static final Object END = new Object();
+  private static final Object NULL_ITEM = new Object();
+
+  private final Iterator<T> delegate;
+  private final int readAhead;
+  private final Executor executor;
+  private final ForeachStatistics statistics;
+  private final ClassLoader contextClassLoader;
+
+  private final BlockingQueue<Object> items = new LinkedBlockingQueue<>();
+  private final AtomicBoolean fetching = new AtomicBoolean(false);
+  private volatile boolean exhausted = false;
+
+  private Object nextItem;
+
+  ReadAheadIterator(Iterator<T> delegate, int readAhead, Executor executor, ForeachStatistics statistics) {
+    this.delegate = delegate;
+    this.readAhead = readAhead;
+    this.executor = executor;
+    this.statistics = statistics;
+    this.contextClassLoader = currentThread().getContextClassLoader();
+    fill();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextItem == null) {
+      nextItem = take();
+    }
+    return nextItem != END;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    Object item = nextItem;
+    nextItem = null;
+    if (item instanceof ReadFailure) {
+      throw ((ReadFailure) item).failure;
+    }
+    return item == NULL_ITEM ? null : (T) item;
+  }
+
+  private Object take() {
+    Object item = items.poll();
+    if (item == null) {
+      fill();
+      final long waitStart = nanoTime();
+      try {
+        item = items.take();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the next item to iterate"), e);
+      }
+      statistics.addItemWait(nanoTime() - waitStart);
+    } else {
+      statistics.addReadAheadHit();
+    }
+
+    fill();
+    return item;
+  }
+
+  /**
+   * Triggers reading items in advance, unless it is already in progress or there are no more items to read.
+   */
+  private void fill() {
+    if (!exhausted && items.size() < readAhead && fetching.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::fetch);
+      } catch (RejectedExecutionException e) {
+        // Read in the consumer thread instead
+        fetch();
+      }
+    }
+  }
+
+  private void fetch() {
+    try {
+      withContextClassLoader(contextClassLoader, () -> {
+        while (!exhausted && items.size() < readAhead) {
+          Object item = readNext();
+          items.add(item);
+          if (item instanceof ReadFailure) {
+            items.add(END);
+          }
+        }
+      });
+    } finally {
+      fetching.set(false);
+    }
+
+    // The consumer may have taken items after the check above, while this fetch was still flagged as in progress
+    fill();
+  }
+
+  private Object readNext() {
+    try {
+      if (delegate.hasNext()) {
+        T item = delegate.next();
+        return item == null ? NULL_ITEM : item;
+      } else {
+        exhausted = true;
+        return END;
+      }
+    } catch (RuntimeException e) {
+      exhausted = true;
+      return new ReadFailure(e);
+    }
+  }
+
+  private static final class ReadFailure {
+
+    private final RuntimeException failure;
+
+    private ReadFailure(RuntimeException failure) {
+      this.failure = failure;
+    }
+  }
+}
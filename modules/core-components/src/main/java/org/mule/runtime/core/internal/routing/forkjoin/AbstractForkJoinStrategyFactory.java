@@ -59,6 +59,7 @@ import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -107,30 +108,55 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
                                               reactorTimeoutScheduler,
                                               timeoutErrorType),
                              maxConcurrency)
-          .reduce(new Pair<List<Pair<CoreEvent, EventProcessingException>>, Boolean>(new ArrayList<>(), false),
-                  (listBooleanPair, coreEventExceptionPair) -> {
-                    // Accumulates events and check if there is a (new) error within those events
-                    listBooleanPair.getFirst().add(coreEventExceptionPair);
-                    boolean hasNewError =
-                        coreEventExceptionPair.getFirst().getError().map(err -> !isOriginalError(err, original.getError()))
-                            .orElse(false);
-                    return new Pair<>(listBooleanPair.getFirst(), listBooleanPair.getSecond() || hasNewError);
-                  })
-          .doOnNext(listBooleanPair -> {
-            if (listBooleanPair.getSecond()) {
-              throw propagate(createCompositeRoutingException(listBooleanPair.getFirst().stream()
-                  .map(coreEventExceptionPair -> removeOriginalError(coreEventExceptionPair,
-                                                                     original.getError()))
-                  .collect(toList()), isDetailedLogEnabled));
-            }
-          })
-          .map(listBooleanPair -> listBooleanPair.getFirst().stream().map(Pair::getFirst).collect(Collectors.toList()))
-          .doOnNext(mergeVariables(original, resultBuilder))
-          .map(createResultEvent(original, resultBuilder));
+          .as(results -> aggregateResults(original, results, resultBuilder, isDetailedLogEnabled));
     };
   }
 
-  private boolean isOriginalError(Error newError, Optional<Error> originalError) {
+  /**
+   * Aggregates the results of the routes, in the order of the routing pairs, into the result event.
+   * <p>
+   * This implementation waits for all the results and uses {@link #createResultEvent(CoreEvent, CoreEvent.Builder)} to aggregate
+   * them. Implementations that don't need all the results at once may override it to aggregate them as they arrive.
+   *
+   * @param original             the original event
+   * @param results              the result event of each route, along with the exception if the route failed
+   * @param resultBuilder        a builder for the result event, based on the original event
+   * @param isDetailedLogEnabled if detailed error/exception message will be provided or not.
+   * @return the result event
+   * @since 4.6.0
+   */
+  protected Publisher<CoreEvent> aggregateResults(CoreEvent original, Flux<Pair<CoreEvent, EventProcessingException>> results,
+                                                  CoreEvent.Builder resultBuilder, boolean isDetailedLogEnabled) {
+    return results
+        .reduce(new Pair<List<Pair<CoreEvent, EventProcessingException>>, Boolean>(new ArrayList<>(), false),
+                (listBooleanPair, coreEventExceptionPair) -> {
+                  // Accumulates events and check if there is a (new) error within those events
+                  listBooleanPair.getFirst().add(coreEventExceptionPair);
+                  boolean hasNewError =
+                      coreEventExceptionPair.getFirst().getError().map(err -> !isOriginalError(err, original.getError()))
+                          .orElse(false);
+                  return new Pair<>(listBooleanPair.getFirst(), listBooleanPair.getSecond() || hasNewError);
+                })
+        .doOnNext(listBooleanPair -> {
+          if (listBooleanPair.getSecond()) {
+            throw propagate(createCompositeRoutingException(listBooleanPair.getFirst().stream()
+                .map(coreEventExceptionPair -> removeOriginalError(coreEventExceptionPair,
+                                                                   original.getError()))
+                .collect(toList()), isDetailedLogEnabled));
+          }
+        })
+        .map(listBooleanPair -> listBooleanPair.getFirst().stream().map(Pair::getFirst).collect(Collectors.toList()))
+        .doOnNext(mergeVariables(original, resultBuilder))
+        .map(createResultEvent(original, resultBuilder));
+  }
+
+  /**
+   * @param newError      an error of the result event of a route
+   * @param originalError the error of the original event, if any
+   * @return whether {@code newError} is the one the original event already had, instead of one raised by the route
+   * @since 4.6.0
+   */
+  protected boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
 
@@ -146,15 +172,18 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   }
 
   /**
-   * Template method to be implemented by implementations that defines how the list of result {@link CoreEvent}'s should be
-   * aggregated into a result {@link CoreEvent}
+   * Template method to be overridden by implementations that defines how the list of result {@link CoreEvent}'s should be
+   * aggregated into a result {@link CoreEvent} by {@link #aggregateResults(CoreEvent, Flux, CoreEvent.Builder, boolean)}.
+   * <p>
+   * This implementation discards the results of the routes, so the result event has the message of the original event.
    *
    * @param original      the original event
    * @param resultBuilder a result builder with the current state of result event builder including flow variable
    * @return the result event
    */
-  protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
-                                                                            CoreEvent.Builder resultBuilder);
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.build();
+  }
 
   private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).groupCorrelation(Optional.of(GroupCorrelation.of(count.getAndIncrement())))
@@ -228,8 +257,14 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         + pair.getEvent().getGroupCorrelation().get().getSequence() + "'";
   }
 
-  private CompositeRoutingException createCompositeRoutingException(List<Pair<CoreEvent, EventProcessingException>> results,
-                                                                    boolean isDetailedLogEnabled) {
+  /**
+   * @param results              the result event of each route to report, along with the exception if the route failed
+   * @param isDetailedLogEnabled if detailed error/exception message will be provided or not.
+   * @return the exception to propagate when any of the routes failed
+   * @since 4.6.0
+   */
+  protected CompositeRoutingException createCompositeRoutingException(List<Pair<CoreEvent, EventProcessingException>> results,
+                                                                      boolean isDetailedLogEnabled) {
     Map<String, Message> successMap = new LinkedHashMap<>();
     Map<String, Pair<Error, EventProcessingException>> errorMap = new LinkedHashMap<>();
 
@@ -259,20 +294,38 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         return;
       }
       Map<String, TypedValue<?>> routeVars = new HashMap<>();
-      list.forEach(event -> event.getVariables().forEach((key, typedValue) -> {
-        // Only merge variables that have been added or mutated in routes.
-        if (!typedValue.equals(original.getVariables().get(key))) {
-          if (!routeVars.containsKey(key)) {
-            addNewVariable(routeVars, key, typedValue);
-          } else {
-            addExistingVariable(routeVars, key, typedValue);
-          }
-        }
-      }));
+      list.forEach(event -> mergeRouteVariables(original, event, routeVars));
       routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue));
     };
   }
 
+  /**
+   * @return whether the variables set by the routes are merged into the result event
+   * @since 4.6.0
+   */
+  protected boolean isMergeVariables() {
+    return mergeVariables;
+  }
+
+  /**
+   * Accumulates into {@code routeVars} the variables that have been added or mutated by the route that produced
+   * {@code routeResult}.
+   *
+   * @since 4.6.0
+   */
+  protected static void mergeRouteVariables(CoreEvent original, CoreEvent routeResult, Map<String, TypedValue<?>> routeVars) {
+    routeResult.getVariables().forEach((key, typedValue) -> {
+      // Only merge variables that have been added or mutated in routes.
+      if (!typedValue.equals(original.getVariables().get(key))) {
+        if (!routeVars.containsKey(key)) {
+          addNewVariable(routeVars, key, typedValue);
+        } else {
+          addExistingVariable(routeVars, key, typedValue);
+        }
+      }
+    });
+  }
+
   private static void addNewVariable(Map<String, TypedValue<?>> routeVars, String key, TypedValue<?> typedValue) {
     if (typedValue.getValue() instanceof List) {
       // If the new variable is an instance of a List it creates a modifiable list with all the contained values to avoid adding
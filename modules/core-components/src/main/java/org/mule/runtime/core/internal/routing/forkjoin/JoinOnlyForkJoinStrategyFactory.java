@@ -13,9 +13,6 @@ import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 
-import java.util.List;
-import java.util.function.Function;
-
 /**
  * {@link ForkJoinStrategy} that:
  * <ul>
@@ -28,12 +25,6 @@ import java.util.function.Function;
  */
 public class JoinOnlyForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
 
-  @Override
-  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
-                                                                   CoreEvent.Builder resultBuilder) {
-    return list -> resultBuilder.build();
-  }
-
   @Override
   public DataType getResultDataType() {
     return OBJECT;
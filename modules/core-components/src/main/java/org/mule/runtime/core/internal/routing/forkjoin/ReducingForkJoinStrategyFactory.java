@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Objects.requireNonNull;
+
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Mono.defer;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.exception.EventProcessingException;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Merges variables using a last-wins strategy.
+ * <li>Folds the {@link Message} of each route into an accumulated value as soon as it, and the ones of the previous routes, are
+ * available, with an optional timeout.
+ * <li>Emits a result {@link CoreEvent} with the accumulated value as payload once all routes complete.
+ * <li>Will process all routes, regardless of errors, and propagating a composite exception where there were one or more errors.
+ * </ul>
+ * <p>
+ * Since route results are not kept after being folded, the number of results held in memory is bounded by {@code maxConcurrency}
+ * instead of by the number of routes. For the same reason, the {@link CompositeRoutingException} thrown when there are errors
+ * only contains the failed routes.
+ *
+ * @param <A> the type of the accumulated value
+ * @since 4.6.0
+ */
+public class ReducingForkJoinStrategyFactory<A> extends AbstractForkJoinStrategyFactory {
+
+  private final Supplier<A> initialValue;
+  private final BiFunction<A, Message, A> reducer;
+  private final DataType resultDataType;
+
+  /**
+   * @param initialValue   provides the initial accumulated value for each execution of the router. Must not be {@code null}
+   * @param reducer        folds the {@link Message} resulting from a route into the accumulated value, in the order of the
+   *                       routes. Must not return {@code null}
+   * @param resultDataType the {@link DataType} of the accumulated value
+   */
+  public ReducingForkJoinStrategyFactory(Supplier<A> initialValue, BiFunction<A, Message, A> reducer, DataType resultDataType) {
+    this(initialValue, reducer, resultDataType, true);
+  }
+
+  /**
+   * @param initialValue   provides the initial accumulated value for each execution of the router
+   * @param reducer        folds the {@link Message} resulting from a route into the accumulated value, in the order of the routes
+   * @param resultDataType the {@link DataType} of the accumulated value
+   * @param mergeVariables whether the variables set by the routes are merged into the result event
+   */
+  public ReducingForkJoinStrategyFactory(Supplier<A> initialValue, BiFunction<A, Message, A> reducer, DataType resultDataType,
+                                         boolean mergeVariables) {
+    super(mergeVariables);
+    this.initialValue = requireNonNull(initialValue);
+    this.reducer = requireNonNull(reducer);
+    this.resultDataType = requireNonNull(resultDataType);
+  }
+
+  @Override
+  protected Publisher<CoreEvent> aggregateResults(CoreEvent original, Flux<Pair<CoreEvent, EventProcessingException>> results,
+                                                  CoreEvent.Builder resultBuilder, boolean isDetailedLogEnabled) {
+    return defer(() -> {
+      final Map<String, TypedValue<?>> routeVars = new HashMap<>();
+      final List<Pair<CoreEvent, EventProcessingException>> failures = new ArrayList<>();
+
+      return results
+          .reduce(initialValue.get(), (accumulated, routeResult) -> {
+            CoreEvent routeEvent = routeResult.getFirst();
+            if (routeEvent.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false)) {
+              failures.add(routeResult);
+              return accumulated;
+            }
+
+            if (isMergeVariables()) {
+              mergeRouteVariables(original, routeEvent, routeVars);
+            }
+            return reducer.apply(accumulated, routeEvent.getMessage());
+          })
+          .map(accumulated -> {
+            if (!failures.isEmpty()) {
+              throw propagate(createCompositeRoutingException(failures, isDetailedLogEnabled));
+            }
+
+            routeVars.forEach(resultBuilder::addVariable);
+            return resultBuilder
+                .message(Message.builder().payload(new TypedValue<>(accumulated, resultDataType)).build())
+                .build();
+          });
+    });
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return resultDataType;
+  }
+}
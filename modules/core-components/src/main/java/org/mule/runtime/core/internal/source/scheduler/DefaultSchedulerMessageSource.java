@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.internal.source.scheduler;
 
+import static java.lang.Integer.MAX_VALUE;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToScheduleWork;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.FAIL;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.ExecutionLimitPolicy.QUEUE;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.ExecutionLimitPolicy.SKIP;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
@@ -39,7 +42,9 @@ import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -55,14 +60,43 @@ import org.slf4j.Logger;
  * {@link org.mule.runtime.core.internal.registry.MuleRegistry} interface, this way users can manipulate poll from outside mule
  * server.
  * </p>
+ * <p>
+ * The number of executions of the flow that may be in progress at the same time is limited by
+ * {@link #setMaxConcurrentExecutions(int)}, which defaults to {@code 1} if {@code disallowConcurrentExecution} is set and is
+ * unbounded otherwise. When a trigger happens while the limit is reached, it is either skipped or queued to run once an execution
+ * finishes, depending on the {@link ExecutionLimitPolicy}.
+ * </p>
  */
 public class DefaultSchedulerMessageSource extends AbstractComponent
     implements MessageSource, SchedulerMessageSource, MuleContextAware, Initialisable, Disposable {
 
   private final static Logger LOGGER = getLogger(DefaultSchedulerMessageSource.class);
 
+  /**
+   * What to do with a trigger that happens while the maximum number of concurrent executions is in progress.
+   *
+   * @since 4.6.0
+   */
+  public enum ExecutionLimitPolicy {
+    /**
+     * The trigger is ignored.
+     */
+    SKIP,
+
+    /**
+     * The trigger is run once an execution finishes. At most {@code maxConcurrentExecutions} triggers are kept waiting, further
+     * triggers are skipped.
+     */
+    QUEUE
+  }
+
   private final PeriodicScheduler scheduler;
   private final boolean disallowConcurrentExecution;
+  private int maxConcurrentExecutions;
+  private ExecutionLimitPolicy executionLimitPolicy = SKIP;
+  private final AtomicInteger inflightExecutions = new AtomicInteger();
+  private final AtomicInteger queuedTriggers = new AtomicInteger();
+  private final SchedulerMessageSourceStatistics statistics = new SchedulerMessageSourceStatistics();
 
   private Scheduler pollingExecutor;
   private ScheduledFuture<?> schedulingJob;
@@ -80,7 +114,6 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
   private MessageProcessingManager messageProcessingManager;
 
   private boolean started;
-  private volatile boolean executing = false;
   private FlowProcessTemplate flowProcessingTemplate;
   private SchedulerProcessContext flowProcessContext;
 
@@ -93,6 +126,43 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     this.muleContext = muleContext;
     this.scheduler = scheduler;
     this.disallowConcurrentExecution = disallowConcurrentExecution;
+    this.maxConcurrentExecutions = disallowConcurrentExecution ? 1 : MAX_VALUE;
+  }
+
+  /**
+   * @param maxConcurrentExecutions the maximum number of executions of the flow that may be in progress at the same time.
+   * @since 4.6.0
+   */
+  public void setMaxConcurrentExecutions(int maxConcurrentExecutions) {
+    if (maxConcurrentExecutions < 1) {
+      throw new IllegalArgumentException("maxConcurrentExecutions must be greater than 0, but was " + maxConcurrentExecutions);
+    }
+    this.maxConcurrentExecutions = maxConcurrentExecutions;
+  }
+
+  /**
+   * @param executionLimitPolicy what to do with triggers that happen while the maximum number of concurrent executions is in
+   *                             progress. Defaults to {@link ExecutionLimitPolicy#SKIP}.
+   * @since 4.6.0
+   */
+  public void setExecutionLimitPolicy(ExecutionLimitPolicy executionLimitPolicy) {
+    this.executionLimitPolicy = executionLimitPolicy;
+  }
+
+  /**
+   * @return the statistics about the triggers of this source.
+   * @since 4.6.0
+   */
+  public SchedulerMessageSourceStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @return the number of executions of the flow triggered by this source that are currently in progress.
+   * @since 4.6.0
+   */
+  public int getInflightExecutions() {
+    return inflightExecutions.get();
   }
 
   @Override
@@ -155,21 +225,68 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
    * Triggers the forced execution of the polling message processor ignoring the configured scheduler.
    */
   private void poll() {
-    boolean execute = false;
-    synchronized (this) {
-      if (disallowConcurrentExecution && executing) {
-        execute = false;
+    if (tryStartExecution()) {
+      doPoll();
+    } else if (executionLimitPolicy == QUEUE && tryQueueTrigger()) {
+      statistics.addQueuedTrigger();
+      // An execution may have finished before the trigger was queued
+      runQueuedTrigger();
+    } else {
+      statistics.addSkippedTrigger();
+      if (disallowConcurrentExecution && maxConcurrentExecutions == 1) {
+        LOGGER.info("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution skipped.",
+                    getLocation().getRootContainerName());
       } else {
-        execute = true;
-        executing = true;
+        LOGGER.info("Flow '{}' already has {} executions running. Execution skipped.",
+                    getLocation().getRootContainerName(), maxConcurrentExecutions);
       }
     }
+  }
 
-    if (execute) {
-      doPoll();
-    } else {
-      LOGGER.info("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution skipped.",
-                  getLocation().getRootContainerName());
+  private boolean tryStartExecution() {
+    int inflight;
+    do {
+      inflight = inflightExecutions.get();
+      if (inflight >= maxConcurrentExecutions) {
+        return false;
+      }
+    } while (!inflightExecutions.compareAndSet(inflight, inflight + 1));
+
+    if (inflight > 0) {
+      statistics.addOverlappedExecution();
+    }
+    return true;
+  }
+
+  private boolean tryQueueTrigger() {
+    int queued;
+    do {
+      queued = queuedTriggers.get();
+      if (queued >= maxConcurrentExecutions) {
+        return false;
+      }
+    } while (!queuedTriggers.compareAndSet(queued, queued + 1));
+    return true;
+  }
+
+  private void runQueuedTrigger() {
+    int queued;
+    do {
+      queued = queuedTriggers.get();
+      if (queued == 0 || inflightExecutions.get() >= maxConcurrentExecutions) {
+        return;
+      }
+    } while (!queuedTriggers.compareAndSet(queued, queued - 1));
+
+    final Scheduler executor = pollingExecutor;
+    if (executor == null) {
+      // The source has been disposed
+      return;
+    }
+    try {
+      executor.execute(() -> withContextClassLoader(muleContext.getExecutionClassLoader(), () -> poll()));
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Could not run queued trigger of flow '{}'", getLocation().getRootContainerName(), e);
     }
   }
 
@@ -181,10 +298,12 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     }
   }
 
-  protected void setIsExecuting(boolean value) {
-    synchronized (this) {
-      executing = value;
-    }
+  /**
+   * Called when an execution of the flow triggered by this source finishes.
+   */
+  void executionFinished() {
+    inflightExecutions.decrementAndGet();
+    runQueuedTrigger();
   }
 
 
@@ -35,7 +35,7 @@ final class SchedulerFlowProcessingTemplate extends FlowProcessingTemplate {
 
   @Override
   public void afterPhaseExecution(Either<MessagingException, CoreEvent> either) {
-    defaultSchedulerMessageSource.setIsExecuting(false);
+    defaultSchedulerMessageSource.executionFinished();
   }
 
   @Override
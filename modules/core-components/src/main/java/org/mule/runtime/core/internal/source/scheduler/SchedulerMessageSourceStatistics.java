@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.source.scheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how the triggers of a {@link DefaultSchedulerMessageSource} interacted with the executions already in progress.
+ *
+ * @since 4.6.0
+ */
+public class SchedulerMessageSourceStatistics {
+
+  private final LongAdder skippedTriggers = new LongAdder();
+  private final LongAdder queuedTriggers = new LongAdder();
+  private final LongAdder overlappedExecutions = new LongAdder();
+
+  void addSkippedTrigger() {
+    skippedTriggers.increment();
+  }
+
+  void addQueuedTrigger() {
+    queuedTriggers.increment();
+  }
+
+  void addOverlappedExecution() {
+    overlappedExecutions.increment();
+  }
+
+  /**
+   * @return the number of triggers that did not execute the flow because the maximum number of concurrent executions was reached.
+   */
+  public long getSkippedTriggers() {
+    return skippedTriggers.sum();
+  }
+
+  /**
+   * @return the number of triggers that were queued because the maximum number of concurrent executions was reached.
+   */
+  public long getQueuedTriggers() {
+    return queuedTriggers.sum();
+  }
+
+  /**
+   * @return the number of executions of the flow that started while another execution was still in progress.
+   */
+  public long getOverlappedExecutions() {
+    return overlappedExecutions.sum();
+  }
+}
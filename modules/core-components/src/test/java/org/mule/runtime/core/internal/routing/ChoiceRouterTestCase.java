@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static java.util.Optional.empty;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -15,11 +17,20 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.rules.ExpectedException.none;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mule.functional.junit4.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
+import static org.mule.runtime.core.internal.routing.ChoiceRouter.DEFAULT_ROUTE_NAME;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
 import static org.mule.tck.processor.ContextPropagationChecker.assertContextPropagation;
 import static org.mule.tck.util.MuleContextUtils.eventBuilder;
@@ -31,6 +42,9 @@ import org.mule.runtime.api.el.ExpressionExecutionException;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.management.stats.RouterStatistics;
@@ -39,6 +53,7 @@ import org.mule.tck.junit4.AbstractReactiveProcessorTestCase;
 import org.mule.tck.processor.ContextPropagationChecker;
 import org.mule.tck.testmodels.mule.TestMessageProcessor;
 
+import java.util.List;
 import java.util.Map;
 
 import org.junit.After;
@@ -133,6 +148,95 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     assertThat((Map<String, Long>) routerStatistics.getRouted(), hasEntry(containsString(processor.toString()), is((long) 2)));
   }
 
+  @Test
+  public void routeHitsWithStatistics() throws Exception {
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("bar")));
+    RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+    routerStatistics.setEnabled(true);
+    choiceRouter.setRouterStatistics(routerStatistics);
+    initialise();
+
+    process(choiceRouter, zapEvent());
+    process(choiceRouter, zapEvent());
+    process(choiceRouter, fooEvent());
+    assertThat(routerStatistics.getRouteHits(payloadZapExpression()), is(2L));
+    assertThat(routerStatistics.getRouteHits(DEFAULT_ROUTE_NAME), is(1L));
+  }
+
+  @Test
+  public void hashDispatch() throws Exception {
+    choiceRouter.setHashDispatch(true);
+    choiceRouter.addRoute("payload == 'bar'", newChain(empty(), new TestMessageProcessor("bar")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("zap")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("duplicate")));
+    choiceRouter.setDefaultRoute(newChain(empty(), new TestMessageProcessor("default")));
+    initialise();
+
+    assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:zap"));
+    assertThat(process(choiceRouter, fooEvent()).getMessage().getPayload().getValue(), is("foo:default"));
+  }
+
+  @Test
+  public void hashDispatchKeepsRoutesOrder() throws Exception {
+    choiceRouter.setHashDispatch(true);
+    choiceRouter.addRoute("payload == 'bar'", newChain(empty(), new TestMessageProcessor("bar")));
+    choiceRouter.addRoute("payload == 'baz'", newChain(empty(), new TestMessageProcessor("baz")));
+    choiceRouter.addRoute("payload != 'zap'", newChain(empty(), new TestMessageProcessor("notZap")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("zap")));
+    choiceRouter.setDefaultRoute(newChain(empty(), new TestMessageProcessor("default")));
+    initialise();
+
+    assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:zap"));
+    assertThat(process(choiceRouter, fooEvent()).getMessage().getPayload().getValue(), is("foo:notZap"));
+  }
+
+  @Test
+  public void hashDispatchNonStringSelector() throws Exception {
+    choiceRouter.setHashDispatch(true);
+    choiceRouter.addRoute("payload == 'bar'", newChain(empty(), new TestMessageProcessor("bar")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("zap")));
+    initialise();
+
+    CoreEvent inputEvent = eventBuilder(muleContext).message(of(1)).build();
+    assertThat(process(choiceRouter, inputEvent), is(inputEvent));
+  }
+
+  @Test
+  public void hashDispatchRecognizesEqualityRoutes() {
+    List<ProcessorRoute> routes = asList(new ProcessorExpressionRoute("#[attributes.headers.type == 'a']", event -> event),
+                                         new ProcessorExpressionRoute("#['b' == attributes.headers.type]", event -> event),
+                                         new ProcessorExpressionRoute("#[attributes.headers.type == 'c']", event -> event),
+                                         new ProcessorExpressionRoute("#[vars.type == 'a']", event -> event),
+                                         new ProcessorExpressionRoute("#[upper(vars.type) == 'B']", event -> event),
+                                         new ProcessorExpressionRoute("#[vars.type == 'c']", event -> event),
+                                         new ProcessorExpressionRoute("#[vars.type == 'd']", event -> event),
+                                         new ProcessorRoute(event -> event));
+
+    assertThat(new ChoiceRouteSelector(routes, true).getDispatchedRoutes(), is(5));
+    assertThat(new ChoiceRouteSelector(routes, false).getDispatchedRoutes(), is(0));
+  }
+
+  @Test
+  public void hashDispatchNonJavaSelector() {
+    List<ProcessorRoute> routes = asList(new ProcessorExpressionRoute("#[payload == 'bar']", event -> event),
+                                         new ProcessorExpressionRoute("#[payload == 'zap']", event -> event));
+    List<ExecutableRoute> executableRoutes = routes.stream().map(ProcessorRoute::toExecutableRoute).collect(toList());
+    ChoiceRouteSelector routeSelector = new ChoiceRouteSelector(routes, true);
+
+    ExpressionManagerSession javaSession = mock(ExpressionManagerSession.class);
+    doReturn(new TypedValue<>("zap", STRING)).when(javaSession).evaluate("#[payload]");
+    assertThat(routeSelector.select(javaSession, executableRoutes), is(1));
+    verify(javaSession, never()).evaluateBoolean(anyString(), eq(false), eq(true));
+
+    // A JSON string is read before being compared, so its raw value can't be looked up
+    ExpressionManagerSession jsonSession = mock(ExpressionManagerSession.class);
+    doReturn(new TypedValue<>("zap", DataType.builder(STRING).mediaType(APPLICATION_JSON).build())).when(jsonSession)
+        .evaluate("#[payload]");
+    assertThat(routeSelector.select(jsonSession, executableRoutes), is(-1));
+    verify(jsonSession).evaluateBoolean("#[payload == 'bar']", false, true);
+    verify(jsonSession).evaluateBoolean("#[payload == 'zap']", false, true);
+  }
+
   @Test
   @Issue("MULE-19512")
   public void failingExpression() throws Exception {
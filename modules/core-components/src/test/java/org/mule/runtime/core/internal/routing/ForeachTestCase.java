@@ -36,6 +36,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
@@ -352,6 +353,28 @@ public class ForeachTestCase extends AbstractForeachTestCase {
     assertForEachContextConsumption((InternalEvent) processedEvents.get(1));
   }
 
+  @Test
+  public void batchSizeWithReadAhead() throws Exception {
+    foreach = createForeach();
+    List<Processor> processors = getSimpleMessageProcessors(new TestMessageProcessor("zas"));
+    foreach.setMessageProcessors(processors);
+    foreach.setBatchSize(2);
+    foreach.setReadAhead(2);
+    initialiseIfNeeded(foreach, muleContext);
+
+    try {
+      foreach.process(eventBuilder(muleContext).message(of(asList(1, 2, 3))).build());
+
+      assertThat(processedEvents, hasSize(2));
+      assertThat(((PrivilegedEvent) processedEvents.get(0)).getMessageAsString(muleContext), is("[1, 2]:foo:zas"));
+      assertThat(((PrivilegedEvent) processedEvents.get(1)).getMessageAsString(muleContext), is("[3]:foo:zas"));
+      assertThat(foreach.getStatistics().getReadAheadHits() + foreach.getStatistics().getItemWaits(),
+                 is(greaterThanOrEqualTo(3L)));
+    } finally {
+      disposeIfNeeded(foreach, LOGGER);
+    }
+  }
+
   @Test
   public void batchSizeWithCollectionAttributes() throws Exception {
     foreach = createForeach();
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.test.allure.AllureConstants.ScopeFeature.ForeachStory.FOR_EACH;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(FOR_EACH)
+public class ReadAheadIteratorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private final ExecutorService executor = newSingleThreadExecutor();
+  private final ForeachStatistics statistics = new ForeachStatistics();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void keepsOrder() {
+    Iterator<Integer> iterator = new ReadAheadIterator<>(asList(1, 2, 3, 4, 5).iterator(), 2, executor, statistics);
+
+    List<Integer> items = new ArrayList<>();
+    iterator.forEachRemaining(items::add);
+
+    assertThat(items, contains(1, 2, 3, 4, 5));
+    assertThat(iterator.hasNext(), is(false));
+  }
+
+  @Test
+  public void readsAheadWhileItemIsProcessed() {
+    AtomicInteger reads = new AtomicInteger();
+    Iterator<Integer> delegate = new CountingIterator(asList(1, 2, 3, 4, 5).iterator(), reads);
+    Iterator<Integer> iterator = new ReadAheadIterator<>(delegate, 3, executor, statistics);
+
+    assertThat(iterator.next(), is(1));
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      // The item being processed plus the read-ahead ones
+      assertThat(reads.get(), is(4));
+      return true;
+    }));
+
+    assertThat(iterator.next(), is(2));
+    assertThat(statistics.getReadAheadHits() + statistics.getItemWaits(), is(2L));
+  }
+
+  @Test
+  public void nullItems() {
+    Iterator<Integer> iterator = new ReadAheadIterator<>(asList(1, null, 3).iterator(), 2, executor, statistics);
+
+    assertThat(iterator.next(), is(1));
+    assertThat(iterator.next(), is(nullValue()));
+    assertThat(iterator.next(), is(3));
+    assertThat(iterator.hasNext(), is(false));
+  }
+
+  @Test
+  public void failureThrownWhenReached() {
+    Iterator<Integer> delegate = new Iterator<Integer>() {
+
+      private int next = 1;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Integer next() {
+        if (next == 3) {
+          throw new IllegalStateException("Page not available");
+        }
+        return next++;
+      }
+    };
+    Iterator<Integer> iterator = new ReadAheadIterator<>(delegate, 4, executor, statistics);
+
+    assertThat(iterator.next(), is(1));
+    assertThat(iterator.next(), is(2));
+    assertThat(iterator.hasNext(), is(true));
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Page not available");
+    iterator.next();
+  }
+
+  private static class CountingIterator implements Iterator<Integer> {
+
+    private final Iterator<Integer> delegate;
+    private final AtomicInteger reads;
+
+    private CountingIterator(Iterator<Integer> delegate, AtomicInteger reads) {
+      this.delegate = delegate;
+      this.reads = reads;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public Integer next() {
+      reads.incrementAndGet();
+      return delegate.next();
+    }
+  }
+}
@@ -361,7 +361,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
         .thenAnswer(invocation -> scheduleFunction.apply(invocation.getArgument(0)));
   }
 
-  private CompositeRoutingException assertCompositeRoutingException(Throwable throwable, int errors) {
+  protected CompositeRoutingException assertCompositeRoutingException(Throwable throwable, int errors) {
     assertThat(throwable, instanceOf(CompositeRoutingException.class));
     CompositeRoutingException compositeRoutingException = (CompositeRoutingException) throwable;
     assertThat(compositeRoutingException.getErrors().size(), greaterThanOrEqualTo(errors));
@@ -369,7 +369,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     return compositeRoutingException;
   }
 
-  private RoutingResult assertRoutingResult(CompositeRoutingException compositeRoutingException, int results, int errors) {
+  protected RoutingResult assertRoutingResult(CompositeRoutingException compositeRoutingException, int results, int errors) {
     assertThat(compositeRoutingException.getErrorMessage().getPayload().getValue(), instanceOf(RoutingResult.class));
     RoutingResult routingResult = (RoutingResult) compositeRoutingException.getErrorMessage().getPayload().getValue();
     assertThat(routingResult.getResults().size(), lessThanOrEqualTo(results));
@@ -398,7 +398,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     }
   }
 
-  private MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
+  protected MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
     return createChain((InternalTestProcessor) event -> {
       throw exception;
     });
@@ -423,7 +423,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     return createRoutingPairWithSleep(result, 0);
   }
 
-  private RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
+  protected RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
     return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
   }
 
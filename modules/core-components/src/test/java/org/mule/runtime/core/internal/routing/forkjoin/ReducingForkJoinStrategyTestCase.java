@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.REDUCE;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(REDUCE)
+public class ReducingForkJoinStrategyTestCase extends AbstractForkJoinStrategyTestCase {
+
+  @Override
+  protected ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
+                                            long timeout) {
+    return new ReducingForkJoinStrategyFactory<Integer>(() -> 0, (count, message) -> count + 1, NUMBER)
+        .createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout, scheduler, timeoutErrorType, false);
+  }
+
+  @Test
+  @Description("This strategy folds the result of each route into the payload of the result event.")
+  public void reduce() throws Throwable {
+    ReducingForkJoinStrategyFactory<Integer> factory =
+        new ReducingForkJoinStrategyFactory<>(() -> 0, (sum, message) -> sum + (Integer) message.getPayload().getValue(), NUMBER);
+    strategy = factory.createForkJoinStrategy(processingStrategy, 2, true, Long.MAX_VALUE, scheduler, timeoutErrorType, false);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPair(of(1)), createRoutingPair(of(2)),
+                                                     createRoutingPair(of(3))));
+
+    assertThat(result.getMessage().getPayload().getValue(), is(6));
+    assertThat(result.getMessage().getPayload().getDataType(), is(NUMBER));
+  }
+
+  @Test
+  @Description("Route results are folded in the order of the routes, even if later routes complete first.")
+  public void reduceInRouteOrder() throws Throwable {
+    ReducingForkJoinStrategyFactory<String> factory =
+        new ReducingForkJoinStrategyFactory<>(() -> "", (concat, message) -> concat + message.getPayload().getValue(), STRING);
+    strategy = factory.createForkJoinStrategy(processingStrategy, 4, true, Long.MAX_VALUE, scheduler, timeoutErrorType, false);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPairWithSleep(of("a"), 150),
+                                                     createRoutingPairWithSleep(of("b"), 100),
+                                                     createRoutingPairWithSleep(of("c"), 50),
+                                                     createRoutingPairWithSleep(of("d"), 0)));
+
+    assertThat(result.getMessage().getPayload().getValue(), is("abcd"));
+  }
+
+  @Override
+  @Test
+  @Description("When a route timeout occurs all routes are still executed and a CompositeRoutingException is thrown with details of the timeout error in RoutingResult.")
+  public void timeoutDelayed() throws Throwable {
+    strategy = createStrategy(processingStrategy, 1, true, 50);
+
+    Processor spyProcessor = createProcessorSpy(of(2));
+    RoutingPair routingPairWithSleep = createRoutingPairWithSleep(of(1), 250);
+    RoutingPair routingPairWithSpyProcessor = RoutingPair.of(testEvent(), createChain(spyProcessor));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(), asList(routingPairWithSleep, routingPairWithSpyProcessor), throwable -> {
+      verify(spyProcessor, times(1)).process(any(CoreEvent.class));
+      CompositeRoutingException compositeRoutingException = assertCompositeRoutingException(throwable, 1);
+      RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 1);
+
+      for (Error failure : routingResult.getFailures().values()) {
+        assertThat(failure.getCause(), instanceOf(TimeoutException.class));
+      }
+    });
+  }
+
+  @Override
+  @Test
+  @Description("When an error occurs all routes are executed regardless and a CompositeRoutingException is thrown containing a RoutingResult with details of the failures only.")
+  public void errorDelayed() throws Throwable {
+    Processor processorSpy = createProcessorSpy(testEvent().getMessage());
+
+    RuntimeException exception1 = new IllegalStateException();
+    RoutingPair failingPair1 = RoutingPair.of(testEvent(), createFailingRoutingPair(exception1));
+    RuntimeException exception2 = new UnsupportedOperationException();
+    RoutingPair failingPair2 = RoutingPair.of(testEvent(), createFailingRoutingPair(exception2));
+    RoutingPair okPair = RoutingPair.of(testEvent(), createChain(processorSpy));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(), asList(failingPair1, failingPair2, okPair), throwable -> {
+      verify(processorSpy, times(1)).process(any(CoreEvent.class));
+      CompositeRoutingException compositeRoutingException = assertCompositeRoutingException(throwable, 2);
+      RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 2);
+      assertThat(routingResult.getFailures().get("0").getCause(), is(exception1));
+      assertThat(routingResult.getFailures().get("1").getCause(), is(exception2));
+      assertThat(routingResult.getFailures().get("2"), is(nullValue()));
+    });
+  }
+}
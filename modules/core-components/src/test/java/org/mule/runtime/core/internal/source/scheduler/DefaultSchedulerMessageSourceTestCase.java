@@ -4,10 +4,12 @@
  * license, a copy of which has been included with this distribution in the
  * LICENSE.txt file.
  */
-package org.mule.runtime.core.internal.source.polling;
+package org.mule.runtime.core.internal.source.scheduler;
 
 import static java.util.Collections.singletonMap;
 import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.atLeastOnce;
@@ -15,12 +17,14 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
 import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.ExecutionLimitPolicy.QUEUE;
 import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
 import static org.mule.tck.MuleTestUtils.createFlowWithSource;
 import static org.mule.test.allure.AllureConstants.SchedulerFeature.SCHEDULER;
@@ -38,9 +42,9 @@ import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.execution.MuleMessageProcessingManager;
 import org.mule.runtime.core.internal.policy.PolicyManager;
 import org.mule.runtime.core.internal.policy.SourcePolicy;
-import org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource;
 import org.mule.tck.SensingNullMessageProcessor;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
 import org.mule.tck.probe.Probe;
 
@@ -147,6 +151,102 @@ public class DefaultSchedulerMessageSourceTestCase extends AbstractMuleContextTe
     verify(pollScheduler.get()).stop();
   }
 
+  @Test
+  public void triggerSkippedWhenMaxConcurrentExecutionsReached() throws Exception {
+    DefaultSchedulerMessageSource schedulerMessageSource = createMessageSource();
+    schedulerMessageSource.setMaxConcurrentExecutions(1);
+
+    // The source policy never completes the execution, so it is kept in flight
+    triggerAndWaitForInflightExecutions(schedulerMessageSource, 1);
+    schedulerMessageSource.trigger();
+
+    SchedulerMessageSourceStatistics statistics = schedulerMessageSource.getStatistics();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(statistics.getSkippedTriggers(), is(1L));
+      return true;
+    }));
+    assertThat(statistics.getQueuedTriggers(), is(0L));
+    assertThat(statistics.getOverlappedExecutions(), is(0L));
+    assertThat(schedulerMessageSource.getInflightExecutions(), is(1));
+  }
+
+  @Test
+  public void triggerQueuedWhenMaxConcurrentExecutionsReached() throws Exception {
+    DefaultSchedulerMessageSource schedulerMessageSource = createMessageSource();
+    schedulerMessageSource.setMaxConcurrentExecutions(1);
+    schedulerMessageSource.setExecutionLimitPolicy(QUEUE);
+
+    triggerAndWaitForInflightExecutions(schedulerMessageSource, 1);
+    schedulerMessageSource.trigger();
+
+    SchedulerMessageSourceStatistics statistics = schedulerMessageSource.getStatistics();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(statistics.getQueuedTriggers(), is(1L));
+      return true;
+    }));
+
+    // Only as many triggers as the max concurrent executions are queued
+    schedulerMessageSource.trigger();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(statistics.getSkippedTriggers(), is(1L));
+      return true;
+    }));
+    assertThat(statistics.getQueuedTriggers(), is(1L));
+    assertThat(schedulerMessageSource.getInflightExecutions(), is(1));
+  }
+
+  @Test
+  public void queuedTriggerRunsWhenExecutionFinishes() throws Exception {
+    DefaultSchedulerMessageSource schedulerMessageSource = createMessageSource();
+    schedulerMessageSource.setMaxConcurrentExecutions(1);
+    schedulerMessageSource.setExecutionLimitPolicy(QUEUE);
+
+    triggerAndWaitForInflightExecutions(schedulerMessageSource, 1);
+    schedulerMessageSource.trigger();
+
+    SchedulerMessageSourceStatistics statistics = schedulerMessageSource.getStatistics();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(statistics.getQueuedTriggers(), is(1L));
+      return true;
+    }));
+
+    schedulerMessageSource.executionFinished();
+
+    // The queued trigger takes the place of the finished execution
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      verify(sourcePolicy, times(2)).process(any(CoreEvent.class), any(), any());
+      assertThat(schedulerMessageSource.getInflightExecutions(), is(1));
+      return true;
+    }));
+    assertThat(statistics.getSkippedTriggers(), is(0L));
+  }
+
+  @Test
+  public void overlappedExecutionsUpToMaxConcurrentExecutions() throws Exception {
+    DefaultSchedulerMessageSource schedulerMessageSource = createMessageSource();
+    schedulerMessageSource.setMaxConcurrentExecutions(2);
+
+    triggerAndWaitForInflightExecutions(schedulerMessageSource, 1);
+    triggerAndWaitForInflightExecutions(schedulerMessageSource, 2);
+
+    SchedulerMessageSourceStatistics statistics = schedulerMessageSource.getStatistics();
+    assertThat(statistics.getOverlappedExecutions(), is(1L));
+    assertThat(statistics.getSkippedTriggers(), is(0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMaxConcurrentExecutions() throws Exception {
+    createMessageSource().setMaxConcurrentExecutions(0);
+  }
+
+  private void triggerAndWaitForInflightExecutions(DefaultSchedulerMessageSource schedulerMessageSource, int inflight) {
+    schedulerMessageSource.trigger();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(schedulerMessageSource.getInflightExecutions(), is(inflight));
+      return true;
+    }));
+  }
+
   private DefaultSchedulerMessageSource schedulerMessageSource;
 
   @After
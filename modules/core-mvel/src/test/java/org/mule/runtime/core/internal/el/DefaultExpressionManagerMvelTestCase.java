@@ -19,6 +19,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.streaming.CursorProvider;
@@ -75,6 +76,7 @@ public class DefaultExpressionManagerMvelTestCase extends AbstractMuleContextTes
 
     TypedValue value = new TypedValue(cursorProvider, BYTE_ARRAY);
     when(expressionLanguage.evaluate(anyString(), any(), any(), any(), any())).thenReturn(value);
+    when(expressionLanguage.openSession(any(), any(), any()).evaluate(any(CompiledExpression.class))).thenReturn(value);
 
     ((DefaultExpressionManager) expressionManager)
         .setExpressionLanguage(expressionLanguage);
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.lang.System.nanoTime;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Triggers the check for changes in the deployment directories when the file system reports changes in them, instead of
+ * periodically polling them.
+ * <p/>
+ * Events are debounced: the check runs once no new events have been received for the configured quiet period, so copying an
+ * artifact or saving several config files triggers a single check. If the check couldn't be performed, for instance because
+ * another deployment was in progress, it is retried after another quiet period.
+ * <p/>
+ * When events are lost because the {@link WatchService} overflowed, the watcher stops and delegates on the overflow handler,
+ * which is expected to fall back to polling.
+ *
+ * @since 4.6.0
+ */
+class DeploymentDirectoryEventWatcher implements Runnable {
+
+  private static final Logger LOGGER = getLogger(DeploymentDirectoryEventWatcher.class);
+
+  private final WatchService watchService;
+  private final Supplier<Collection<Path>> watchedDirectories;
+  private final BooleanSupplier changesCheck;
+  private final long debounceNanos;
+  private final Runnable overflowHandler;
+  private final Set<Path> registeredDirectories = new HashSet<>();
+
+  private volatile boolean closed = false;
+
+  /**
+   * @param watchService       the service to register the directories in
+   * @param watchedDirectories provides the directories to watch. Called again after each check, since the deployed artifacts may
+   *                           have changed
+   * @param changesCheck       performs the check for changes, returning {@code false} if it could not be done
+   * @param debounceMillis     time without events to wait before checking for changes
+   * @param overflowHandler    called if events were lost
+   */
+  DeploymentDirectoryEventWatcher(WatchService watchService, Supplier<Collection<Path>> watchedDirectories,
+                                  BooleanSupplier changesCheck, long debounceMillis, Runnable overflowHandler) {
+    this.watchService = watchService;
+    this.watchedDirectories = watchedDirectories;
+    this.changesCheck = changesCheck;
+    this.debounceNanos = MILLISECONDS.toNanos(debounceMillis);
+    this.overflowHandler = overflowHandler;
+  }
+
+  @Override
+  public void run() {
+    registerDirectories();
+
+    long checkDeadline = -1;
+    try {
+      while (!closed) {
+        final WatchKey key;
+        if (checkDeadline < 0) {
+          key = watchService.take();
+        } else {
+          key = watchService.poll(Math.max(0, checkDeadline - nanoTime()), NANOSECONDS);
+        }
+
+        if (key != null) {
+          if (hasOverflown(key)) {
+            LOGGER.warn("Deployment directory events were lost, falling back to polling for changes");
+            close();
+            overflowHandler.run();
+            return;
+          }
+          checkDeadline = nanoTime() + debounceNanos;
+        } else if (nanoTime() - checkDeadline >= 0) {
+          if (changesCheck.getAsBoolean()) {
+            checkDeadline = -1;
+            registerDirectories();
+          } else {
+            checkDeadline = nanoTime() + debounceNanos;
+          }
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      // Closed while waiting for events
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean hasOverflown(WatchKey key) {
+    boolean overflow = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        overflow = true;
+      } else if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Deployment directory event {} for '{}' in '{}'", event.kind().name(), event.context(), key.watchable());
+      }
+    }
+
+    if (!key.reset()) {
+      registeredDirectories.remove(key.watchable());
+    }
+    return overflow;
+  }
+
+  private void registerDirectories() {
+    for (Path directory : watchedDirectories.get()) {
+      if (!registeredDirectories.contains(directory) && Files.isDirectory(directory)) {
+        try {
+          directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+          registeredDirectories.add(directory);
+        } catch (IOException e) {
+          LOGGER.warn("Could not watch directory '{}' for changes: {}", directory, e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops watching the directories.
+   */
+  void close() {
+    closed = true;
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOGGER.debug("Error closing the deployment directories watch service", e);
+    }
+  }
+}
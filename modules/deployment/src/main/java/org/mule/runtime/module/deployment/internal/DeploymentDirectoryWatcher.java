@@ -13,6 +13,8 @@ import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
@@ -48,9 +50,13 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -72,17 +78,36 @@ import org.slf4j.LoggerFactory;
  * It will deploy the applications at the container startup process. It will periodically scan the artifact directories in order
  * to process new deployments, remove artifacts that were previously deployed but the anchor file was removed and redeploy those
  * applications which configuration has changed.
+ * <p/>
+ * When {@link #WATCH_SERVICE_PROPERTY} is set, the artifact directories are scanned only after the file system reports changes in
+ * them. Polling is used if the file system can't be watched or events are lost.
  */
 public class DeploymentDirectoryWatcher implements Runnable {
 
   public static final String ARTIFACT_ANCHOR_SUFFIX = "-anchor.txt";
   public static final String CHANGE_CHECK_INTERVAL_PROPERTY = "mule.launcher.changeCheckInterval";
+
+  /**
+   * Enables checking for changes in the artifact directories when file system events are received instead of polling.
+   *
+   * @since 4.6.0
+   */
+  public static final String WATCH_SERVICE_PROPERTY = "mule.launcher.watchService";
+
+  /**
+   * Time in milliseconds without file system events to wait before checking for changes when {@link #WATCH_SERVICE_PROPERTY} is
+   * enabled.
+   *
+   * @since 4.6.0
+   */
+  public static final String WATCH_SERVICE_DEBOUNCE_PROPERTY = "mule.launcher.watchService.debounce";
   public static final IOFileFilter JAR_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(JAR_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
   public static final IOFileFilter ZIP_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(ZIP_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
 
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  protected static final long DEFAULT_WATCH_SERVICE_DEBOUNCE_MS = 500;
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -98,8 +123,10 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File appsDir;
   private final File domainsDir;
   private ScheduledExecutorService artifactDirMonitorTimer;
+  private DeploymentDirectoryEventWatcher eventWatcher;
 
   protected volatile boolean dirty;
+  private volatile boolean lastCheckSkipped;
 
   public DeploymentDirectoryWatcher(DomainBundleArchiveDeployer domainBundleDeployer,
                                     final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer,
@@ -231,11 +258,67 @@ public class DeploymentDirectoryWatcher implements Runnable {
     // TODO MULE-12337 migrate this to an scheduler
     artifactDirMonitorTimer = newSingleThreadScheduledExecutor(new ArtifactDeployerMonitorThreadFactory());
 
+    if (getBoolean(WATCH_SERVICE_PROPERTY) && scheduleEventWatcher()) {
+      log(miniSplash("Mule is up and kicking (watching for changes)"));
+      return;
+    }
+
     artifactDirMonitorTimer.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
 
     log(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
   }
 
+  private boolean scheduleEventWatcher() {
+    try {
+      eventWatcher = new DeploymentDirectoryEventWatcher(appsDir.toPath().getFileSystem().newWatchService(),
+                                                         this::getWatchedDirectories,
+                                                         this::checkForChanges,
+                                                         getLong(WATCH_SERVICE_DEBOUNCE_PROPERTY,
+                                                                 DEFAULT_WATCH_SERVICE_DEBOUNCE_MS),
+                                                         this::fallbackToPolling);
+    } catch (IOException | UnsupportedOperationException e) {
+      logger.warn("Could not watch the deployment directories for changes, polling them instead: {}", e.getMessage());
+      return false;
+    }
+
+    artifactDirMonitorTimer.submit(eventWatcher);
+    return true;
+  }
+
+  private void fallbackToPolling() {
+    final int reloadIntervalMs = getChangesCheckIntervalMs();
+    // The overflow may have caused changes to be missed
+    artifactDirMonitorTimer.scheduleWithFixedDelay(this, 0, reloadIntervalMs, MILLISECONDS);
+  }
+
+  private boolean checkForChanges() {
+    run();
+    return !lastCheckSkipped;
+  }
+
+  /**
+   * @return the directories whose changes may require deploying, undeploying or redeploying an artifact.
+   */
+  private Collection<Path> getWatchedDirectories() {
+    final Set<Path> directories = new HashSet<>();
+    directories.add(appsDir.toPath());
+    directories.add(domainsDir.toPath());
+    addWatchedDirectories(applications, directories);
+    addWatchedDirectories(domains, directories);
+    return directories;
+  }
+
+  private void addWatchedDirectories(List<? extends DeployableArtifact> artifacts, Set<Path> directories) {
+    for (DeployableArtifact artifact : new ArrayList<>(artifacts)) {
+      for (File resourceFile : artifact.getResourceFiles()) {
+        directories.add(resourceFile.getAbsoluteFile().getParentFile().toPath());
+      }
+      File descriptorFile = new File(((DeployableArtifactDescriptor) artifact.getDescriptor()).getArtifactLocation(),
+                                     ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION);
+      directories.add(descriptorFile.getAbsoluteFile().getParentFile().toPath());
+    }
+  }
+
   protected void deployPackedApps(String[] zips) {
     for (String zip : zips) {
       try {
@@ -273,7 +356,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
       }
       // use non-barging lock to preserve fairness, according to javadocs
       // if there's a lock present - wait for next poll to do anything
+      lastCheckSkipped = false;
       if (!deploymentLock.tryLock(0, SECONDS)) {
+        lastCheckSkipped = true;
         if (logger.isDebugEnabled()) {
           logger.debug("Another deployment operation in progress, will skip this cycle. Owner thread: "
               + ((DebuggableReentrantLock) deploymentLock).getOwner());
@@ -509,6 +594,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   }
 
   private void stopAppDirMonitorTimer() {
+    if (eventWatcher != null) {
+      eventWatcher.close();
+    }
     if (artifactDirMonitorTimer != null) {
       artifactDirMonitorTimer.shutdown();
       try {
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static org.mule.test.allure.AllureConstants.ArtifactDeploymentFeature.APP_DEPLOYMENT;
+
+import static java.nio.file.FileSystems.getDefault;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+
+@Feature(APP_DEPLOYMENT)
+public class DeploymentDirectoryEventWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final long DEBOUNCE_MILLIS = 200;
+
+  @Rule
+  public TemporaryFolder deploymentFolder = new TemporaryFolder();
+
+  private final ExecutorService executor = newSingleThreadExecutor();
+  private final AtomicInteger checks = new AtomicInteger();
+  private final AtomicBoolean overflown = new AtomicBoolean();
+  private DeploymentDirectoryEventWatcher watcher;
+
+  @After
+  public void after() {
+    if (watcher != null) {
+      watcher.close();
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void checksForChangesOnceAfterEventsSettle() throws Exception {
+    watcher = new DeploymentDirectoryEventWatcher(getDefault().newWatchService(),
+                                                  () -> singletonList(deploymentFolder.getRoot().toPath()),
+                                                  () -> checks.incrementAndGet() > 0, DEBOUNCE_MILLIS, () -> overflown.set(true));
+    executor.submit(watcher);
+
+    // Give the watcher time to register the directory
+    Thread.sleep(DEBOUNCE_MILLIS);
+    for (int i = 0; i < 5; i++) {
+      new File(deploymentFolder.getRoot(), "app" + i + "-anchor.txt").createNewFile();
+    }
+
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(checks.get(), is(greaterThanOrEqualTo(1)));
+      return true;
+    }));
+    Thread.sleep(DEBOUNCE_MILLIS * 3);
+    assertThat(checks.get(), is(1));
+    assertThat(overflown.get(), is(false));
+  }
+
+  @Test
+  public void retriesSkippedCheck() throws Exception {
+    watcher = new DeploymentDirectoryEventWatcher(getDefault().newWatchService(),
+                                                  () -> singletonList(deploymentFolder.getRoot().toPath()),
+                                                  () -> checks.incrementAndGet() > 1, DEBOUNCE_MILLIS, () -> overflown.set(true));
+    executor.submit(watcher);
+
+    Thread.sleep(DEBOUNCE_MILLIS);
+    deploymentFolder.newFile("app.jar");
+
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(checks.get(), is(2));
+      return true;
+    }));
+  }
+
+  @Test
+  public void overflowFallsBackToPolling() throws Exception {
+    WatchService watchService = mock(WatchService.class);
+    WatchKey key = mock(WatchKey.class);
+    WatchEvent<Object> overflowEvent = mock(WatchEvent.class);
+    when(overflowEvent.kind()).thenReturn(OVERFLOW);
+    doReturn(singletonList(overflowEvent)).when(key).pollEvents();
+    when(key.reset()).thenReturn(true);
+    when(watchService.take()).thenReturn(key);
+
+    watcher = new DeploymentDirectoryEventWatcher(watchService, () -> emptyList(), () -> checks.incrementAndGet() > 0,
+                                                  DEBOUNCE_MILLIS, () -> overflown.set(true));
+    watcher.run();
+
+    assertThat(overflown.get(), is(true));
+    assertThat(checks.get(), is(0));
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
+
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates the {@link ValueResolver}s of a {@link ResolverSet}, optimized for being evaluated many times.
+ * <p>
+ * The resolvers that are known to always return the same value are evaluated only once, on the first resolution, and their values
+ * are then reused for every subsequent resolution. Only the remaining resolvers are evaluated each time. The values are kept in
+ * an array addressed by the position of each key, so the {@link ResolverSetResult} created for each resolution does not need a
+ * hash table of its own.
+ * <p>
+ * Notice that a resolver not being {@link ValueResolver#isDynamic() dynamic} is not enough for its value to be reused, since some
+ * of them create a new value on each invocation (for instance, the ones that build objects or nested chains).
+ * <p>
+ * Instances of this class are to be considered thread safe and reusable
+ *
+ * @since 4.6.0
+ */
+final class CompiledResolverSet implements ValueResolver<ResolverSetResult> {
+
+  private final String[] keys;
+  private final Map<String, Integer> indexes;
+  private final ValueResolver<?>[] resolvers;
+  private final boolean dynamic;
+
+  private volatile Plan plan;
+
+  CompiledResolverSet(Map<String, ValueResolver<?>> resolvers) {
+    final int size = resolvers.size();
+    this.keys = new String[size];
+    this.indexes = new HashMap<>(size * 2);
+    this.resolvers = new ValueResolver<?>[size];
+
+    boolean dynamic = false;
+    int i = 0;
+    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
+      keys[i] = entry.getKey();
+      indexes.put(entry.getKey(), i);
+      this.resolvers[i] = entry.getValue();
+      dynamic |= entry.getValue().isDynamic();
+      i++;
+    }
+    this.dynamic = dynamic;
+  }
+
+  /**
+   * Evaluates the resolvers that may return a different value on each invocation and returns their results, along with the values
+   * of the static resolvers, into a {@link ResolverSetResult}
+   *
+   * @param context a not {@code null} {@link ValueResolvingContext}
+   * @return a {@link ResolverSetResult}
+   * @throws MuleException if an error occurs creating the {@link ResolverSetResult}
+   */
+  @Override
+  public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
+    Plan plan = this.plan;
+    if (plan == null) {
+      // Racing threads may compute this more than once, but the static values are the same in any case
+      plan = createPlan(context);
+      this.plan = plan;
+    }
+
+    Object[] values = plan.staticValues.clone();
+    for (int index : plan.dynamicIndexes) {
+      values[index] = resolveRecursively(resolvers[index], context);
+    }
+    return new ResolverSetResult(keys, indexes, values);
+  }
+
+  private Plan createPlan(ValueResolvingContext context) throws MuleException {
+    Object[] staticValues = new Object[resolvers.length];
+    int[] dynamicIndexes = new int[resolvers.length];
+    int dynamicCount = 0;
+
+    for (int i = 0; i < resolvers.length; i++) {
+      if (isStatic(resolvers[i])) {
+        Object value = resolvers[i].resolve(context);
+        if (!(value instanceof ValueResolver)) {
+          staticValues[i] = value;
+          continue;
+        }
+      }
+      dynamicIndexes[dynamicCount++] = i;
+    }
+
+    return new Plan(staticValues, Arrays.copyOf(dynamicIndexes, dynamicCount));
+  }
+
+  /**
+   * @return whether the given {@code resolver} is known to return the same value on every invocation
+   */
+  private static boolean isStatic(ValueResolver<?> resolver) {
+    return resolver instanceof StaticValueResolver
+        || resolver instanceof StaticLiteralValueResolver
+        || (resolver instanceof TypeSafeValueResolverWrapper && ((TypeSafeValueResolverWrapper<?>) resolver).isCached());
+  }
+
+  /**
+   * Whether at least one of the given {@link ValueResolver} are dynamic
+   *
+   * @return {@code true} if at least one resolver is dynamic. {@code false} otherwise
+   */
+  @Override
+  public boolean isDynamic() {
+    return dynamic;
+  }
+
+  private static final class Plan {
+
+    private final Object[] staticValues;
+    private final int[] dynamicIndexes;
+
+    private Plan(Object[] staticValues, int[] dynamicIndexes) {
+      this.staticValues = staticValues;
+      this.dynamicIndexes = dynamicIndexes;
+    }
+  }
+}
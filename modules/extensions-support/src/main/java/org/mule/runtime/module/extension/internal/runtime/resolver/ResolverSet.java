@@ -9,7 +9,6 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
-import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -30,6 +29,9 @@ import com.google.common.collect.ImmutableMap;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p>
+ * The resolvers are evaluated through a {@link CompiledResolverSet}, so the ones known to always return the same value are only
+ * evaluated once.
+ * <p>
  * Instances of this class are to be considered thread safe and reusable
  *
  * @since 3.7.0
@@ -39,6 +41,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private final Map<String, ValueResolver<?>> resolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
   private final MuleContext muleContext;
+  private volatile CompiledResolverSet compiled;
 
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -64,6 +67,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
     }
+    compiled = null;
     return this;
   }
 
@@ -101,13 +105,13 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
    */
   @Override
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
-    ResolverSetResult.Builder builder = getResolverSetBuilder();
-
-    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
-      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+    CompiledResolverSet compiled = this.compiled;
+    if (compiled == null) {
+      compiled = new CompiledResolverSet(resolvers);
+      this.compiled = compiled;
     }
 
-    return builder.build();
+    return compiled.resolve(context);
   }
 
   /**
@@ -133,10 +137,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(resolvers.values(), muleContext);
-  }
-
-  ResolverSetResult.Builder getResolverSetBuilder() {
-    return ResolverSetResult.newBuilder();
+    compiled = new CompiledResolverSet(resolvers);
   }
 
 }
@@ -12,8 +12,13 @@ import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
 import org.mule.runtime.api.util.LazyValue;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import com.google.common.base.Objects;
 
@@ -79,6 +84,18 @@ public class ResolverSetResult {
     this.evaluationResult = evaluationResult;
   }
 
+  /**
+   * Creates a result which values are held in an array, in the same order as the given {@code keys}.
+   *
+   * @param keys    the keys of the values
+   * @param indexes the position of each key in {@code keys}
+   * @param values  the values, which is not copied so it must not be modified afterwards
+   * @since 4.6.0
+   */
+  ResolverSetResult(String[] keys, Map<String, Integer> indexes, Object[] values) {
+    this(new IndexedValues(keys, indexes, values));
+  }
+
   /**
    * Returns the value associated with the {@link ParameterModel} of the given {@code parameterName}
    *
@@ -128,4 +145,70 @@ public class ResolverSetResult {
   public Map<String, Object> asMap() {
     return evaluationResult;
   }
+
+  /**
+   * Unmodifiable {@link Map} view over values held in an array, which avoids creating a new hash table for each result.
+   */
+  private static final class IndexedValues extends AbstractMap<String, Object> {
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes;
+    private final Object[] values;
+
+    private IndexedValues(String[] keys, Map<String, Integer> indexes, Object[] values) {
+      this.keys = keys;
+      this.indexes = indexes;
+      this.values = values;
+    }
+
+    @Override
+    public Object get(Object key) {
+      Integer index = indexes.get(key);
+      return index != null ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return new Iterator<Entry<String, Object>>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+              return next < keys.length;
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+              next++;
+              return entry;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return keys.length;
+        }
+      };
+    }
+  }
 }
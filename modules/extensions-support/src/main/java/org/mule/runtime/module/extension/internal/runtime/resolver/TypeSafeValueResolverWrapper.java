@@ -67,11 +67,19 @@ public class TypeSafeValueResolverWrapper<T> implements ValueResolver<T>, Initia
           : typeSafeTransformer.transform(resolvedValue, DataType.fromObject(resolvedValue), DataType.fromType(expectedType));
     };
 
-    if (!valueResolverDelegate.isDynamic() && !InputStream.class.isAssignableFrom(expectedType)) {
+    if (isCached()) {
       resolver = new CachedResolver(resolver);
     }
   }
 
+  /**
+   * @return whether the resolved value is computed only once and then returned on every invocation.
+   * @since 4.6.0
+   */
+  boolean isCached() {
+    return !valueResolverDelegate.isDynamic() && !InputStream.class.isAssignableFrom(expectedType);
+  }
+
   public void setTransformationService(TransformationService transformationService) {
     this.transformationService = transformationService;
   }
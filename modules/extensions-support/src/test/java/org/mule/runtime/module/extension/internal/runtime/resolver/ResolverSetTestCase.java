@@ -7,8 +7,14 @@
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -100,6 +106,68 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void staticValuesResolvedOnce() throws Exception {
+    ValueResolver<String> staticResolver = spy(new StaticValueResolver<>("static"));
+    ValueResolver<String> dynamicResolver = getResolver("dynamic");
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+
+    set = new ResolverSet(muleContext);
+    set.add("static", staticResolver);
+    set.add("dynamic", dynamicResolver);
+    set.initialise();
+
+    for (int i = 0; i < 3; i++) {
+      ResolverSetResult result = set.resolve(resolvingContext);
+      assertThat(result.get("static"), is("static"));
+      assertThat(result.get("dynamic"), is("dynamic"));
+    }
+
+    verify(staticResolver, times(1)).resolve(resolvingContext);
+    verify(dynamicResolver, times(3)).resolve(resolvingContext);
+  }
+
+  @Test
+  public void nonDynamicValuesResolvedEachTime() throws Exception {
+    // Not being dynamic doesn't guarantee that the same instance is returned, so these can't be reused
+    set.add("builtObject", new ValueResolver<Object>() {
+
+      @Override
+      public Object resolve(ValueResolvingContext context) {
+        return new Object();
+      }
+
+      @Override
+      public boolean isDynamic() {
+        return false;
+      }
+    });
+
+    Object first = set.resolve(resolvingContext).get("builtObject");
+    Object second = set.resolve(resolvingContext).get("builtObject");
+
+    assertThat(first, is(notNullValue()));
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void resolverAddedAfterResolving() throws Exception {
+    set.resolve(resolvingContext);
+    set.add("whatever", getResolver("value"));
+
+    assertThat(set.resolve(resolvingContext).get("whatever"), is("value"));
+  }
+
+  @Test
+  public void resultKeepsOrder() throws Exception {
+    set.add("static", new StaticValueResolver<>("static"));
+
+    ResolverSetResult result = set.resolve(resolvingContext);
+    assertThat(result.asMap().keySet(), contains("myName", "age", "static"));
+    assertThat(result.asMap().values(), contains(NAME, AGE, "static"));
+    assertThat(result, is(set.resolve(resolvingContext)));
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.launcher.log4j2;
 
 import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static java.lang.System.identityHashCode;
 import static java.lang.Thread.currentThread;
 import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
@@ -16,6 +17,7 @@ import static org.reflections.ReflectionUtils.withParameters;
 
 import org.mule.runtime.api.util.Reference;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
@@ -49,11 +51,17 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
  * Because this class is a fix for issues in static loggers, it must not hold any reference to any {@link ClassLoader} since
  * otherwise that class loader would be GC unreachable. For that reason, it uses {@link #ownerClassLoaderHash} instead of the real
  * reference
+ * <p/>
+ * The loggers resolved for the most recently used context class loaders are remembered in a small array indexed by the identity
+ * hash of the class loader, so that repeated calls from the same artifact don't need to resolve the logger context class loader
+ * nor go through the logger cache. Those entries only hold weak references.
  *
  * @since 3.6.0
  */
 abstract class DispatchingLogger extends Logger {
 
+  private static final int RESOLVED_LOGGERS_SIZE = 8;
+
   private final Logger originalLogger;
   private final ContextSelector contextSelector;
   private final int ownerClassLoaderHash;
@@ -61,6 +69,8 @@ abstract class DispatchingLogger extends Logger {
       .weakKeys()
       .weakValues()
       .build(key -> new Reference<>());
+  // Entries are immutable, so racy reads and writes of this array at worst cause a lookup through the cache.
+  private final ResolvedLogger[] resolvedLoggers = new ResolvedLogger[RESOLVED_LOGGERS_SIZE];
 
   private Method updateConfigurationMethod = null;
 
@@ -73,28 +83,43 @@ abstract class DispatchingLogger extends Logger {
   }
 
   private Logger getLogger() {
-    return getLogger(resolveLoggerContextClassLoader(currentThread().getContextClassLoader()));
-  }
+    final ClassLoader ctxClassLoader = currentThread().getContextClassLoader();
+    if (ctxClassLoader == null) {
+      return getLogger(resolveLoggerContextClassLoader(null));
+    }
 
-  private Logger getLogger(final ClassLoader resolvedCtxClassLoader) {
+    final int index = identityHashCode(ctxClassLoader) & (RESOLVED_LOGGERS_SIZE - 1);
+    final ResolvedLogger resolvedLogger = resolvedLoggers[index];
+    if (resolvedLogger != null) {
+      final Logger logger = resolvedLogger.getLogger(ctxClassLoader);
+      if (logger != null) {
+        return logger;
+      }
+    }
+
+    final ClassLoader resolvedCtxClassLoader = resolveLoggerContextClassLoader(ctxClassLoader);
     if (useThisLoggerContextClassLoader(resolvedCtxClassLoader)) {
+      resolvedLoggers[index] = new ResolvedLogger(ctxClassLoader, originalLogger);
       return originalLogger;
     }
 
-    Reference<Logger> loggerReference;
+    final Logger logger = getLoggerReference(resolvedCtxClassLoader).get();
+    if (logger != null) {
+      resolvedLoggers[index] = new ResolvedLogger(ctxClassLoader, logger);
+      return logger;
+    }
 
-    // Switch back the tccl for the cache lookup, to avoid caffeine internal threads to have a reference to an app classloader.
-    Thread thread = Thread.currentThread();
-    ClassLoader currentClassLoader = thread.getContextClassLoader();
-    setContextClassLoader(thread, currentClassLoader, getClass().getClassLoader());
-    try {
-      // we need to cache reference objects and do this double lookup to avoid cyclic resolutions of the same classloader
-      // key which would result in an exception or a deadlock, depending on the cache implementation
-      loggerReference = loggerCache.get(resolvedCtxClassLoader);
-    } finally {
-      setContextClassLoader(thread, getClass().getClassLoader(), currentClassLoader);
+    // The logger has to be created, or a fallback one used while it is being created. Not remembered until it's in the cache.
+    return getLogger(resolvedCtxClassLoader);
+  }
+
+  private Logger getLogger(final ClassLoader resolvedCtxClassLoader) {
+    if (useThisLoggerContextClassLoader(resolvedCtxClassLoader)) {
+      return originalLogger;
     }
 
+    Reference<Logger> loggerReference = getLoggerReference(resolvedCtxClassLoader);
+
     Logger logger = loggerReference.get();
     if (logger == null) {
       synchronized (loggerReference) {
@@ -120,6 +145,23 @@ abstract class DispatchingLogger extends Logger {
     return logger;
   }
 
+  private Reference<Logger> getLoggerReference(final ClassLoader resolvedCtxClassLoader) {
+    Reference<Logger> loggerReference;
+
+    // Switch back the tccl for the cache lookup, to avoid caffeine internal threads to have a reference to an app classloader.
+    Thread thread = Thread.currentThread();
+    ClassLoader currentClassLoader = thread.getContextClassLoader();
+    setContextClassLoader(thread, currentClassLoader, getClass().getClassLoader());
+    try {
+      // we need to cache reference objects and do this double lookup to avoid cyclic resolutions of the same classloader
+      // key which would result in an exception or a deadlock, depending on the cache implementation
+      loggerReference = loggerCache.get(resolvedCtxClassLoader);
+    } finally {
+      setContextClassLoader(thread, getClass().getClassLoader(), currentClassLoader);
+    }
+    return loggerReference;
+  }
+
   private Logger resolveLogger(ClassLoader resolvedCtxClassLoader) {
     Logger logger;
     // trick - this is probably a logger declared in a static field
@@ -1000,4 +1042,25 @@ abstract class DispatchingLogger extends Logger {
   public void warn(String message, Throwable t) {
     getLogger().warn(message, t);
   }
+
+  /**
+   * A context class loader and the logger to use when it is set, both weakly referenced.
+   */
+  private static final class ResolvedLogger {
+
+    private final WeakReference<ClassLoader> ctxClassLoader;
+    private final WeakReference<Logger> logger;
+
+    private ResolvedLogger(ClassLoader ctxClassLoader, Logger logger) {
+      this.ctxClassLoader = new WeakReference<>(ctxClassLoader);
+      this.logger = new WeakReference<>(logger);
+    }
+
+    /**
+     * @return the logger for the given context class loader, or {@code null} if this entry is for a different one.
+     */
+    Logger getLogger(ClassLoader ctxClassLoader) {
+      return this.ctxClassLoader.get() == ctxClassLoader ? logger.get() : null;
+    }
+  }
 }
@@ -182,4 +182,41 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
     verify(regionClassLoaderLogger, times(1)).info("Test Message");
   }
 
+  @Test
+  public void alternatingContextClassLoadersDispatchToTheirLoggers() {
+    RegionClassLoader otherRegionClassLoader = mock(RegionClassLoader.class);
+    LoggerContext otherRegionClassLoaderLoggerContext = mock(LoggerContext.class);
+    Logger regionClassLoaderLogger = mock(Logger.class);
+    Logger otherRegionClassLoaderLogger = mock(Logger.class);
+    when(regionClassLoaderLoggerContext.getLogger(anyString(), any(MessageFactory.class))).thenReturn(regionClassLoaderLogger);
+    when(otherRegionClassLoaderLoggerContext.getLogger(anyString(), any(MessageFactory.class)))
+        .thenReturn(otherRegionClassLoaderLogger);
+    when(artifactAwareContextSelector.getContextWithResolvedContextClassLoader(regionClassLoader))
+        .thenReturn(regionClassLoaderLoggerContext);
+    when(artifactAwareContextSelector.getContextWithResolvedContextClassLoader(otherRegionClassLoader))
+        .thenReturn(otherRegionClassLoaderLoggerContext);
+
+    DispatchingLogger dispatchingLogger = new DispatchingLogger(originalLogger, currentClassLoader.hashCode(),
+                                                                containerLoggerContext, artifactAwareContextSelector,
+                                                                messageFactory) {
+
+      @Override
+      public String getName() {
+        return LOGGER_NAME;
+      }
+    };
+
+    for (int i = 0; i < 3; i++) {
+      withContextClassLoader(regionClassLoader, () -> dispatchingLogger.info(MESSAGE));
+      withContextClassLoader(otherRegionClassLoader, () -> dispatchingLogger.info(MESSAGE));
+      dispatchingLogger.info(MESSAGE);
+    }
+
+    verify(regionClassLoaderLogger, times(3)).info(MESSAGE);
+    verify(otherRegionClassLoaderLogger, times(3)).info(MESSAGE);
+    verify(originalLogger, times(3)).info(MESSAGE);
+    verify(artifactAwareContextSelector, times(1)).getContextWithResolvedContextClassLoader(regionClassLoader);
+    verify(artifactAwareContextSelector, times(1)).getContextWithResolvedContextClassLoader(otherRegionClassLoader);
+  }
+
 }
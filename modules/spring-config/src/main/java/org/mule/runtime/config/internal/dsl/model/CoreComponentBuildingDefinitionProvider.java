@@ -145,6 +145,7 @@ import org.mule.runtime.core.internal.security.PasswordBasedEncryptionStrategy;
 import org.mule.runtime.core.internal.security.SecretKeyEncryptionStrategy;
 import org.mule.runtime.core.internal.security.filter.MuleEncryptionEndpointSecurityFilter;
 import org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource;
+import org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.ExecutionLimitPolicy;
 import org.mule.runtime.core.privileged.exception.TemplateOnErrorHandler;
 import org.mule.runtime.core.privileged.processor.AnnotatedProcessor;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
@@ -373,6 +374,7 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
         .withSetterParameterDefinition("collectionExpression", fromSimpleParameter("collection").build())
         .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("readAhead", fromSimpleParameter("readAhead").build())
         .withSetterParameterDefinition("rootMessageVariableName", fromSimpleParameter("rootMessageVariableName").build())
         .withSetterParameterDefinition("counterVariableName", fromSimpleParameter("counterVariableName").build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
@@ -389,6 +391,7 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withObjectFactoryType(ChoiceRouterObjectFactory.class)
         .withSetterParameterDefinition("routes", fromChildCollectionConfiguration(ProcessorExpressionRoute.class).build())
         .withSetterParameterDefinition("defaultRoute", fromChildConfiguration(ProcessorRoute.class).build())
+        .withSetterParameterDefinition("hashDispatch", fromSimpleParameter("hashDispatch").build())
         .build());
     componentBuildingDefinitions
         .add(baseDefinition.withIdentifier(WHEN).withTypeDefinition(fromType(ProcessorExpressionRoute.class))
@@ -416,6 +419,11 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withObjectFactoryType(SchedulingMessageSourceFactoryBean.class)
         .withSetterParameterDefinition("disallowConcurrentExecution",
                                        fromSimpleParameter("disallowConcurrentExecution").withDefaultValue(false).build())
+        .withSetterParameterDefinition("maxConcurrentExecutions", fromSimpleParameter("maxConcurrentExecutions").build())
+        .withSetterParameterDefinition("executionLimitPolicy",
+                                       fromSimpleParameter("executionLimitPolicy",
+                                                           value -> ExecutionLimitPolicy.valueOf((String) value))
+                                                               .build())
         .withSetterParameterDefinition("scheduler", fromChildConfiguration(PeriodicScheduler.class)
             .withWrapperIdentifier(SCHEDULING_STRATEGY_ELEMENT_IDENTIFIER).build())
         .build());
@@ -26,6 +26,7 @@ public class ChoiceRouterObjectFactory extends AbstractComponentFactory<ChoiceRo
 
   private Processor defaultProcessor;
   private Collection<ProcessorExpressionRoute> conditionalMessageProcessors = emptyList();
+  private Boolean hashDispatch;
 
   public ChoiceRouterObjectFactory() {
     super();
@@ -43,12 +44,19 @@ public class ChoiceRouterObjectFactory extends AbstractComponentFactory<ChoiceRo
     this.conditionalMessageProcessors = conditionalMessageProcessors;
   }
 
+  public void setHashDispatch(Boolean hashDispatch) {
+    this.hashDispatch = hashDispatch;
+  }
+
   @Override
   public ChoiceRouter doGetObject() throws Exception {
     final ChoiceRouter router = new ChoiceRouter();
     router.setAnnotations(getAnnotations());
     router.setDefaultRoute(defaultProcessor);
     router.setMuleContext(muleContext);
+    if (hashDispatch != null) {
+      router.setHashDispatch(hashDispatch);
+    }
 
     for (final ProcessorExpressionRoute mper : conditionalMessageProcessors) {
       router.addRoute(mper.getExpression(), mper.getProcessor());
@@ -292,6 +292,21 @@ class MuleExtensionModelDeclarer {
         .ofType(BOOLEAN_TYPE)
         .defaultingTo(false)
         .withExpressionSupport(NOT_SUPPORTED);
+
+    scheduler.onDefaultParameterGroup()
+        .withOptionalParameter("maxConcurrentExecutions")
+        .ofType(INTEGER_TYPE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The maximum number of executions of the flow that may be in progress at the same time. Defaults to 1 if "
+            + "'disallowConcurrentExecution' is set, and is unbounded otherwise.");
+
+    scheduler.onDefaultParameterGroup()
+        .withOptionalParameter("executionLimitPolicy")
+        .ofType(BASE_TYPE_BUILDER.stringType().enumOf("SKIP", "QUEUE").build())
+        .defaultingTo("SKIP")
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("What to do with a trigger that happens while 'maxConcurrentExecutions' executions are in progress. SKIP "
+            + "discards it, QUEUE runs it once an execution finishes.");
   }
 
   /**
@@ -619,6 +634,14 @@ class MuleExtensionModelDeclarer {
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("Partitions the collection in sub-collections of the specified size.");
 
+    forEach.onDefaultParameterGroup()
+        .withOptionalParameter("readAhead")
+        .ofType(INTEGER_TYPE)
+        .defaultingTo(0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("How many elements of the collection to read in advance while the current ones are processed. "
+            + "Defaults to 0, which disables reading in advance.");
+
     forEach.onDefaultParameterGroup()
         .withOptionalParameter("rootMessageVariableName")
         .ofType(STRING_TYPE)
@@ -666,6 +689,15 @@ class MuleExtensionModelDeclarer {
             + "or fails if there is none.")
         .withErrorModel(routingError);
 
+    choice.onDefaultParameterGroup()
+        .withOptionalParameter("hashDispatch")
+        .ofType(BOOLEAN_TYPE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Whether consecutive routes which expression compares a same selector for equality with a string literal "
+            + "are selected by evaluating the selector once and looking up its value, instead of evaluating the expression of "
+            + "each route. The selected route is the same either way. Defaults to the value of the "
+            + "'mule.choice.hashDispatch' system property.");
+
     NestedRouteDeclarer when = choice.withRoute("when").withMinOccurs(1);
     when.withChain().withModelProperty(NoWrapperModelProperty.INSTANCE);
     ParameterDeclarer expressionParam = when.onDefaultParameterGroup()
@@ -241,9 +241,11 @@ public class CoreExtensionModelTestCase {
     assertThat(schedulerModel.hasResponse(), is(false));
 
     final List<ParameterModel> paramModels = schedulerModel.getAllParameterModels();
-    assertThat(paramModels, hasSize(2));
+    assertThat(paramModels, hasSize(4));
     assertSchedulingStrategy(paramModels.get(0));
     assertSchedulingDisallowConcurrentExecution(paramModels.get(1));
+    assertSchedulingMaxConcurrentExecutions(paramModels.get(2));
+    assertSchedulingExecutionLimitPolicy(paramModels.get(3));
   }
 
   private void assertSteretorype(StereotypeModel stereotypeModel, String type, StereotypeModel parent) {
@@ -361,7 +363,7 @@ public class CoreExtensionModelTestCase {
     assertThat(processorsChain, instanceOf(NestedChainModel.class));
     assertThat(processorsChain.isRequired(), is(true));
 
-    assertThat(foreach.getAllParameterModels(), hasSize(4));
+    assertThat(foreach.getAllParameterModels(), hasSize(5));
 
     ParameterModel collection = foreach.getAllParameterModels().get(0);
     assertThat(collection.getName(), is("collection"));
@@ -378,13 +380,20 @@ public class CoreExtensionModelTestCase {
     assertThat(batchSize.getType(), instanceOf(DefaultNumberType.class));
     assertThat(batchSize.isRequired(), is(false));
 
-    ParameterModel rootMessageName = foreach.getAllParameterModels().get(2);
+    ParameterModel readAhead = foreach.getAllParameterModels().get(2);
+    assertThat(readAhead.getName(), is("readAhead"));
+    assertThat(readAhead.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(readAhead.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(readAhead.isRequired(), is(false));
+    assertThat(readAhead.getDefaultValue(), is(0));
+
+    ParameterModel rootMessageName = foreach.getAllParameterModels().get(3);
     assertThat(rootMessageName.getName(), is("rootMessageVariableName"));
     assertThat(rootMessageName.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(rootMessageName.getType(), instanceOf(DefaultStringType.class));
     assertThat(rootMessageName.isRequired(), is(false));
 
-    ParameterModel counter = foreach.getAllParameterModels().get(3);
+    ParameterModel counter = foreach.getAllParameterModels().get(4);
     assertThat(counter.getName(), is("counterVariableName"));
     assertThat(counter.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(counter.getType(), instanceOf(DefaultStringType.class));
@@ -451,7 +460,13 @@ public class CoreExtensionModelTestCase {
     final ConstructModel choiceModel = coreExtensionModel.getConstructModel("choice").get();
 
     assertThat(choiceModel.allowsTopLevelDeclaration(), is(false));
-    assertThat(choiceModel.getAllParameterModels(), empty());
+    assertThat(choiceModel.getAllParameterModels(), hasSize(1));
+
+    final ParameterModel hashDispatch = choiceModel.getAllParameterModels().get(0);
+    assertThat(hashDispatch.getName(), is("hashDispatch"));
+    assertThat(hashDispatch.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(hashDispatch.getType(), instanceOf(BooleanType.class));
+    assertThat(hashDispatch.isRequired(), is(false));
     assertThat(choiceModel.getNestedComponents(), hasSize(2));
 
     final NestedRouteModel whenRouteModel = (NestedRouteModel) choiceModel.getNestedComponents().get(0);
@@ -986,4 +1001,21 @@ public class CoreExtensionModelTestCase {
     assertThat(paramModel.getDefaultValue(), is(false));
     assertThat(paramModel.getType(), is(instanceOf(BooleanType.class)));
   }
+
+  private void assertSchedulingMaxConcurrentExecutions(ParameterModel paramModel) {
+    assertThat(paramModel.getName(), is("maxConcurrentExecutions"));
+    assertThat(paramModel.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(paramModel.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(paramModel.isRequired(), is(false));
+  }
+
+  private void assertSchedulingExecutionLimitPolicy(ParameterModel paramModel) {
+    assertThat(paramModel.getName(), is("executionLimitPolicy"));
+    assertThat(paramModel.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(paramModel.getType(), instanceOf(DefaultStringType.class));
+    assertThat(paramModel.getType().getAnnotation(EnumAnnotation.class).get().getValues(),
+               arrayContainingInAnyOrder("SKIP", "QUEUE"));
+    assertThat(paramModel.isRequired(), is(false));
+    assertThat(paramModel.getDefaultValue(), is("SKIP"));
+  }
 }
@@ -41,6 +41,9 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith10Variables;
+  private CoreEvent eventWith50Variables;
+  private CoreEvent eventWith200Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -55,6 +58,9 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith10Variables = createMuleEvent(of(PAYLOAD), 10);
+    eventWith50Variables = createMuleEvent(of(PAYLOAD), 50);
+    eventWith200Variables = createMuleEvent(of(PAYLOAD), 200);
   }
 
   @TearDown
@@ -127,6 +133,35 @@ public class EventBenchmark extends AbstractBenchmark {
     return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
+  @Benchmark
+  public CoreEvent addVariableEventWith10Variables() {
+    return CoreEvent.builder(eventWith10Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent addVariableEventWith50Variables() {
+    return CoreEvent.builder(eventWith50Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent addVariableEventWith200Variables() {
+    return CoreEvent.builder(eventWith200Variables).addVariable(KEY, VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent replaceVariableEventWith10Variables() {
+    return CoreEvent.builder(eventWith10Variables).addVariable("flowVariableKey1", VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent replaceVariableEventWith50Variables() {
+    return CoreEvent.builder(eventWith50Variables).addVariable("flowVariableKey1", VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent replaceVariableEventWith200Variables() {
+    return CoreEvent.builder(eventWith200Variables).addVariable("flowVariableKey1", VALUE).build();
+  }
 
   @Benchmark
   public CoreEvent copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
@@ -13,6 +13,7 @@ import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.look
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
 
 import static java.util.Optional.empty;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
@@ -31,6 +32,8 @@ import org.mule.runtime.core.privileged.event.BaseEventContext;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -46,12 +49,15 @@ import org.openjdk.jmh.annotations.Warmup;
 @OutputTimeUnit(NANOSECONDS)
 public class EventContextBenchmark extends AbstractBenchmark {
 
+  private static final int CONCURRENT_CHILDREN = 64;
+  private static final int CHILDREN_COMPLETION_THREADS = 8;
+
   private MuleContext muleContext;
   private Flow flow;
   private final String id = UUID.getUUID();
   private final String severId = UUID.getUUID();
   private CoreEvent event;
-
+  private ExecutorService childrenCompletionExecutor;
 
   @Setup
   public void setup() throws Exception {
@@ -63,10 +69,12 @@ public class EventContextBenchmark extends AbstractBenchmark {
     CoreEvent.Builder eventBuilder =
         CoreEvent.builder(create(flow, CONNECTOR_LOCATION)).message(messageBuilder.build());
     event = eventBuilder.build();
+    childrenCompletionExecutor = newFixedThreadPool(CHILDREN_COMPLETION_THREADS);
   }
 
   @TearDown
   public void teardown() throws MuleException {
+    childrenCompletionExecutor.shutdownNow();
     stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
     muleContext.dispose();
   }
@@ -136,6 +144,33 @@ public class EventContextBenchmark extends AbstractBenchmark {
     return new Object[] {result, complete};
   }
 
+  @Benchmark
+  public Object[] createEventContextWith64ChildrenCompletedConcurrently() throws InterruptedException {
+    AtomicReference<CoreEvent> result = new AtomicReference<>();
+    AtomicBoolean complete = new AtomicBoolean();
+    BaseEventContext eventContext = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
+
+    List<BaseEventContext> children = new ArrayList<>(CONCURRENT_CHILDREN);
+    for (int i = 0; i < CONCURRENT_CHILDREN; ++i) {
+      children.add(child(eventContext, empty()));
+    }
+
+    from(from(eventContext.getResponsePublisher())).doOnSuccess(response -> result.set(response)).subscribe();
+    eventContext.onTerminated((response, throwable) -> complete.set(true));
+
+    CountDownLatch childrenCompleted = new CountDownLatch(CONCURRENT_CHILDREN);
+    for (BaseEventContext child : children) {
+      childrenCompletionExecutor.execute(() -> {
+        child.onComplete((response, throwable) -> childrenCompleted.countDown());
+        child.success();
+      });
+    }
+    eventContext.success(event);
+    childrenCompleted.await();
+
+    return new Object[] {result, complete};
+  }
+
   @Benchmark
   public Object[] createEventContextWith10ChildrenForEach() {
     return childEventContextForEach(10);
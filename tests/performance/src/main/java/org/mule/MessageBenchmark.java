@@ -59,6 +59,11 @@ public class MessageBenchmark extends AbstractBenchmark {
     return Message.builder(message).value(VALUE).build();
   }
 
+  @Benchmark
+  public Message mutateMessagePayloadMessageWith20Properties() {
+    return Message.builder(messageWith20Properties).value(VALUE).build();
+  }
+
   @Benchmark
   public Message mutateMessagePayloadWithDataType() {
     return Message.builder(message).value(VALUE).mediaType(MediaType.TEXT).build();
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares borrowing and returning connections through the commons-pool backed {@link PoolingConnectionManagementStrategy}
+ * against the {@link ConcurrentPoolingConnectionManagementStrategy}.
+ */
+public class ConnectionPoolBenchmark extends AbstractBenchmark {
+
+  @Param({"commons-pool", "concurrent"})
+  public String implementation;
+
+  @Param({"4", "16"})
+  public int maxActive;
+
+  private MuleContext muleContext;
+  private ConnectionManagementStrategy<Object> strategy;
+
+  @Setup(Level.Trial)
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    ConnectionProvider<Object> connectionProvider =
+        new DefaultConnectionProviderWrapper<>(new BenchmarkConnectionProvider(), muleContext);
+    PoolingProfile poolingProfile =
+        new PoolingProfile(maxActive, maxActive, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_ALL);
+    PoolingListener<Object> poolingListener = new PoolingListener<Object>() {};
+
+    strategy = "concurrent".equals(implementation)
+        ? new ConcurrentPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                              "benchmark")
+        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                    "benchmark");
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() throws MuleException {
+    strategy.close();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object borrowAndReleaseSingleThread() throws ConnectionException {
+    return borrowAndRelease();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object borrowAndRelease4Threads() throws ConnectionException {
+    return borrowAndRelease();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Object borrowAndRelease16Threads() throws ConnectionException {
+    return borrowAndRelease();
+  }
+
+  private Object borrowAndRelease() throws ConnectionException {
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      return connectionHandler.getConnection();
+    } finally {
+      connectionHandler.release();
+    }
+  }
+
+  private static class BenchmarkConnectionProvider implements ConnectionProvider<Object> {
+
+    @Override
+    public Object connect() {
+      return new Object();
+    }
+
+    @Override
+    public void disconnect(Object connection) {}
+
+    @Override
+    public ConnectionValidationResult validate(Object connection) {
+      return success();
+    }
+  }
+}
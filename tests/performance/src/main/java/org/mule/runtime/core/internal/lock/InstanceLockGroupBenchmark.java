@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+import org.mule.AbstractBenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the contention of {@link InstanceLockGroup} when many threads lock and unlock ids picked at random, as happens with
+ * the watermark locks of polling sources or idempotent validators.
+ */
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "1000", "10000"})
+  public int lockIds;
+
+  private InstanceLockGroup lockGroup;
+  private String[] keys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    keys = new String[lockIds];
+    for (int i = 0; i < lockIds; i++) {
+      keys[i] = KEY + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean lockUnlockSingleThread() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public boolean lockUnlock8Threads() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean lockUnlock32Threads() {
+    return lockUnlock();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean tryLockUnlock32Threads() {
+    final String lockId = keys[current().nextInt(lockIds)];
+    if (lockGroup.tryLock(lockId)) {
+      lockGroup.unlock(lockId);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean lockUnlock() {
+    final String lockId = keys[current().nextInt(lockIds)];
+    lockGroup.lock(lockId);
+    lockGroup.unlock(lockId);
+    return true;
+  }
+}
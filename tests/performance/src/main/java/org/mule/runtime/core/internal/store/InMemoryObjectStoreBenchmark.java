@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+public class InMemoryObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final String PARTITION = "benchmark";
+
+  @Param({"default", "indexed"})
+  public String implementation;
+
+  @Param({"10000", "100000", "1000000"})
+  public int entries;
+
+  private PartitionableExpirableObjectStore<String> store;
+  private String[] keys;
+  private long nextKey;
+
+  @Setup(Level.Trial)
+  public void setup() throws ObjectStoreException {
+    store = "indexed".equals(implementation)
+        ? new IndexedPartitionedInMemoryObjectStore<>()
+        : new PartitionedInMemoryObjectStore<>();
+
+    keys = new String[entries];
+    for (int i = 0; i < entries; i++) {
+      keys[i] = KEY + nextKey++;
+      store.store(keys[i], VALUE, PARTITION);
+    }
+  }
+
+  /**
+   * Replaces an entry picked at random, like an idempotent validator releasing the key of a failed message.
+   */
+  @Benchmark
+  public String removeAndStore() throws ObjectStoreException {
+    final int index = current().nextInt(entries);
+
+    String removed = store.remove(keys[index], PARTITION);
+    keys[index] = KEY + nextKey++;
+    store.store(keys[index], VALUE, PARTITION);
+    return removed;
+  }
+
+  /**
+   * Stores a new entry and expires the oldest one to stay within the max entries limit.
+   */
+  @Benchmark
+  public boolean storeAndExpire() throws ObjectStoreException {
+    final String key = KEY + nextKey++;
+    store.store(key, VALUE, PARTITION);
+    store.expire(UNBOUNDED, entries, PARTITION);
+    return store.contains(key, PARTITION);
+  }
+}
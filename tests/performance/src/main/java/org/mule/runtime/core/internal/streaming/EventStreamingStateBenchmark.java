@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.core.internal.streaming.IdentifiableCursorProviderDecorator.of;
+
+import static org.mockito.Mockito.mock;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the cost of tracking the streams of an event, from the first stream being managed until the event completes. Run with
+ * the GC profiler to get the allocations per streamed event.
+ */
+public class EventStreamingStateBenchmark extends AbstractBenchmark {
+
+  /**
+   * How many distinct streams each event manages. Each of them is managed twice, as happens when a stream is passed along through
+   * several components.
+   */
+  @Param({"1", "8"})
+  public int providersPerEvent;
+
+  /**
+   * The sample rate of the {@link StreamingGhostBuster}: {@code 1} tracks every provider, {@code 0} none.
+   */
+  @Param({"1", "0"})
+  public int ghostBusterSampleRate;
+
+  private StreamingGhostBuster ghostBuster;
+  private IdentifiableCursorProvider<CursorStream>[] providers;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ghostBuster = new StreamingGhostBuster(ghostBusterSampleRate);
+    providers = new IdentifiableCursorProvider[providersPerEvent];
+    for (int i = 0; i < providersPerEvent; i++) {
+      providers[i] = of(mock(CursorStreamProvider.class));
+    }
+  }
+
+  @Benchmark
+  public EventStreamingState streamedEvent() {
+    EventStreamingState state = new EventStreamingState();
+    for (IdentifiableCursorProvider<CursorStream> provider : providers) {
+      state.addProvider(new ManagedCursorStreamProvider(provider, null), ghostBuster);
+      state.addProvider(new ManagedCursorStreamProvider(provider, null), ghostBuster);
+    }
+    state.dispose();
+    return state;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
+
+import static java.lang.Thread.currentThread;
+
+import org.mule.AbstractBenchmark;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.selector.BasicContextSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the overhead of a {@link DispatchingLogger} for disabled log levels, which is what static loggers in shared libraries
+ * pay on every event.
+ */
+public class DispatchingLoggerBenchmark extends AbstractBenchmark {
+
+  private static final String LOGGER_NAME = DispatchingLoggerBenchmark.class.getName();
+
+  /**
+   * <ul>
+   * <li>owner: the context class loader is the one the logger was created for.</li>
+   * <li>artifact: the context class loader belongs to a different logger context, so the call is dispatched.</li>
+   * <li>alternating: like artifact, switching between two context class loaders on each call.</li>
+   * </ul>
+   */
+  @Param({"owner", "artifact", "alternating"})
+  public String scenario;
+
+  private LoggerContext loggerContext;
+  private DispatchingLogger logger;
+  private ClassLoader originalClassLoader;
+  private ClassLoader[] ctxClassLoaders;
+  private boolean alternate;
+  private int calls;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    alternate = "alternating".equals(scenario);
+    originalClassLoader = currentThread().getContextClassLoader();
+    ctxClassLoaders = new ClassLoader[] {new URLClassLoader(new URL[0], originalClassLoader),
+        new URLClassLoader(new URL[0], originalClassLoader)};
+
+    loggerContext = new LoggerContext("benchmark");
+    loggerContext.start();
+    Logger originalLogger = loggerContext.getLogger(LOGGER_NAME);
+
+    int ownerClassLoaderHash = "owner".equals(scenario)
+        ? resolveLoggerContextClassLoader(ctxClassLoaders[0]).hashCode()
+        : 0;
+    logger = new DispatchingLogger(originalLogger, ownerClassLoaderHash, loggerContext, new BasicContextSelector(),
+                                   originalLogger.getMessageFactory()) {
+
+      @Override
+      public String getName() {
+        return LOGGER_NAME;
+      }
+    };
+
+    currentThread().setContextClassLoader(ctxClassLoaders[0]);
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    currentThread().setContextClassLoader(originalClassLoader);
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public boolean isDebugEnabled() {
+    switchContextClassLoader();
+    return logger.isDebugEnabled();
+  }
+
+  @Benchmark
+  public void debug() {
+    switchContextClassLoader();
+    logger.debug("Processing event {}", KEY);
+  }
+
+  private void switchContextClassLoader() {
+    if (alternate) {
+      currentThread().setContextClassLoader(ctxClassLoaders[++calls & 1]);
+    }
+  }
+}
@@ -75,6 +75,36 @@ public class EventBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionT
     runAndAssertBenchmark(EventBenchmark.class, "addEventVariableEventWith100VariablesProperties", 25, MICROSECONDS, 21200);
   }
 
+  @Test
+  public void addVariableEventWith10Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "addVariableEventWith10Variables", 1, MICROSECONDS, 1500);
+  }
+
+  @Test
+  public void addVariableEventWith50Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "addVariableEventWith50Variables", 1, MICROSECONDS, 1600);
+  }
+
+  @Test
+  public void addVariableEventWith200Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "addVariableEventWith200Variables", 1, MICROSECONDS, 1800);
+  }
+
+  @Test
+  public void replaceVariableEventWith10Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "replaceVariableEventWith10Variables", 1, MICROSECONDS, 1500);
+  }
+
+  @Test
+  public void replaceVariableEventWith50Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "replaceVariableEventWith50Variables", 1, MICROSECONDS, 1600);
+  }
+
+  @Test
+  public void replaceVariableEventWith200Variables() {
+    runAndAssertBenchmark(EventBenchmark.class, "replaceVariableEventWith200Variables", 1, MICROSECONDS, 1800);
+  }
+
   @Test
   public void copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
     runAndAssertBenchmark(EventBenchmark.class, "copyWith10FlowVarsAnd10PropertiesWrite1OfEach", 15, MICROSECONDS, 13700);
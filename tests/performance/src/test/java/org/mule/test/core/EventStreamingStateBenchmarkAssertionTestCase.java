@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.runtime.core.internal.streaming.EventStreamingStateBenchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class EventStreamingStateBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  @Test
+  public void streamedEvent() {
+    runAndAssertBenchmark(EventStreamingStateBenchmark.class, "streamedEvent", 1, params("1", "1"), 300, NANOSECONDS, 400);
+  }
+
+  @Test
+  public void streamedEventWithoutGhostBuster() {
+    runAndAssertBenchmark(EventStreamingStateBenchmark.class, "streamedEvent", 1, params("1", "0"), 300, NANOSECONDS, 350);
+  }
+
+  private Map<String, String[]> params(String providersPerEvent, String ghostBusterSampleRate) {
+    Map<String, String[]> params = new HashMap<>();
+    params.put("providersPerEvent", new String[] {providersPerEvent});
+    params.put("ghostBusterSampleRate", new String[] {ghostBusterSampleRate});
+    return params;
+  }
+}